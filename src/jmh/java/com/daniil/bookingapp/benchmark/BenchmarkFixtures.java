@@ -0,0 +1,59 @@
+package com.daniil.bookingapp.benchmark;
+
+import com.daniil.bookingapp.model.Accommodation;
+import com.daniil.bookingapp.model.Booking;
+import com.daniil.bookingapp.model.User;
+import com.daniil.bookingapp.model.enums.AccommodationType;
+import com.daniil.bookingapp.model.enums.BookingStatus;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+final class BenchmarkFixtures {
+    static final String JWT_SECRET =
+            "benchmark_secret_key_that_is_long_enough_for_hmac_sha_256_signing";
+    static final long JWT_EXPIRATION_MS = 86_400_000L;
+
+    private BenchmarkFixtures() {
+    }
+
+    static User user(long id) {
+        return User.builder()
+                .id(id)
+                .email("user" + id + "@example.com")
+                .password("password")
+                .firstName("Bench")
+                .lastName("User" + id)
+                .build();
+    }
+
+    static Accommodation accommodation(long id) {
+        return Accommodation.builder()
+                .id(id)
+                .type(AccommodationType.APARTMENT)
+                .location("Kyiv, Khreshchatyk " + id)
+                .size("Studio")
+                .amenities("WiFi,Kitchen,Parking,Air conditioning")
+                .dailyRate(new BigDecimal("89.90"))
+                .availability(5)
+                .latitude(50.45)
+                .longitude(30.52)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build();
+    }
+
+    static Booking booking(long id, Accommodation accommodation, User user, LocalDate checkIn) {
+        return Booking.builder()
+                .id(id)
+                .accommodation(accommodation)
+                .user(user)
+                .checkInDate(checkIn)
+                .checkOutDate(checkIn.plusDays(1 + id % 14))
+                .status(id % 3 == 0 ? BookingStatus.CONFIRMED : BookingStatus.PENDING)
+                .totalPrice(new BigDecimal("179.80"))
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,62 @@
+package com.daniil.bookingapp.benchmark;
+
+import com.daniil.bookingapp.dto.booking.BookingRequestDto;
+import com.daniil.bookingapp.model.Accommodation;
+import com.daniil.bookingapp.model.Booking;
+import com.daniil.bookingapp.model.User;
+import com.daniil.bookingapp.validation.DateRangeValidator;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookingBenchmark {
+    private final DateRangeValidator dateRangeValidator = new DateRangeValidator();
+    private Booking booking;
+    private BookingRequestDto request;
+
+    @Setup
+    public void setUp() {
+        Accommodation accommodation = BenchmarkFixtures.accommodation(1);
+        User user = BenchmarkFixtures.user(1);
+        LocalDate start = LocalDate.now().plusDays(1);
+
+        booking = BenchmarkFixtures.booking(7, accommodation, user, start);
+
+        LocalDate checkIn = start.plusDays(10);
+        request = new BookingRequestDto();
+        request.setAccommodationId(accommodation.getId());
+        request.setCheckInDate(checkIn);
+        request.setCheckOutDate(checkIn.plusDays(4));
+    }
+
+    @Benchmark
+    public long getNumberOfDays() {
+        return booking.getNumberOfDays();
+    }
+
+    @Benchmark
+    public BigDecimal calculateTotalPrice() {
+        return booking.calculateTotalPrice();
+    }
+
+    @Benchmark
+    public boolean validateDateRange() {
+        return dateRangeValidator.isValid(request, null);
+    }
+}
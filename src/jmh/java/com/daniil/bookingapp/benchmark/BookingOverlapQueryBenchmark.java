@@ -0,0 +1,111 @@
+package com.daniil.bookingapp.benchmark;
+
+import com.daniil.bookingapp.BookingAppApplication;
+import com.daniil.bookingapp.loadtest.LoadTestConfiguration;
+import com.daniil.bookingapp.model.Accommodation;
+import com.daniil.bookingapp.model.Booking;
+import com.daniil.bookingapp.model.User;
+import com.daniil.bookingapp.repository.AccommodationRepository;
+import com.daniil.bookingapp.repository.BookingRepository;
+import com.daniil.bookingapp.repository.UserRepository;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookingOverlapQueryBenchmark {
+    @Param({"10", "1000"})
+    private int existingBookings;
+
+    private ConfigurableApplicationContext context;
+    private BookingRepository bookingRepository;
+    private TransactionTemplate readOnlyTransaction;
+    private Long accommodationId;
+    private LocalDate freeCheckIn;
+    private LocalDate takenCheckIn;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(
+                BookingAppApplication.class, LoadTestConfiguration.class)
+                .profiles("loadtest")
+                .run();
+        bookingRepository = context.getBean(BookingRepository.class);
+        TransactionTemplate transactionTemplate =
+                new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction =
+                new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+
+        LocalDate start = LocalDate.now().plusDays(1);
+        accommodationId = transactionTemplate.execute(status -> seed(start));
+        takenCheckIn = start.plusDays(existingBookings * 3L / 2);
+        freeCheckIn = start.plusDays(existingBookings * 3L + 30);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Booking> findOverlappingBookingsNoConflict() {
+        return findOverlapping(freeCheckIn);
+    }
+
+    @Benchmark
+    public List<Booking> findOverlappingBookingsConflict() {
+        return findOverlapping(takenCheckIn);
+    }
+
+    private List<Booking> findOverlapping(LocalDate checkIn) {
+        return readOnlyTransaction.execute(status -> bookingRepository.findOverlappingBookings(
+                accommodationId,
+                checkIn,
+                checkIn.plusDays(4)
+        ));
+    }
+
+    private Long seed(LocalDate start) {
+        User user = BenchmarkFixtures.user(1);
+        user.setId(null);
+        user = context.getBean(UserRepository.class).save(user);
+
+        Accommodation accommodation = BenchmarkFixtures.accommodation(1);
+        accommodation.setId(null);
+        accommodation = context.getBean(AccommodationRepository.class).save(accommodation);
+
+        List<Booking> bookings = new ArrayList<>(existingBookings);
+        for (int i = 0; i < existingBookings; i++) {
+            Booking booking = BenchmarkFixtures.booking(i, accommodation, user,
+                    start.plusDays(i * 3L));
+            booking.setId(null);
+            bookings.add(booking);
+        }
+        bookingRepository.saveAll(bookings);
+        return accommodation.getId();
+    }
+}
@@ -0,0 +1,52 @@
+package com.daniil.bookingapp.benchmark;
+
+import com.daniil.bookingapp.dto.accommodation.AccommodationResponseDto;
+import com.daniil.bookingapp.dto.booking.BookingResponseDto;
+import com.daniil.bookingapp.mapper.AccommodationMapper;
+import com.daniil.bookingapp.mapper.AccommodationMapperImpl;
+import com.daniil.bookingapp.mapper.BookingMapper;
+import com.daniil.bookingapp.mapper.BookingMapperImpl;
+import com.daniil.bookingapp.model.Accommodation;
+import com.daniil.bookingapp.model.Booking;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+    private final BookingMapper bookingMapper = new BookingMapperImpl();
+    private final AccommodationMapper accommodationMapper = new AccommodationMapperImpl();
+    private Accommodation accommodation;
+    private Booking booking;
+
+    @Setup
+    public void setUp() {
+        accommodation = BenchmarkFixtures.accommodation(1);
+        booking = BenchmarkFixtures.booking(1, accommodation, BenchmarkFixtures.user(1),
+                LocalDate.now().plusDays(1));
+    }
+
+    @Benchmark
+    public BookingResponseDto bookingToDto() {
+        return bookingMapper.toDto(booking);
+    }
+
+    @Benchmark
+    public AccommodationResponseDto accommodationToDto() {
+        return accommodationMapper.toDto(accommodation);
+    }
+}
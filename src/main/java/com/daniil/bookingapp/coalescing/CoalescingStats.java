@@ -0,0 +1,9 @@
+package com.daniil.bookingapp.coalescing;
+
+public record CoalescingStats(
+        long requests,
+        long executions,
+        long deduplicated,
+        int cachedKeys
+) {
+}
@@ -0,0 +1,110 @@
+package com.daniil.bookingapp.coalescing;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+public class RequestCoalescer {
+    private final Map<Object, Entry> entries = new ConcurrentHashMap<>();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder deduplicated = new LongAdder();
+
+    @Value("${app.coalescing.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.coalescing.ttl-ms:500}")
+    private long ttlMs;
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(Object key, Supplier<T> loader) {
+        requests.increment();
+        if (!enabled) {
+            executions.increment();
+            return loader.get();
+        }
+
+        long now = System.nanoTime();
+        Entry created = new Entry();
+        Entry entry = entries.compute(key, (k, existing) ->
+                existing != null && !existing.isExpired(now, ttlNanos()) ? existing : created);
+
+        if (entry != created) {
+            deduplicated.increment();
+            return (T) await(entry.future);
+        }
+
+        executions.increment();
+        try {
+            T value = loader.get();
+            entry.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            entries.remove(key, entry);
+            entry.future.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    public CoalescingStats getStats() {
+        return new CoalescingStats(
+                requests.sum(),
+                executions.sum(),
+                deduplicated.sum(),
+                entries.size()
+        );
+    }
+
+    @Scheduled(fixedDelayString = "${app.coalescing.cleanup-interval-ms:60000}")
+    public void evictExpired() {
+        long now = System.nanoTime();
+        entries.entrySet().removeIf(mapEntry -> mapEntry.getValue().isExpired(now, ttlNanos()));
+        log.debug("Coalescing cache holds {} keys after cleanup", entries.size());
+    }
+
+    private long ttlNanos() {
+        return TimeUnit.MILLISECONDS.toNanos(ttlMs);
+    }
+
+    private Object await(CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static final class Entry {
+        private final CompletableFuture<Object> future = new CompletableFuture<>();
+        private volatile long completedAt;
+
+        private void complete(Object value) {
+            completedAt = System.nanoTime();
+            future.complete(value);
+        }
+
+        private boolean isExpired(long now, long ttlNanos) {
+            return future.isDone() && now - completedAt >= ttlNanos;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.daniil.bookingapp.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.Executor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Slf4j
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+    public static final String EVENT_EXECUTOR = "eventExecutor";
+
+    @Value("${app.events.executor.threads:4}")
+    private int threads;
+
+    @Value("${app.events.executor.queue-capacity:1000}")
+    private int queueCapacity;
+
+    @Value("${app.events.executor.virtual-concurrency-limit:64}")
+    private int virtualConcurrencyLimit;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Bean(name = EVENT_EXECUTOR)
+    public Executor eventExecutor(MeterRegistry meterRegistry) {
+        if (virtualThreads) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("domain-event-");
+            executor.setVirtualThreads(true);
+            executor.setConcurrencyLimit(virtualConcurrencyLimit);
+            executor.setTaskTerminationTimeout(10_000);
+            return executor;
+        }
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("domain-event-");
+        Counter dropped = Counter.builder("events.dropped")
+                .description("Domain event listeners dropped because the event queue was full")
+                .tag("executor", EVENT_EXECUTOR)
+                .register(meterRegistry);
+        executor.setRejectedExecutionHandler((task, pool) -> {
+            dropped.increment();
+            log.warn("Event queue is full ({} queued), dropping domain event listener",
+                    pool.getQueue().size());
+        });
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        executor.initialize();
+        return executor;
+    }
+}
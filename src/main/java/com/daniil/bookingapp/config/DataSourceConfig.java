@@ -0,0 +1,131 @@
+package com.daniil.bookingapp.config;
+
+import com.daniil.bookingapp.datasource.ReadYourWritesInterceptor;
+import com.daniil.bookingapp.datasource.ReadYourWritesTracker;
+import com.daniil.bookingapp.datasource.ReplicaLagMonitor;
+import com.daniil.bookingapp.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replica.enabled", havingValue = "true")
+public class DataSourceConfig {
+    @Value("${app.datasource.replica.url}")
+    private String replicaUrl;
+
+    @Value("${app.datasource.replica.username:${spring.datasource.username}}")
+    private String replicaUsername;
+
+    @Value("${app.datasource.replica.password:${spring.datasource.password}}")
+    private String replicaPassword;
+
+    @Value("${app.datasource.replica.maximum-pool-size:10}")
+    private int replicaPoolSize;
+
+    @Value("${app.datasource.replica.max-lag-ms:5000}")
+    private long maxLagMs;
+
+    @Value("${app.datasource.replica.lag-check-interval-ms:2000}")
+    private long lagCheckIntervalMs;
+
+    @Value("${app.datasource.replica.lag-check-connection-timeout-ms:1000}")
+    private long lagCheckConnectionTimeoutMs;
+
+    @Value("${app.datasource.replica.lag-check-query-timeout-seconds:1}")
+    private int lagCheckQueryTimeoutSeconds;
+
+    @Value("${app.datasource.replica.read-your-writes-ms:5000}")
+    private long readYourWritesMs;
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public HikariDataSource replicaDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = replicaDataSourceBuilder(properties).build();
+        dataSource.setPoolName("replica");
+        dataSource.setMaximumPoolSize(replicaPoolSize);
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public HikariDataSource replicaLagDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = replicaDataSourceBuilder(properties).build();
+        dataSource.setPoolName("replica-lag");
+        dataSource.setMaximumPoolSize(1);
+        dataSource.setMinimumIdle(0);
+        dataSource.setConnectionTimeout(lagCheckConnectionTimeoutMs);
+        dataSource.setValidationTimeout(lagCheckConnectionTimeoutMs);
+        dataSource.setInitializationFailTimeout(-1);
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(
+            HikariDataSource replicaLagDataSource,
+            MeterRegistry meterRegistry
+    ) {
+        return new ReplicaLagMonitor(replicaLagDataSource, maxLagMs, lagCheckIntervalMs,
+                lagCheckQueryTimeoutSeconds, meterRegistry);
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker() {
+        return new ReadYourWritesTracker(readYourWritesMs);
+    }
+
+    @Bean
+    public ReadYourWritesInterceptor readYourWritesInterceptor(
+            ReadYourWritesTracker readYourWritesTracker
+    ) {
+        return new ReadYourWritesInterceptor(readYourWritesTracker);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            HikariDataSource primaryDataSource,
+            HikariDataSource replicaDataSource,
+            ReplicaLagMonitor replicaLagMonitor,
+            ReadYourWritesTracker readYourWritesTracker
+    ) {
+        ReplicaRoutingDataSource readOnlyDataSource = new ReplicaRoutingDataSource(
+                primaryDataSource, replicaDataSource, replicaLagMonitor, readYourWritesTracker);
+        readOnlyDataSource.afterPropertiesSet();
+
+        LazyConnectionDataSourceProxy dataSource =
+                new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(readOnlyDataSource);
+        return dataSource;
+    }
+
+    private DataSourceBuilder<HikariDataSource> replicaDataSourceBuilder(
+            DataSourceProperties properties
+    ) {
+        return DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(properties.determineDriverClassName())
+                .url(replicaUrl)
+                .username(replicaUsername)
+                .password(replicaPassword);
+    }
+}
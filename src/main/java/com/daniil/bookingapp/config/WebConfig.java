@@ -0,0 +1,23 @@
+package com.daniil.bookingapp.config;
+
+import com.daniil.bookingapp.datasource.ReadYourWritesInterceptor;
+import com.daniil.bookingapp.metrics.SqlBudgetInterceptor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+    private final SqlBudgetInterceptor sqlBudgetInterceptor;
+    private final ObjectProvider<ReadYourWritesInterceptor> readYourWritesInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(sqlBudgetInterceptor).addPathPatterns("/api/**");
+        readYourWritesInterceptor.ifAvailable(interceptor ->
+                registry.addInterceptor(interceptor).addPathPatterns("/api/**"));
+    }
+}
@@ -1,10 +1,14 @@
 package com.daniil.bookingapp.controller;
 
+import com.daniil.bookingapp.dto.accommodation.AccommodationImportResultDto;
 import com.daniil.bookingapp.dto.accommodation.AccommodationRequestDto;
 import com.daniil.bookingapp.dto.accommodation.AccommodationResponseDto;
 import com.daniil.bookingapp.dto.accommodation.AccommodationUpdateRequestDto;
 import com.daniil.bookingapp.model.enums.AccommodationType;
+import com.daniil.bookingapp.model.enums.ExportFormat;
+import com.daniil.bookingapp.service.AccommodationImportService;
 import com.daniil.bookingapp.service.AccommodationService;
+import com.daniil.bookingapp.util.EtagUtil;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -13,11 +17,16 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -31,6 +40,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/accommodations")
@@ -39,6 +49,7 @@ import org.springframework.web.bind.annotation.RestController;
         description = "APIs for managing accommodation inventory (CRUD operations)")
 public class AccommodationController {
     private final AccommodationService accommodationService;
+    private final AccommodationImportService accommodationImportService;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
@@ -60,6 +71,31 @@ public class AccommodationController {
         return accommodationService.create(requestDto);
     }
 
+    @PostMapping("/import")
+    @PreAuthorize("hasRole('ADMIN')")
+    @SecurityRequirement(name = "bearerAuth")
+    @Operation(summary = "Bulk import accommodations",
+            description = "Streams a CSV (with header row) or NDJSON body, validates each row "
+                    + "and inserts valid rows in batches. Returns a per-row error report. "
+                    + "Only accessible by ADMIN role.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import processed",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(
+                                    implementation = AccommodationImportResultDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid format"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Access denied - Admin role required")
+    })
+    public AccommodationImportResultDto importAccommodations(
+            @Parameter(description = "Body format")
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+
+            HttpServletRequest request
+    ) throws IOException {
+        return accommodationImportService.importAccommodations(request.getInputStream(), format);
+    }
+
     @GetMapping
     @Operation(summary = "Get all accommodations",
             description = "Retrieves a paginated list of accommodations with optional filters. "
@@ -68,7 +104,9 @@ public class AccommodationController {
             @ApiResponse(responseCode = "200",
                     description = "Accommodations retrieved successfully",
                     content = @Content(mediaType = "application/json",
-                            schema = @Schema(implementation = Page.class)))
+                            schema = @Schema(implementation = Page.class))),
+            @ApiResponse(responseCode = "304",
+                    description = "Page has not changed since the ETag in If-None-Match")
     })
     public Page<AccommodationResponseDto> findAll(
             @Parameter(description = "Filter by location (partial match)")
@@ -78,12 +116,110 @@ public class AccommodationController {
             @RequestParam(required = false) AccommodationType type,
 
             @Parameter(description = "Pagination parameters (page, size, sort)")
-            @PageableDefault(size = 20, sort = "id") Pageable pageable
+            @PageableDefault(size = 20, sort = "id") Pageable pageable,
+
+            WebRequest webRequest
     ) {
-        if (location != null || type != null) {
-            return accommodationService.findByFilters(location, type, pageable);
+        Page<AccommodationResponseDto> page = location != null || type != null
+                ? accommodationService.findByFilters(location, type, pageable)
+                : accommodationService.findAll(pageable);
+
+        String etag = EtagUtil.ofPage(
+                page,
+                AccommodationResponseDto::getId,
+                AccommodationResponseDto::getUpdatedAt
+        );
+        if (webRequest.checkNotModified(etag)) {
+            return null;
         }
-        return accommodationService.findAll(pageable);
+        return page;
+    }
+
+    @GetMapping("/nearby")
+    @Operation(summary = "Search accommodations within a radius",
+            description = "Retrieves accommodations within the given radius of a point, "
+                    + "ordered by distance. Can be combined with type and stay dates. "
+                    + "Public endpoint - no authentication required.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200",
+                    description = "Accommodations retrieved successfully",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = Page.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid coordinates, "
+                    + "radius or dates")
+    })
+    public Page<AccommodationResponseDto> findNearby(
+            @Parameter(description = "Latitude of the search center")
+            @RequestParam double latitude,
+
+            @Parameter(description = "Longitude of the search center")
+            @RequestParam double longitude,
+
+            @Parameter(description = "Search radius in kilometers")
+            @RequestParam(defaultValue = "5") double radiusKm,
+
+            @Parameter(description = "Filter by accommodation type")
+            @RequestParam(required = false) AccommodationType type,
+
+            @Parameter(description = "Only accommodations free from this date")
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkIn,
+
+            @Parameter(description = "Only accommodations free until this date")
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkOut,
+
+            @Parameter(description = "Pagination parameters (page, size)")
+            @PageableDefault(size = 20) Pageable pageable
+    ) {
+        return accommodationService.findNearby(
+                latitude, longitude, radiusKm, type, checkIn, checkOut, pageable
+        );
+    }
+
+    @GetMapping("/within")
+    @Operation(summary = "Search accommodations within a bounding box",
+            description = "Retrieves accommodations inside the given map viewport. "
+                    + "Can be combined with type and stay dates. "
+                    + "Public endpoint - no authentication required.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200",
+                    description = "Accommodations retrieved successfully",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = Page.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid bounds or dates")
+    })
+    public Page<AccommodationResponseDto> findWithinBounds(
+            @Parameter(description = "South edge latitude")
+            @RequestParam double minLatitude,
+
+            @Parameter(description = "West edge longitude")
+            @RequestParam double minLongitude,
+
+            @Parameter(description = "North edge latitude")
+            @RequestParam double maxLatitude,
+
+            @Parameter(description = "East edge longitude")
+            @RequestParam double maxLongitude,
+
+            @Parameter(description = "Filter by accommodation type")
+            @RequestParam(required = false) AccommodationType type,
+
+            @Parameter(description = "Only accommodations free from this date")
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkIn,
+
+            @Parameter(description = "Only accommodations free until this date")
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkOut,
+
+            @Parameter(description = "Pagination parameters (page, size)")
+            @PageableDefault(size = 20) Pageable pageable
+    ) {
+        return accommodationService.findWithinBounds(
+                minLatitude, minLongitude, maxLatitude, maxLongitude,
+                type, checkIn, checkOut, pageable
+        );
     }
 
     @GetMapping("/{id}")
@@ -94,12 +230,20 @@ public class AccommodationController {
             @ApiResponse(responseCode = "200", description = "Accommodation found",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = AccommodationResponseDto.class))),
+            @ApiResponse(responseCode = "304", description = "Accommodation has not changed "
+                    + "since the ETag or date in If-None-Match / If-Modified-Since"),
             @ApiResponse(responseCode = "404", description = "Accommodation not found")
     })
     public AccommodationResponseDto findById(
             @Parameter(description = "Accommodation ID")
-            @PathVariable Long id
+            @PathVariable Long id,
+            WebRequest webRequest
     ) {
+        LocalDateTime lastModified = accommodationService.getLastModified(id);
+        if (webRequest.checkNotModified(
+                EtagUtil.of(id, lastModified), EtagUtil.toEpochMilli(lastModified))) {
+            return null;
+        }
         return accommodationService.findById(id);
     }
 
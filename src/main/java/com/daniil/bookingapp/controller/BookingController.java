@@ -5,7 +5,11 @@ import com.daniil.bookingapp.dto.booking.BookingResponseDto;
 import com.daniil.bookingapp.dto.booking.BookingUpdateRequestDto;
 import com.daniil.bookingapp.model.User;
 import com.daniil.bookingapp.model.enums.BookingStatus;
+import com.daniil.bookingapp.model.enums.ExportFormat;
 import com.daniil.bookingapp.service.BookingService;
+import com.daniil.bookingapp.service.ExportService;
+import com.daniil.bookingapp.service.IdempotencyService;
+import com.daniil.bookingapp.util.EtagUtil;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -14,11 +18,17 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -29,10 +39,12 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/bookings")
@@ -40,14 +52,20 @@ import org.springframework.web.bind.annotation.RestController;
 @SecurityRequirement(name = "bearerAuth")
 @Tag(name = "Booking Management", description = "APIs for managing accommodation bookings")
 public class BookingController {
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    private static final String CREATE_OPERATION = "booking.create";
+
     private final BookingService bookingService;
+    private final IdempotencyService idempotencyService;
+    private final ExportService exportService;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     @Operation(summary = "Create new booking",
             description = "Creates a new booking for an accommodation. "
                     + "Validates availability, checks for overlaps, "
-                    + "and requires no pending bookings.")
+                    + "and requires no pending bookings. Retries with the same "
+                    + "Idempotency-Key header return the original response.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Booking created successfully",
                     content = @Content(mediaType = "application/json",
@@ -55,13 +73,25 @@ public class BookingController {
             @ApiResponse(responseCode = "400", description = "Invalid dates or accommodation "
                     + "unavailable or has pending bookings"),
             @ApiResponse(responseCode = "401", description = "Unauthorized"),
-            @ApiResponse(responseCode = "404", description = "Accommodation not found")
+            @ApiResponse(responseCode = "404", description = "Accommodation not found"),
+            @ApiResponse(responseCode = "409", description = "Request with the same "
+                    + "Idempotency-Key is still in progress"),
+            @ApiResponse(responseCode = "422", description = "Idempotency-Key reused "
+                    + "with a different request")
     })
     public BookingResponseDto create(
             @Valid @RequestBody BookingRequestDto requestDto,
-            @AuthenticationPrincipal User user
+            @AuthenticationPrincipal User user,
+            @Parameter(description = "Optional key that makes retries of this request safe")
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false)
+            String idempotencyKey
     ) {
-        return bookingService.create(requestDto, user);
+        if (idempotencyKey == null) {
+            return bookingService.create(requestDto, user);
+        }
+        return idempotencyService.execute(user, CREATE_OPERATION, idempotencyKey,
+                requestDto, BookingResponseDto.class,
+                () -> bookingService.create(requestDto, user));
     }
 
     @GetMapping("/my")
@@ -107,6 +137,39 @@ public class BookingController {
         return bookingService.findAllByFilters(userId, status, pageable);
     }
 
+    @GetMapping("/export")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    @Operation(summary = "Export bookings",
+            description = "Streams every matching booking as NDJSON or CSV. "
+                    + "Only accessible by ADMIN or MANAGER roles.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Export streamed successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid filter or format"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Access denied - "
+                    + "Admin or Manager role required")
+    })
+    public void exportBookings(
+            @Parameter(description = "Filter by user ID")
+            @RequestParam(required = false) Long userId,
+
+            @Parameter(description = "Filter by booking status")
+            @RequestParam(required = false) BookingStatus status,
+
+            @Parameter(description = "Output format")
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+
+            HttpServletResponse response
+    ) throws IOException {
+        response.setContentType(format.getContentType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("bookings." + format.getExtension())
+                .build()
+                .toString());
+        exportService.exportBookings(userId, status, format, response.getOutputStream());
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get booking by ID",
             description = "Retrieves booking details. "
@@ -116,6 +179,8 @@ public class BookingController {
             @ApiResponse(responseCode = "200", description = "Booking found",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = BookingResponseDto.class))),
+            @ApiResponse(responseCode = "304", description = "Booking has not changed "
+                    + "since the ETag or date in If-None-Match / If-Modified-Since"),
             @ApiResponse(responseCode = "401", description = "Unauthorized"),
             @ApiResponse(responseCode = "403", description = "Access denied"),
             @ApiResponse(responseCode = "404", description = "Booking not found")
@@ -123,8 +188,14 @@ public class BookingController {
     public BookingResponseDto findById(
             @Parameter(description = "Booking ID")
             @PathVariable Long id,
-            @AuthenticationPrincipal User user
+            @AuthenticationPrincipal User user,
+            WebRequest webRequest
     ) {
+        LocalDateTime lastModified = bookingService.getLastModified(id, user);
+        if (webRequest.checkNotModified(
+                EtagUtil.of(id, lastModified), EtagUtil.toEpochMilli(lastModified))) {
+            return null;
+        }
         return bookingService.findById(id, user);
     }
 
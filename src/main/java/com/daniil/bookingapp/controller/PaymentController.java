@@ -5,7 +5,13 @@ import com.daniil.bookingapp.dto.payment.PaymentRequestDto;
 import com.daniil.bookingapp.dto.payment.PaymentResponseDto;
 import com.daniil.bookingapp.dto.payment.PaymentSuccessResponseDto;
 import com.daniil.bookingapp.model.User;
+import com.daniil.bookingapp.model.enums.ExportFormat;
+import com.daniil.bookingapp.model.enums.PaymentStatus;
+import com.daniil.bookingapp.service.ExportService;
+import com.daniil.bookingapp.service.IdempotencyService;
+import com.daniil.bookingapp.service.PaymentReconciliationService;
 import com.daniil.bookingapp.service.PaymentService;
+import com.daniil.bookingapp.service.StripeWebhookService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -14,17 +20,23 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
@@ -37,7 +49,14 @@ import org.springframework.web.bind.annotation.RestController;
 @Tag(name = "Payment Management",
         description = "APIs for managing payments through Stripe integration")
 public class PaymentController {
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    private static final String CREATE_OPERATION = "payment.create";
+
     private final PaymentService paymentService;
+    private final IdempotencyService idempotencyService;
+    private final ExportService exportService;
+    private final StripeWebhookService stripeWebhookService;
+    private final PaymentReconciliationService paymentReconciliationService;
 
     @GetMapping
     @Operation(summary = "Get payments",
@@ -61,11 +80,45 @@ public class PaymentController {
         return paymentService.getPayments(userId, user, pageable);
     }
 
+    @GetMapping("/export")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    @Operation(summary = "Export payments",
+            description = "Streams every matching payment as NDJSON or CSV. "
+                    + "Only accessible by ADMIN or MANAGER roles.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Export streamed successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid filter or format"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Access denied - "
+                    + "Admin or Manager role required")
+    })
+    public void exportPayments(
+            @Parameter(description = "Filter by user ID")
+            @RequestParam(required = false) Long userId,
+
+            @Parameter(description = "Filter by payment status")
+            @RequestParam(required = false) PaymentStatus status,
+
+            @Parameter(description = "Output format")
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+
+            HttpServletResponse response
+    ) throws IOException {
+        response.setContentType(format.getContentType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("payments." + format.getExtension())
+                .build()
+                .toString());
+        exportService.exportPayments(userId, status, format, response.getOutputStream());
+    }
+
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     @Operation(summary = "Create payment session",
             description = "Creates a new Stripe payment session for a booking. "
-                    + "Returns session URL for payment and payment details.")
+                    + "Returns session URL for payment and payment details. Retries with "
+                    + "the same Idempotency-Key header return the original response.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Payment session created",
                     content = @Content(mediaType = "application/json",
@@ -75,27 +128,73 @@ public class PaymentController {
             @ApiResponse(responseCode = "401", description = "Unauthorized"),
             @ApiResponse(responseCode = "403", description = "Access denied - "
                     + "not booking owner"),
-            @ApiResponse(responseCode = "404", description = "Booking not found")
+            @ApiResponse(responseCode = "404", description = "Booking not found"),
+            @ApiResponse(responseCode = "409", description = "Request with the same "
+                    + "Idempotency-Key is still in progress"),
+            @ApiResponse(responseCode = "422", description = "Idempotency-Key reused "
+                    + "with a different request")
     })
     public PaymentResponseDto createPaymentSession(
             @Valid @RequestBody PaymentRequestDto requestDto,
-            @AuthenticationPrincipal User user
+            @AuthenticationPrincipal User user,
+            @Parameter(description = "Optional key that makes retries of this request safe")
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false)
+            String idempotencyKey
+    ) {
+        if (idempotencyKey == null) {
+            return paymentService.createPaymentSession(requestDto, user);
+        }
+        return idempotencyService.execute(user, CREATE_OPERATION, idempotencyKey,
+                requestDto, PaymentResponseDto.class,
+                () -> paymentService.findOpenPaymentSession(requestDto, user),
+                () -> paymentService.createPaymentSession(requestDto, user));
+    }
+
+    @PostMapping("/reconciliation")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Reconcile payments with the provider",
+            description = "Starts a background check of every pending and expired payment "
+                    + "against the payment provider. Drifted statuses are fixed and the "
+                    + "summary report is sent as a notification. "
+                    + "Only accessible by ADMIN role.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Reconciliation started"),
+            @ApiResponse(responseCode = "400", description = "Reconciliation already running"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Access denied - "
+                    + "Admin role required")
+    })
+    public void reconcilePayments() {
+        paymentReconciliationService.submit();
+    }
+
+    @PostMapping("/webhook")
+    @Operation(summary = "Receive Stripe webhook",
+            description = "Stripe calls this endpoint for checkout session events. "
+                    + "The signature is verified and the event is queued for processing.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Event accepted"),
+            @ApiResponse(responseCode = "400", description = "Invalid signature or payload")
+    })
+    public void handleWebhook(
+            @RequestBody String payload,
+            @RequestHeader("Stripe-Signature") String signatureHeader
     ) {
-        return paymentService.createPaymentSession(requestDto, user);
+        stripeWebhookService.receive(payload, signatureHeader);
     }
 
     @GetMapping("/success")
     @Operation(summary = "Handle successful payment",
             description = "Stripe redirects here after successful payment. "
-                    + "Verifies payment and updates booking status.")
+                    + "Returns the locally recorded payment state; the booking is "
+                    + "confirmed once the Stripe webhook has been processed.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200",
-                    description = "Payment processed successfully",
+                    description = "Current payment state (PENDING until the webhook arrives)",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(
                                     implementation = PaymentSuccessResponseDto.class))),
-            @ApiResponse(responseCode = "400", description = "Invalid session or "
-                    + "payment already processed"),
             @ApiResponse(responseCode = "404", description = "Payment session not found")
     })
     public PaymentSuccessResponseDto handleSuccess(
@@ -126,7 +225,7 @@ public class PaymentController {
     @PostMapping("/renew")
     @Operation(summary = "Renew expired payment session",
             description = "Creates a new Stripe session for an expired payment. "
-                    + "Only available for EXPIRED payments.")
+                    + "Only available for expired, canceled or failed payments.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200",
                     description = "Payment session renewed successfully",
@@ -0,0 +1,122 @@
+package com.daniil.bookingapp.controller;
+
+import com.daniil.bookingapp.dto.report.AccommodationRevenueDto;
+import com.daniil.bookingapp.dto.report.DailyRevenueDto;
+import com.daniil.bookingapp.dto.report.NightlyOccupancyDto;
+import com.daniil.bookingapp.service.ReportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.time.LocalDate;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/reports")
+@RequiredArgsConstructor
+@SecurityRequirement(name = "bearerAuth")
+@Tag(name = "Reports", description = "Revenue and occupancy reports built from rollup tables")
+public class ReportController {
+    private final ReportService reportService;
+
+    @GetMapping("/revenue/daily")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    @Operation(summary = "Get daily revenue",
+            description = "Returns paid revenue per day, optionally for one accommodation. "
+                    + "Only accessible by ADMIN or MANAGER roles.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Report returned successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid date range"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Access denied - "
+                    + "Admin or Manager role required")
+    })
+    public List<DailyRevenueDto> getDailyRevenue(
+            @Parameter(description = "First day of the report (inclusive)")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+
+            @Parameter(description = "Last day of the report (inclusive)")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+
+            @Parameter(description = "Filter by accommodation ID")
+            @RequestParam(required = false) Long accommodationId
+    ) {
+        return reportService.getDailyRevenue(from, to, accommodationId);
+    }
+
+    @GetMapping("/revenue/accommodations")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    @Operation(summary = "Get revenue per accommodation",
+            description = "Returns paid revenue per accommodation for the period, "
+                    + "highest first. Only accessible by ADMIN or MANAGER roles.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Report returned successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid date range"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Access denied - "
+                    + "Admin or Manager role required")
+    })
+    public List<AccommodationRevenueDto> getRevenueByAccommodation(
+            @Parameter(description = "First day of the report (inclusive)")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+
+            @Parameter(description = "Last day of the report (inclusive)")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        return reportService.getRevenueByAccommodation(from, to);
+    }
+
+    @GetMapping("/occupancy")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    @Operation(summary = "Get nightly occupancy",
+            description = "Returns the number of paid units booked per night, "
+                    + "optionally for one accommodation. "
+                    + "Only accessible by ADMIN or MANAGER roles.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Report returned successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid date range"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Access denied - "
+                    + "Admin or Manager role required")
+    })
+    public List<NightlyOccupancyDto> getOccupancy(
+            @Parameter(description = "First night of the report (inclusive)")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+
+            @Parameter(description = "Last night of the report (inclusive)")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+
+            @Parameter(description = "Filter by accommodation ID")
+            @RequestParam(required = false) Long accommodationId
+    ) {
+        return reportService.getOccupancy(from, to, accommodationId);
+    }
+
+    @PostMapping("/rebuild")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Rebuild report rollups",
+            description = "Recomputes the revenue and occupancy rollups from payments "
+                    + "and bookings. Only accessible by ADMIN role.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Rollups rebuilt"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Access denied - "
+                    + "Admin role required")
+    })
+    public void rebuildRollups() {
+        reportService.rebuildRollups();
+    }
+}
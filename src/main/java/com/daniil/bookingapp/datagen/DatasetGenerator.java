@@ -0,0 +1,335 @@
+package com.daniil.bookingapp.datagen;
+
+import com.daniil.bookingapp.model.Accommodation;
+import com.daniil.bookingapp.model.enums.AccommodationType;
+import com.daniil.bookingapp.model.enums.BookingStatus;
+import com.daniil.bookingapp.model.enums.RoleName;
+import com.daniil.bookingapp.repository.AccommodationRepository;
+import com.daniil.bookingapp.service.ReportService;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Slf4j
+@Component
+@Profile("datagen")
+@RequiredArgsConstructor
+public class DatasetGenerator implements ApplicationRunner {
+    private static final String PASSWORD = "Datagen123";
+    private static final String DEFAULT_ANCHOR_DATE = "2025-01-01";
+    private static final String[] CITIES = {"Kyiv", "Lviv", "Odesa", "Kharkiv", "Dnipro"};
+    private static final double[][] CITY_CENTERS = {
+            {50.4501, 30.5234}, {49.8397, 24.0297}, {46.4825, 30.7233},
+            {49.9935, 36.2304}, {48.4647, 35.0462}
+    };
+    private static final AccommodationType[] TYPES = AccommodationType.values();
+    private static final int[] TYPE_WEIGHTS = {15, 60, 15, 10};
+    private static final int[] STAY_WEIGHTS = {15, 22, 20, 13, 9, 6, 8, 2, 1, 1, 1, 1, 0, 1};
+    private static final String INSERT_USER = "INSERT INTO users "
+            + "(email, password, first_name, last_name, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_USER_ROLES = "INSERT INTO users_roles (user_id, role_id) "
+            + "SELECT u.id, r.id FROM users u JOIN roles r ON r.name = ? "
+            + "WHERE u.email LIKE ?";
+    private static final String INSERT_BOOKING = "INSERT INTO bookings "
+            + "(check_in_date, check_out_date, accommodation_id, user_id, status, total_price, "
+            + "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_PAYMENTS = "INSERT INTO payments "
+            + "(status, booking_id, user_id, session_id, amount_to_pay, "
+            + "stripe_payment_intent_id, created_at, updated_at, expires_at, paid_at) "
+            + "SELECT s.status, s.id, s.user_id, 'cs_datagen_' || s.id, s.total_price, "
+            + "CASE WHEN s.status = 'PAID' THEN 'pi_datagen_' || s.id END, "
+            + "s.created_at, s.created_at, s.created_at + INTERVAL '24 hours', "
+            + "CASE WHEN s.status = 'PAID' THEN s.created_at + INTERVAL '10 minutes' END "
+            + "FROM (SELECT b.id, b.user_id, b.total_price, b.created_at, "
+            + "CASE WHEN b.status = 'CONFIRMED' THEN 'PAID' "
+            + "WHEN b.status = 'PENDING' THEN 'PENDING' "
+            + "WHEN b.status = 'EXPIRED' AND b.id % 100 < 85 THEN 'PAID' "
+            + "WHEN b.status = 'EXPIRED' THEN 'EXPIRED' "
+            + "WHEN b.id % 100 < 50 THEN NULL "
+            + "WHEN b.id % 100 < 80 THEN 'EXPIRED' "
+            + "ELSE 'CANCELED' END AS status "
+            + "FROM bookings b WHERE b.id > ? AND b.id <= ?) s "
+            + "WHERE s.status IS NOT NULL";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AccommodationRepository accommodationRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final ReportService reportService;
+    private final ApplicationContext applicationContext;
+
+    @Value("${app.datagen.seed:42}")
+    private long seed;
+
+    @Value("${app.datagen.users:10000}")
+    private int userCount;
+
+    @Value("${app.datagen.accommodations:10000}")
+    private int accommodationCount;
+
+    @Value("${app.datagen.bookings:1000000}")
+    private long bookingCount;
+
+    @Value("${app.datagen.batch-size:5000}")
+    private int batchSize;
+
+    @Value("${app.datagen.history-days:730}")
+    private int historyDays;
+
+    @Value("${app.datagen.future-days:365}")
+    private int futureDays;
+
+    @Value("${app.datagen.anchor-date:" + DEFAULT_ANCHOR_DATE + "}")
+    private String anchorDate;
+
+    @Value("${app.datagen.exit-on-completion:true}")
+    private boolean exitOnCompletion;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        final long start = System.currentTimeMillis();
+        Random random = new Random(seed);
+        LocalDateTime now = LocalDate.parse(anchorDate).atStartOfDay();
+        log.info("Generating dataset (seed {}, anchor {}): {} users, {} accommodations, "
+                        + "{} bookings",
+                seed, anchorDate, userCount, accommodationCount, bookingCount);
+
+        List<Long> userIds = generateUsers(random, now);
+        List<Accommodation> accommodations = generateAccommodations(random);
+        long lastBookingIdBefore = maxId("bookings");
+        generateBookings(random, now, userIds, accommodations);
+        generatePayments(lastBookingIdBefore, maxId("bookings"));
+
+        reportService.rebuildRollups();
+        jdbcTemplate.execute("ANALYZE users, accommodations, bookings, payments, "
+                + "daily_revenue, nightly_occupancy");
+        log.info("Dataset generated in {} s", (System.currentTimeMillis() - start) / 1000);
+
+        if (exitOnCompletion) {
+            SpringApplication.exit(applicationContext, () -> 0);
+        }
+    }
+
+    private List<Long> generateUsers(Random random, LocalDateTime now) {
+        String emailPrefix = "datagen-" + seed + "-";
+        Long existing = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM users WHERE email LIKE ?", Long.class, emailPrefix + "%");
+        if (existing != null && existing > 0) {
+            throw new IllegalStateException(
+                    "Dataset for seed " + seed + " is already loaded, use another seed"
+            );
+        }
+
+        String passwordHash = passwordEncoder.encode(PASSWORD);
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        for (int i = 0; i < userCount; i++) {
+            Timestamp createdAt = Timestamp.valueOf(
+                    now.minusDays(random.nextInt(historyDays + 1)).minusHours(1));
+            batch.add(new Object[]{emailPrefix + i + "@example.com", passwordHash,
+                    "User", "Datagen" + i, createdAt, createdAt});
+            if (batch.size() == batchSize) {
+                insertBatch(INSERT_USER, batch);
+            }
+        }
+        insertBatch(INSERT_USER, batch);
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(
+                INSERT_USER_ROLES, RoleName.ROLE_CUSTOMER.name(), emailPrefix + "%"));
+
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT id FROM users WHERE email LIKE ? ORDER BY id", Long.class,
+                emailPrefix + "%");
+        log.info("Inserted {} users", ids.size());
+        return ids;
+    }
+
+    private List<Accommodation> generateAccommodations(Random random) {
+        List<Accommodation> saved = new ArrayList<>(accommodationCount);
+        List<Accommodation> batch = new ArrayList<>(batchSize);
+        for (int i = 0; i < accommodationCount; i++) {
+            int city = random.nextInt(CITIES.length);
+            AccommodationType type = TYPES[pickWeighted(random, TYPE_WEIGHTS)];
+            double rate = 25 + Math.exp(3.5 + random.nextGaussian() * 0.6);
+            batch.add(Accommodation.builder()
+                    .type(type)
+                    .location(CITIES[city] + ", Street " + (1 + random.nextInt(500)))
+                    .size(1 + random.nextInt(4) + " bedrooms")
+                    .amenities(random.nextBoolean() ? "WiFi,Kitchen" : "WiFi,Parking")
+                    .dailyRate(BigDecimal.valueOf(rate).setScale(2, RoundingMode.HALF_UP))
+                    .availability(1 + random.nextInt(10))
+                    .latitude(CITY_CENTERS[city][0] + random.nextGaussian() * 0.05)
+                    .longitude(CITY_CENTERS[city][1] + random.nextGaussian() * 0.08)
+                    .build());
+            if (batch.size() == batchSize) {
+                saved.addAll(saveAccommodations(batch));
+                batch.clear();
+            }
+        }
+        saved.addAll(saveAccommodations(batch));
+        log.info("Inserted {} accommodations", saved.size());
+        return saved;
+    }
+
+    private List<Accommodation> saveAccommodations(List<Accommodation> batch) {
+        return transactionTemplate.execute(status -> accommodationRepository.saveAll(batch));
+    }
+
+    private void generateBookings(
+            Random random,
+            LocalDateTime now,
+            List<Long> userIds,
+            List<Accommodation> accommodations
+    ) {
+        double[] popularity = new double[accommodations.size()];
+        double totalPopularity = 0;
+        for (int i = 0; i < popularity.length; i++) {
+            popularity[i] = Math.exp(random.nextGaussian() * 0.75);
+            totalPopularity += popularity[i];
+        }
+
+        LocalDate windowStart = now.toLocalDate().minusDays(historyDays);
+        int windowDays = historyDays + futureDays;
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        double cumulative = 0;
+        long assigned = 0;
+        long inserted = 0;
+        long start = System.currentTimeMillis();
+
+        for (int i = 0; i < accommodations.size(); i++) {
+            cumulative += popularity[i];
+            long upTo = Math.round(cumulative / totalPopularity * bookingCount);
+            int count = (int) (upTo - assigned);
+            assigned = upTo;
+            if (count == 0) {
+                continue;
+            }
+
+            Accommodation accommodation = accommodations.get(i);
+            double meanGap = Math.max(0, (double) windowDays / count - 3.5);
+            LocalDate checkIn = windowStart.plusDays(random.nextInt(7));
+            for (int n = 0; n < count; n++) {
+                int nights = 1 + pickWeighted(random, STAY_WEIGHTS);
+                LocalDate checkOut = checkIn.plusDays(nights);
+                batch.add(bookingRow(random, now, accommodation,
+                        userIds.get(random.nextInt(userIds.size())), checkIn, checkOut));
+                if (batch.size() == batchSize) {
+                    inserted += insertBatch(INSERT_BOOKING, batch);
+                    if (inserted % (batchSize * 100L) == 0) {
+                        logProgress("bookings", inserted, start);
+                    }
+                }
+                checkIn = checkOut.plusDays(Math.round(exponential(random, meanGap)));
+            }
+        }
+        inserted += insertBatch(INSERT_BOOKING, batch);
+        log.info("Inserted {} bookings", inserted);
+    }
+
+    private Object[] bookingRow(
+            Random random,
+            LocalDateTime now,
+            Accommodation accommodation,
+            Long userId,
+            LocalDate checkIn,
+            LocalDate checkOut
+    ) {
+        BookingStatus status;
+        LocalDateTime createdAt;
+        int roll = random.nextInt(100);
+        if (checkOut.isBefore(now.toLocalDate())) {
+            status = roll < 80 ? BookingStatus.EXPIRED : BookingStatus.CANCELED;
+        } else if (roll < 10) {
+            status = BookingStatus.PENDING;
+        } else {
+            status = roll < 80 ? BookingStatus.CONFIRMED : BookingStatus.CANCELED;
+        }
+
+        if (status == BookingStatus.PENDING) {
+            createdAt = now.minusMinutes(random.nextInt(23 * 60));
+        } else {
+            LocalDateTime bookedAt = checkIn.atStartOfDay()
+                    .minusDays(1 + Math.round(exponential(random, 30)))
+                    .plusMinutes(random.nextInt(24 * 60));
+            LocalDateTime latest = now.minusHours(1);
+            createdAt = bookedAt.isAfter(latest) ? latest : bookedAt;
+        }
+
+        BigDecimal totalPrice = accommodation.getDailyRate()
+                .multiply(BigDecimal.valueOf(checkOut.toEpochDay() - checkIn.toEpochDay()));
+        Timestamp timestamp = Timestamp.valueOf(createdAt);
+        return new Object[]{checkIn, checkOut, accommodation.getId(), userId, status.name(),
+                totalPrice, timestamp, timestamp};
+    }
+
+    private void generatePayments(long fromBookingId, long toBookingId) {
+        long inserted = 0;
+        long start = System.currentTimeMillis();
+        long chunk = batchSize * 20L;
+        for (long next = fromBookingId; next < toBookingId; next += chunk) {
+            long lower = next;
+            long upper = Math.min(next + chunk, toBookingId);
+            Integer rows = transactionTemplate.execute(status ->
+                    jdbcTemplate.update(INSERT_PAYMENTS, lower, upper));
+            inserted += rows == null ? 0 : rows;
+            logProgress("payments", inserted, start);
+        }
+        log.info("Inserted {} payments", inserted);
+    }
+
+    private int insertBatch(String sql, List<Object[]> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        int size = batch.size();
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(sql, batch));
+        batch.clear();
+        return size;
+    }
+
+    private long maxId(String table) {
+        Long id = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+        return id == null ? 0 : id;
+    }
+
+    private void logProgress(String table, long inserted, long start) {
+        long elapsedMs = Math.max(1, System.currentTimeMillis() - start);
+        log.info("Inserted {} {} ({} rows/s)", inserted, table, inserted * 1000 / elapsedMs);
+    }
+
+    private static double exponential(Random random, double mean) {
+        return -mean * Math.log(1 - random.nextDouble());
+    }
+
+    private static int pickWeighted(Random random, int[] weights) {
+        int total = 0;
+        for (int weight : weights) {
+            total += weight;
+        }
+        int roll = random.nextInt(total);
+        for (int i = 0; i < weights.length; i++) {
+            roll -= weights[i];
+            if (roll < 0) {
+                return i;
+            }
+        }
+        return weights.length - 1;
+    }
+}
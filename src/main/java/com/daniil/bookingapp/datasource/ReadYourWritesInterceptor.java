@@ -0,0 +1,43 @@
+package com.daniil.bookingapp.datasource;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.security.Principal;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+@RequiredArgsConstructor
+public class ReadYourWritesInterceptor implements HandlerInterceptor {
+    private static final Set<String> READ_METHODS = Set.of("GET", "HEAD", "OPTIONS", "TRACE");
+
+    private final ReadYourWritesTracker tracker;
+
+    @Override
+    public boolean preHandle(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            Object handler
+    ) {
+        Principal principal = request.getUserPrincipal();
+        if (principal != null) {
+            tracker.pin(principal.getName());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            Object handler,
+            Exception exception
+    ) {
+        tracker.unpin();
+        Principal principal = request.getUserPrincipal();
+        if (principal != null && exception == null && response.getStatus() < 400
+                && !READ_METHODS.contains(request.getMethod())) {
+            tracker.recordWrite(principal.getName());
+        }
+    }
+}
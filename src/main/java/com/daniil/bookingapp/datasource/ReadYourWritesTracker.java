@@ -0,0 +1,52 @@
+package com.daniil.bookingapp.datasource;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.springframework.scheduling.annotation.Scheduled;
+
+public class ReadYourWritesTracker {
+    private final Map<String, Long> writeDeadlines = new ConcurrentHashMap<>();
+    private final ThreadLocal<Boolean> pinned = new ThreadLocal<>();
+    private final long stickyNanos;
+
+    public ReadYourWritesTracker(long stickyMs) {
+        this.stickyNanos = TimeUnit.MILLISECONDS.toNanos(stickyMs);
+    }
+
+    public void recordWrite(String session) {
+        if (stickyNanos > 0) {
+            writeDeadlines.put(session, System.nanoTime() + stickyNanos);
+        }
+    }
+
+    public void pin(String session) {
+        Long deadline = writeDeadlines.get(session);
+        if (deadline == null) {
+            return;
+        }
+        if (deadline - System.nanoTime() > 0) {
+            pinned.set(Boolean.TRUE);
+        } else {
+            writeDeadlines.remove(session, deadline);
+        }
+    }
+
+    public void unpin() {
+        pinned.remove();
+    }
+
+    public boolean isPinned() {
+        return pinned.get() != null;
+    }
+
+    public int trackedSessions() {
+        return writeDeadlines.size();
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica.read-your-writes-cleanup-ms:60000}")
+    public void evictExpired() {
+        long now = System.nanoTime();
+        writeDeadlines.values().removeIf(deadline -> deadline - now <= 0);
+    }
+}
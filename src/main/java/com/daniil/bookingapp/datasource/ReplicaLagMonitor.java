@@ -0,0 +1,84 @@
+package com.daniil.bookingapp.datasource;
+
+import com.daniil.bookingapp.util.ThreadUtil;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@Slf4j
+public class ReplicaLagMonitor {
+    private static final String LAG_QUERY = """
+            SELECT CASE
+                       WHEN NOT pg_is_in_recovery() THEN 0
+                       WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                       ELSE COALESCE(EXTRACT(EPOCH FROM now()
+                               - pg_last_xact_replay_timestamp()) * 1000, 0)
+                   END
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long maxLagMs;
+    private final long checkIntervalMs;
+    private volatile long lagMs = -1;
+    private volatile boolean usable;
+    private ScheduledExecutorService scheduler;
+
+    public ReplicaLagMonitor(DataSource monitorDataSource, long maxLagMs, long checkIntervalMs,
+                             int queryTimeoutSeconds, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = new JdbcTemplate(monitorDataSource);
+        this.jdbcTemplate.setQueryTimeout(queryTimeoutSeconds);
+        this.maxLagMs = maxLagMs;
+        this.checkIntervalMs = checkIntervalMs;
+        Gauge.builder("datasource.replica.lag", this, monitor -> monitor.lagMs)
+                .description("Replication lag of the read replica, -1 when unreachable")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        Gauge.builder("datasource.replica.usable", this, monitor -> monitor.usable ? 1 : 0)
+                .description("Whether read-only transactions are routed to the replica")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(
+                ThreadUtil.factory("replica-lag-", false));
+        scheduler.scheduleWithFixedDelay(this::check, 0, checkIntervalMs,
+                TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    public void check() {
+        boolean wasUsable = usable;
+        try {
+            Number lag = jdbcTemplate.queryForObject(LAG_QUERY, Number.class);
+            lagMs = lag == null ? 0 : lag.longValue();
+            usable = lagMs <= maxLagMs;
+        } catch (RuntimeException e) {
+            log.debug("Replica lag check failed", e);
+            lagMs = -1;
+            usable = false;
+        }
+
+        if (wasUsable && !usable) {
+            log.warn("Read replica disabled, lag {} ms exceeds {} ms or replica is unreachable;"
+                    + " routing reads to primary", lagMs, maxLagMs);
+        } else if (!wasUsable && usable) {
+            log.info("Read replica enabled, lag {} ms", lagMs);
+        }
+    }
+
+    public boolean isUsable() {
+        return usable;
+    }
+}
@@ -0,0 +1,33 @@
+package com.daniil.bookingapp.datasource;
+
+import java.util.Map;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+    private static final String PRIMARY = "primary";
+    private static final String REPLICA = "replica";
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final ReadYourWritesTracker readYourWritesTracker;
+
+    public ReplicaRoutingDataSource(
+            DataSource primaryDataSource,
+            DataSource replicaDataSource,
+            ReplicaLagMonitor lagMonitor,
+            ReadYourWritesTracker readYourWritesTracker
+    ) {
+        this.lagMonitor = lagMonitor;
+        this.readYourWritesTracker = readYourWritesTracker;
+        setTargetDataSources(Map.of(PRIMARY, primaryDataSource, REPLICA, replicaDataSource));
+        setDefaultTargetDataSource(primaryDataSource);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (readYourWritesTracker.isPinned() || !lagMonitor.isUsable()) {
+            return PRIMARY;
+        }
+        return REPLICA;
+    }
+}
@@ -0,0 +1,15 @@
+package com.daniil.bookingapp.dto.accommodation;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccommodationImportErrorDto {
+    private long row;
+    private String message;
+}
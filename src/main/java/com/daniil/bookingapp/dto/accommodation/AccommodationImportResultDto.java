@@ -0,0 +1,19 @@
+package com.daniil.bookingapp.dto.accommodation;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccommodationImportResultDto {
+    private long totalRows;
+    private long importedCount;
+    private long failedCount;
+    private boolean errorsTruncated;
+    private List<AccommodationImportErrorDto> errors;
+}
@@ -21,6 +21,8 @@ public class AccommodationResponseDto {
     private List<String> amenities;
     private BigDecimal dailyRate;
     private Integer availability;
+    private Double latitude;
+    private Double longitude;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 }
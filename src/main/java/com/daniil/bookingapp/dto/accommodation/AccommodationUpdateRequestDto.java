@@ -1,6 +1,7 @@
 package com.daniil.bookingapp.dto.accommodation;
 
 import com.daniil.bookingapp.model.enums.AccommodationType;
+import jakarta.validation.constraints.DecimalMax;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Positive;
 import java.math.BigDecimal;
@@ -25,4 +26,12 @@ public class AccommodationUpdateRequestDto {
 
     @Positive(message = "Availability must be positive")
     private Integer availability;
+
+    @DecimalMin(value = "-90.0", message = "Latitude must be between -90 and 90")
+    @DecimalMax(value = "90.0", message = "Latitude must be between -90 and 90")
+    private Double latitude;
+
+    @DecimalMin(value = "-180.0", message = "Longitude must be between -180 and 180")
+    @DecimalMax(value = "180.0", message = "Longitude must be between -180 and 180")
+    private Double longitude;
 }
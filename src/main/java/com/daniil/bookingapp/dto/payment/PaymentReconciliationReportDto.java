@@ -0,0 +1,24 @@
+package com.daniil.bookingapp.dto.payment;
+
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentReconciliationReportDto {
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private long durationMs;
+    private long scanned;
+    private long matched;
+    private long markedPaid;
+    private long markedExpired;
+    private long conflicts;
+    private long missing;
+    private long failed;
+}
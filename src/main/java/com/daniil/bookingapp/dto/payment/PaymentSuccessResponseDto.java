@@ -1,5 +1,6 @@
 package com.daniil.bookingapp.dto.payment;
 
+import com.daniil.bookingapp.model.enums.PaymentStatus;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import lombok.AllArgsConstructor;
@@ -14,6 +15,7 @@ import lombok.NoArgsConstructor;
 public class PaymentSuccessResponseDto {
     private Long paymentId;
     private Long bookingId;
+    private PaymentStatus status;
     private BigDecimal amountPaid;
     private LocalDateTime paidAt;
 }
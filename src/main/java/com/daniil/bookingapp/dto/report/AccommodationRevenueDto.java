@@ -0,0 +1,15 @@
+package com.daniil.bookingapp.dto.report;
+
+import java.math.BigDecimal;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccommodationRevenueDto {
+    private Long accommodationId;
+    private BigDecimal revenue;
+    private Long paymentsCount;
+}
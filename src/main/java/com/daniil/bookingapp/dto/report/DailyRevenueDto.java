@@ -0,0 +1,16 @@
+package com.daniil.bookingapp.dto.report;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyRevenueDto {
+    private LocalDate day;
+    private BigDecimal revenue;
+    private Long paymentsCount;
+}
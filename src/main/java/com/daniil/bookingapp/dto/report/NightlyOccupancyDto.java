@@ -0,0 +1,14 @@
+package com.daniil.bookingapp.dto.report;
+
+import java.time.LocalDate;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NightlyOccupancyDto {
+    private LocalDate night;
+    private Long bookedUnits;
+}
@@ -0,0 +1,11 @@
+package com.daniil.bookingapp.event;
+
+import com.daniil.bookingapp.model.enums.AccommodationType;
+
+public record AccommodationLocationChangedEvent(
+        Long accommodationId,
+        Double latitude,
+        Double longitude,
+        AccommodationType type
+) {
+}
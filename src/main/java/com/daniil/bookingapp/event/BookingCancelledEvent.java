@@ -0,0 +1,4 @@
+package com.daniil.bookingapp.event;
+
+public record BookingCancelledEvent(Long bookingId, Long accommodationId, boolean wasPaid) {
+}
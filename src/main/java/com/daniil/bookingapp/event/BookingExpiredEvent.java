@@ -0,0 +1,4 @@
+package com.daniil.bookingapp.event;
+
+public record BookingExpiredEvent(Long bookingId, Long accommodationId) {
+}
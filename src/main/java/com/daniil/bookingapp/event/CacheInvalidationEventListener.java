@@ -0,0 +1,27 @@
+package com.daniil.bookingapp.event;
+
+import com.daniil.bookingapp.coalescing.RequestCoalescer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+@RequiredArgsConstructor
+public class CacheInvalidationEventListener {
+    private final RequestCoalescer requestCoalescer;
+
+    @TransactionalEventListener
+    public void onBookingCreated(BookingCreatedEvent event) {
+        requestCoalescer.invalidateAll();
+    }
+
+    @TransactionalEventListener
+    public void onBookingCancelled(BookingCancelledEvent event) {
+        requestCoalescer.invalidateAll();
+    }
+
+    @TransactionalEventListener
+    public void onBookingExpired(BookingExpiredEvent event) {
+        requestCoalescer.invalidateAll();
+    }
+}
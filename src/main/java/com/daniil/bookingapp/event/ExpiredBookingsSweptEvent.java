@@ -0,0 +1,4 @@
+package com.daniil.bookingapp.event;
+
+public record ExpiredBookingsSweptEvent(int expiredCount) {
+}
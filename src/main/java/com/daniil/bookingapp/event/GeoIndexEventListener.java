@@ -0,0 +1,23 @@
+package com.daniil.bookingapp.event;
+
+import com.daniil.bookingapp.geo.AccommodationGeoIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+@RequiredArgsConstructor
+public class GeoIndexEventListener {
+    private final AccommodationGeoIndex geoIndex;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLocationChanged(AccommodationLocationChangedEvent event) {
+        geoIndex.index(event.accommodationId(), event.latitude(), event.longitude(),
+                event.type());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDeleted(AccommodationDeletedEvent event) {
+        geoIndex.remove(event.accommodationId());
+    }
+}
@@ -0,0 +1,82 @@
+package com.daniil.bookingapp.event;
+
+import com.daniil.bookingapp.config.AsyncConfig;
+import com.daniil.bookingapp.repository.AccommodationRepository;
+import com.daniil.bookingapp.repository.BookingRepository;
+import com.daniil.bookingapp.repository.PaymentRepository;
+import com.daniil.bookingapp.service.NotificationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NotificationEventListener {
+    private final BookingRepository bookingRepository;
+    private final PaymentRepository paymentRepository;
+    private final AccommodationRepository accommodationRepository;
+    private final NotificationService notificationService;
+
+    @Async(AsyncConfig.EVENT_EXECUTOR)
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onBookingCreated(BookingCreatedEvent event) {
+        bookingRepository.findById(event.bookingId())
+                .ifPresent(notificationService::sendBookingCreatedNotification);
+    }
+
+    @Async(AsyncConfig.EVENT_EXECUTOR)
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onBookingCancelled(BookingCancelledEvent event) {
+        bookingRepository.findById(event.bookingId())
+                .ifPresent(notificationService::sendBookingCancelledNotification);
+    }
+
+    @Async(AsyncConfig.EVENT_EXECUTOR)
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onBookingExpired(BookingExpiredEvent event) {
+        accommodationRepository.findById(event.accommodationId())
+                .ifPresent(notificationService::sendAccommodationReleasedNotification);
+    }
+
+    @Async(AsyncConfig.EVENT_EXECUTOR)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onExpiredBookingsSwept(ExpiredBookingsSweptEvent event) {
+        if (event.expiredCount() == 0) {
+            notificationService.sendNoExpiredBookingsNotification();
+            return;
+        }
+        notificationService.sendExpiredBookingsNotification(event.expiredCount());
+    }
+
+    @Async(AsyncConfig.EVENT_EXECUTOR)
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onPaymentCreated(PaymentCreatedEvent event) {
+        paymentRepository.findById(event.paymentId())
+                .ifPresent(notificationService::sendPaymentCreatedNotification);
+    }
+
+    @Async(AsyncConfig.EVENT_EXECUTOR)
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onPaymentSucceeded(PaymentSucceededEvent event) {
+        paymentRepository.findById(event.paymentId())
+                .ifPresent(notificationService::sendPaymentSuccessNotification);
+    }
+
+    @Async(AsyncConfig.EVENT_EXECUTOR)
+    @TransactionalEventListener(fallbackExecution = true, condition = "!#event.imported()")
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onAccommodationCreated(AccommodationCreatedEvent event) {
+        accommodationRepository.findById(event.accommodationId())
+                .ifPresent(notificationService::sendAccommodationCreatedNotification);
+    }
+}
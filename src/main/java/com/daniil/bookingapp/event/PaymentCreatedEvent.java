@@ -0,0 +1,4 @@
+package com.daniil.bookingapp.event;
+
+public record PaymentCreatedEvent(Long paymentId, Long bookingId) {
+}
@@ -0,0 +1,4 @@
+package com.daniil.bookingapp.event;
+
+public record PaymentSucceededEvent(Long paymentId, Long bookingId, Long accommodationId) {
+}
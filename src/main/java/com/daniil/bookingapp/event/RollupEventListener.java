@@ -0,0 +1,31 @@
+package com.daniil.bookingapp.event;
+
+import com.daniil.bookingapp.repository.BookingRepository;
+import com.daniil.bookingapp.repository.PaymentRepository;
+import com.daniil.bookingapp.service.ReportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+@RequiredArgsConstructor
+public class RollupEventListener {
+    private final PaymentRepository paymentRepository;
+    private final BookingRepository bookingRepository;
+    private final ReportService reportService;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onPaymentSucceeded(PaymentSucceededEvent event) {
+        reportService.recordPaidBooking(paymentRepository.getReferenceById(event.paymentId()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onBookingCancelled(BookingCancelledEvent event) {
+        if (event.wasPaid()) {
+            reportService.recordCancelledBooking(
+                    bookingRepository.getReferenceById(event.bookingId())
+            );
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.daniil.bookingapp.exception;
+
+public class CheckoutSessionNotFoundException extends PaymentDeclinedException {
+    public CheckoutSessionNotFoundException(String message) {
+        super(message);
+    }
+}
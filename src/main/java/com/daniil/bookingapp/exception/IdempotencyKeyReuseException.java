@@ -0,0 +1,7 @@
+package com.daniil.bookingapp.exception;
+
+public class IdempotencyKeyReuseException extends RuntimeException {
+    public IdempotencyKeyReuseException(String message) {
+        super(message);
+    }
+}
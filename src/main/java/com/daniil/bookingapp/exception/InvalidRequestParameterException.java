@@ -0,0 +1,7 @@
+package com.daniil.bookingapp.exception;
+
+public class InvalidRequestParameterException extends RuntimeException {
+    public InvalidRequestParameterException(String message) {
+        super(message);
+    }
+}
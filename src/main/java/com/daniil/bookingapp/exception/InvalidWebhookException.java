@@ -0,0 +1,7 @@
+package com.daniil.bookingapp.exception;
+
+public class InvalidWebhookException extends RuntimeException {
+    public InvalidWebhookException(String message) {
+        super(message);
+    }
+}
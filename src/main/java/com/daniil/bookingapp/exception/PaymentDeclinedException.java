@@ -0,0 +1,7 @@
+package com.daniil.bookingapp.exception;
+
+public class PaymentDeclinedException extends BookingException {
+    public PaymentDeclinedException(String message) {
+        super(message);
+    }
+}
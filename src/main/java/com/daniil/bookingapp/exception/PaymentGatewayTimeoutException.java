@@ -0,0 +1,7 @@
+package com.daniil.bookingapp.exception;
+
+public class PaymentGatewayTimeoutException extends PaymentGatewayException {
+    public PaymentGatewayTimeoutException(String message) {
+        super(message);
+    }
+}
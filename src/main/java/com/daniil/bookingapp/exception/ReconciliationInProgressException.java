@@ -0,0 +1,7 @@
+package com.daniil.bookingapp.exception;
+
+public class ReconciliationInProgressException extends IllegalStateException {
+    public ReconciliationInProgressException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,16 @@
+package com.daniil.bookingapp.gateway;
+
+import java.util.Map;
+
+public record CheckoutRequest(
+        String successUrl,
+        String cancelUrl,
+        long expiresAtEpochSecond,
+        String currency,
+        long amountInCents,
+        String productName,
+        String productDescription,
+        String customerEmail,
+        Map<String, String> metadata
+) {
+}
@@ -0,0 +1,17 @@
+package com.daniil.bookingapp.gateway;
+
+public record CheckoutSession(
+        String id,
+        String url,
+        String status,
+        String paymentStatus,
+        String paymentIntentId
+) {
+    public boolean isPaid() {
+        return "complete".equals(status) && "paid".equals(paymentStatus);
+    }
+
+    public boolean isExpired() {
+        return "expired".equals(status);
+    }
+}
@@ -0,0 +1,112 @@
+package com.daniil.bookingapp.gateway;
+
+import com.daniil.bookingapp.exception.CheckoutSessionNotFoundException;
+import com.daniil.bookingapp.exception.PaymentGatewayException;
+import com.daniil.bookingapp.gateway.GatewayGuard.Lane;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "payment.gateway.type", havingValue = "fake")
+public class FakePaymentGateway implements PaymentGateway {
+    private static final String SESSION_ID_PREFIX = "cs_fake_";
+    private static final int MAX_SESSIONS = 100_000;
+
+    private final GatewayGuard gatewayGuard;
+    private final Map<String, CheckoutSession> sessions = new ConcurrentHashMap<>();
+
+    @Value("${payment.gateway.fake.latency-ms:150}")
+    private long latencyMs;
+
+    @Value("${payment.gateway.fake.jitter-ms:50}")
+    private long jitterMs;
+
+    @Value("${payment.gateway.fake.error-rate:0.0}")
+    private double errorRate;
+
+    @Value("${payment.gateway.read-timeout-ms:5000}")
+    private long readTimeoutMs;
+
+    @Value("${app.base-url:http://localhost:8080}")
+    private String baseUrl;
+
+    @Override
+    public CheckoutSession createCheckoutSession(CheckoutRequest request) {
+        return gatewayGuard.call(Lane.CHECKOUT, "createCheckoutSession", () -> {
+            simulateNetwork();
+            String id = SESSION_ID_PREFIX + UUID.randomUUID().toString().replace("-", "");
+            CheckoutSession session = new CheckoutSession(
+                    id,
+                    baseUrl + "/fake-checkout/" + id,
+                    "open",
+                    "unpaid",
+                    null
+            );
+            if (sessions.size() >= MAX_SESSIONS) {
+                sessions.clear();
+            }
+            sessions.put(id, session);
+            return session;
+        });
+    }
+
+    @Override
+    public CheckoutSession retrieveCheckoutSession(String sessionId) {
+        return gatewayGuard.call(Lane.RECONCILIATION, "retrieveCheckoutSession", () -> {
+            simulateNetwork();
+            CheckoutSession session = sessions.get(sessionId);
+            if (session == null) {
+                throw new CheckoutSessionNotFoundException(
+                        "Checkout session not found: " + sessionId
+                );
+            }
+            return session;
+        });
+    }
+
+    @Override
+    public CheckoutSession expireCheckoutSession(String sessionId) {
+        return gatewayGuard.call(Lane.CHECKOUT, "expireCheckoutSession", () -> {
+            simulateNetwork();
+            CheckoutSession session = sessions.computeIfPresent(sessionId, (id, current) ->
+                    new CheckoutSession(id, current.url(), "expired", current.paymentStatus(),
+                            current.paymentIntentId()));
+            if (session == null) {
+                throw new CheckoutSessionNotFoundException(
+                        "Checkout session not found: " + sessionId
+                );
+            }
+            return session;
+        });
+    }
+
+    private void simulateNetwork() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long delay = latencyMs + (jitterMs > 0 ? random.nextLong(jitterMs + 1) : 0);
+        sleep(Math.min(delay, readTimeoutMs));
+        if (delay > readTimeoutMs) {
+            throw new PaymentGatewayException("Fake payment provider timed out");
+        }
+        if (random.nextDouble() < errorRate) {
+            throw new PaymentGatewayException("Fake payment provider failure");
+        }
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PaymentGatewayException("Interrupted while calling payment provider", e);
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package com.daniil.bookingapp.gateway;
+
+import com.daniil.bookingapp.exception.PaymentDeclinedException;
+import com.daniil.bookingapp.exception.PaymentGatewayException;
+import com.daniil.bookingapp.exception.PaymentGatewayTimeoutException;
+import com.daniil.bookingapp.resilience.CircuitBreaker;
+import com.daniil.bookingapp.util.ThreadUtil;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GatewayGuard {
+    private final MeterRegistry meterRegistry;
+    private final Map<Lane, Compartment> compartments = new EnumMap<>(Lane.class);
+
+    @Value("${payment.gateway.max-concurrent-calls:20}")
+    private int maxConcurrentCalls;
+
+    @Value("${payment.gateway.bulkhead-wait-ms:100}")
+    private long bulkheadWaitMs;
+
+    @Value("${payment.gateway.reconciliation.max-concurrent-calls:8}")
+    private int reconciliationMaxConcurrentCalls;
+
+    @Value("${payment.gateway.reconciliation.bulkhead-wait-ms:2000}")
+    private long reconciliationBulkheadWaitMs;
+
+    @Value("${payment.gateway.circuit.failure-rate-threshold:50}")
+    private double failureRateThreshold;
+
+    @Value("${payment.gateway.circuit.window-size:20}")
+    private int windowSize;
+
+    @Value("${payment.gateway.circuit.minimum-calls:10}")
+    private int minimumCalls;
+
+    @Value("${payment.gateway.circuit.open-duration-ms:30000}")
+    private long openDurationMs;
+
+    @Value("${payment.gateway.call-timeout-ms:9000}")
+    private long callTimeoutMs;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private ExecutorService callExecutor;
+
+    @PostConstruct
+    public void init() {
+        callExecutor = Executors.newThreadPerTaskExecutor(
+                ThreadUtil.factory("payment-gateway-", virtualThreads));
+        compartments.put(Lane.CHECKOUT,
+                new Compartment(Lane.CHECKOUT, maxConcurrentCalls, bulkheadWaitMs));
+        compartments.put(Lane.RECONCILIATION, new Compartment(
+                Lane.RECONCILIATION,
+                reconciliationMaxConcurrentCalls,
+                reconciliationBulkheadWaitMs
+        ));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        callExecutor.shutdownNow();
+    }
+
+    public <T> T call(Lane lane, String operation, Supplier<T> call) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(callTimeoutMs);
+        Compartment compartment = compartments.get(lane);
+        CircuitBreaker circuitBreaker = compartment.circuitBreaker;
+        Optional<CircuitBreaker.Permit> permission = circuitBreaker.tryAcquirePermission();
+        if (permission.isEmpty()) {
+            compartment.circuitRejections.increment();
+            countRejection(lane, "circuit_open");
+            throw new PaymentGatewayException(
+                    "Payment provider is temporarily unavailable, please retry later"
+            );
+        }
+        CircuitBreaker.Permit permit = permission.get();
+
+        boolean acquired;
+        try {
+            acquired = compartment.bulkhead.tryAcquire(compartment.waitMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            circuitBreaker.releasePermission(permit);
+            throw new PaymentGatewayException("Interrupted while waiting for payment provider", e);
+        }
+        if (!acquired) {
+            circuitBreaker.releasePermission(permit);
+            compartment.bulkheadRejections.increment();
+            countRejection(lane, "bulkhead_full");
+            throw new PaymentGatewayException(
+                    "Too many concurrent payment requests, please retry later"
+            );
+        }
+
+        compartment.calls.increment();
+        long start = System.nanoTime();
+        String outcome = "success";
+        try {
+            T result = withinDeadline(operation, call, deadline);
+            compartment.successes.increment();
+            circuitBreaker.onSuccess(permit);
+            return result;
+        } catch (PaymentDeclinedException e) {
+            outcome = "declined";
+            circuitBreaker.onSuccess(permit);
+            throw e;
+        } catch (RuntimeException e) {
+            outcome = e instanceof PaymentGatewayTimeoutException ? "timeout" : "failure";
+            compartment.failures.increment();
+            circuitBreaker.onFailure(permit);
+            log.warn("Payment gateway {} failed: {}", operation, e.getMessage());
+            throw e;
+        } finally {
+            long latency = System.nanoTime() - start;
+            compartment.latencyNanos.add(latency);
+            Timer.builder("payment.gateway.calls")
+                    .description("Payment provider call latency")
+                    .tag("lane", lane.tag())
+                    .tag("operation", operation)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .record(latency, TimeUnit.NANOSECONDS);
+            circuitBreaker.releasePermission(permit);
+            compartment.bulkhead.release();
+        }
+    }
+
+    private <T> T withinDeadline(String operation, Supplier<T> call, long deadline) {
+        Future<T> future = callExecutor.submit(call::get);
+        try {
+            return future.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new PaymentGatewayTimeoutException("Payment provider did not answer " + operation
+                    + " within " + callTimeoutMs + " ms");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PaymentGatewayException("Interrupted while waiting for payment provider", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new PaymentGatewayException("Payment provider call failed", e.getCause());
+        }
+    }
+
+    public GatewayStats getStats(Lane lane) {
+        Compartment compartment = compartments.get(lane);
+        long totalCalls = compartment.calls.sum();
+        double averageLatencyMs = totalCalls == 0
+                ? 0.0
+                : compartment.latencyNanos.sum() / (double) totalCalls / 1_000_000;
+        return new GatewayStats(
+                totalCalls,
+                compartment.successes.sum(),
+                compartment.failures.sum(),
+                compartment.bulkheadRejections.sum(),
+                compartment.circuitRejections.sum(),
+                compartment.maxConcurrentCalls - compartment.bulkhead.availablePermits(),
+                averageLatencyMs,
+                compartment.circuitBreaker.getState()
+        );
+    }
+
+    private void countRejection(Lane lane, String reason) {
+        meterRegistry.counter("payment.gateway.rejections", "lane", lane.tag(), "reason", reason)
+                .increment();
+    }
+
+    public enum Lane {
+        CHECKOUT,
+        RECONCILIATION;
+
+        private String tag() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private final class Compartment {
+        private final int maxConcurrentCalls;
+        private final long waitMs;
+        private final Semaphore bulkhead;
+        private final CircuitBreaker circuitBreaker;
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder successes = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder bulkheadRejections = new LongAdder();
+        private final LongAdder circuitRejections = new LongAdder();
+        private final LongAdder latencyNanos = new LongAdder();
+
+        private Compartment(Lane lane, int maxConcurrentCalls, long waitMs) {
+            this.maxConcurrentCalls = maxConcurrentCalls;
+            this.waitMs = waitMs;
+            this.bulkhead = new Semaphore(maxConcurrentCalls);
+            this.circuitBreaker = new CircuitBreaker(
+                    windowSize,
+                    minimumCalls,
+                    failureRateThreshold,
+                    Duration.ofMillis(openDurationMs)
+            );
+            Gauge.builder("payment.gateway.in.flight", bulkhead,
+                            semaphore -> maxConcurrentCalls - semaphore.availablePermits())
+                    .description("Payment provider calls currently in flight")
+                    .tag("lane", lane.tag())
+                    .register(meterRegistry);
+            Gauge.builder("payment.gateway.circuit.state", circuitBreaker,
+                            breaker -> breaker.getState().ordinal())
+                    .description("Circuit breaker state: 0 closed, 1 open, 2 half-open")
+                    .tag("lane", lane.tag())
+                    .register(meterRegistry);
+        }
+    }
+}
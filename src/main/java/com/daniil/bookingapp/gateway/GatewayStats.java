@@ -0,0 +1,15 @@
+package com.daniil.bookingapp.gateway;
+
+import com.daniil.bookingapp.resilience.CircuitBreaker;
+
+public record GatewayStats(
+        long calls,
+        long successes,
+        long failures,
+        long bulkheadRejections,
+        long circuitRejections,
+        int activeCalls,
+        double averageLatencyMs,
+        CircuitBreaker.State circuitState
+) {
+}
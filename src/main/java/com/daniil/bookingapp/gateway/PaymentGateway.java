@@ -0,0 +1,9 @@
+package com.daniil.bookingapp.gateway;
+
+public interface PaymentGateway {
+    CheckoutSession createCheckoutSession(CheckoutRequest request);
+
+    CheckoutSession retrieveCheckoutSession(String sessionId);
+
+    CheckoutSession expireCheckoutSession(String sessionId);
+}
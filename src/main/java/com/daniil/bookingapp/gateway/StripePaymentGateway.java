@@ -0,0 +1,161 @@
+package com.daniil.bookingapp.gateway;
+
+import com.daniil.bookingapp.exception.CheckoutSessionNotFoundException;
+import com.daniil.bookingapp.exception.PaymentDeclinedException;
+import com.daniil.bookingapp.exception.PaymentGatewayException;
+import com.daniil.bookingapp.gateway.GatewayGuard.Lane;
+import com.stripe.exception.ApiConnectionException;
+import com.stripe.exception.AuthenticationException;
+import com.stripe.exception.PermissionException;
+import com.stripe.exception.RateLimitException;
+import com.stripe.exception.StripeException;
+import com.stripe.model.checkout.Session;
+import com.stripe.net.RequestOptions;
+import com.stripe.param.checkout.SessionCreateParams;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "payment.gateway.type", havingValue = "stripe", matchIfMissing = true)
+public class StripePaymentGateway implements PaymentGateway {
+    private static final int NOT_FOUND_STATUS = 404;
+    private static final int SERVER_ERROR_STATUS = 500;
+
+    private final GatewayGuard gatewayGuard;
+
+    @Value("${payment.gateway.connect-timeout-ms:1000}")
+    private int connectTimeoutMs;
+
+    @Value("${payment.gateway.read-timeout-ms:3000}")
+    private int readTimeoutMs;
+
+    @Value("${payment.gateway.max-network-retries:1}")
+    private int maxNetworkRetries;
+
+    @Value("${payment.gateway.call-timeout-ms:9000}")
+    private long callTimeoutMs;
+
+    private RequestOptions requestOptions;
+
+    @PostConstruct
+    public void init() {
+        long attemptBudgetMs = callTimeoutMs / (maxNetworkRetries + 1);
+        int readTimeout = (int) Math.max(1,
+                Math.min(readTimeoutMs, attemptBudgetMs - connectTimeoutMs));
+        if (readTimeout < readTimeoutMs) {
+            log.warn("Stripe read timeout lowered from {} ms to {} ms so {} attempts fit the "
+                            + "{} ms call timeout", readTimeoutMs, readTimeout,
+                    maxNetworkRetries + 1, callTimeoutMs);
+        }
+        requestOptions = RequestOptions.builder()
+                .setConnectTimeout(connectTimeoutMs)
+                .setReadTimeout(readTimeout)
+                .setMaxNetworkRetries(maxNetworkRetries)
+                .build();
+    }
+
+    @Override
+    public CheckoutSession createCheckoutSession(CheckoutRequest request) {
+        return gatewayGuard.call(Lane.CHECKOUT, "createCheckoutSession", () -> {
+            try {
+                return toCheckoutSession(Session.create(toParams(request), requestOptions));
+            } catch (StripeException e) {
+                throw translate(e);
+            }
+        });
+    }
+
+    @Override
+    public CheckoutSession retrieveCheckoutSession(String sessionId) {
+        return gatewayGuard.call(Lane.RECONCILIATION, "retrieveCheckoutSession", () -> {
+            try {
+                return toCheckoutSession(Session.retrieve(sessionId, requestOptions));
+            } catch (StripeException e) {
+                throw translate(e);
+            }
+        });
+    }
+
+    @Override
+    public CheckoutSession expireCheckoutSession(String sessionId) {
+        return gatewayGuard.call(Lane.CHECKOUT, "expireCheckoutSession", () -> {
+            Session session = new Session();
+            session.setId(sessionId);
+            try {
+                return toCheckoutSession(session.expire(requestOptions));
+            } catch (StripeException e) {
+                throw translate(e);
+            }
+        });
+    }
+
+    private RuntimeException translate(StripeException e) {
+        Integer status = e.getStatusCode();
+        if (e instanceof ApiConnectionException
+                || e instanceof RateLimitException
+                || e instanceof AuthenticationException
+                || e instanceof PermissionException
+                || status == null
+                || status >= SERVER_ERROR_STATUS) {
+            return new PaymentGatewayException(
+                    "Payment provider is unavailable: " + e.getMessage(), e
+            );
+        }
+        if (status == NOT_FOUND_STATUS) {
+            return new CheckoutSessionNotFoundException(
+                    "Checkout session not found at payment provider: " + e.getMessage()
+            );
+        }
+        log.error("Stripe rejected request: {}", e.getMessage());
+        return new PaymentDeclinedException(
+                "Payment provider rejected the request: " + e.getMessage()
+        );
+    }
+
+    private CheckoutSession toCheckoutSession(Session session) {
+        return new CheckoutSession(
+                session.getId(),
+                session.getUrl(),
+                session.getStatus(),
+                session.getPaymentStatus(),
+                session.getPaymentIntent()
+        );
+    }
+
+    private SessionCreateParams toParams(CheckoutRequest request) {
+        return SessionCreateParams.builder()
+                .setMode(SessionCreateParams.Mode.PAYMENT)
+                .setSuccessUrl(request.successUrl())
+                .setCancelUrl(request.cancelUrl())
+                .setExpiresAt(request.expiresAtEpochSecond())
+                .addLineItem(
+                        SessionCreateParams.LineItem.builder()
+                                .setPriceData(
+                                        SessionCreateParams.LineItem.PriceData.builder()
+                                                .setCurrency(request.currency())
+                                                .setUnitAmount(request.amountInCents())
+                                                .setProductData(
+                                                        SessionCreateParams.LineItem.PriceData
+                                                                .ProductData.builder()
+                                                                .setName(request.productName())
+                                                                .setDescription(
+                                                                        request.productDescription()
+                                                                )
+                                                                .build()
+                                                )
+                                                .build()
+                                )
+                                .setQuantity(1L)
+                                .build()
+                )
+                .setCustomerEmail(request.customerEmail())
+                .putAllMetadata(request.metadata())
+                .build();
+    }
+}
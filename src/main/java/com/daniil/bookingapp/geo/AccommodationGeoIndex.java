@@ -0,0 +1,282 @@
+package com.daniil.bookingapp.geo;
+
+import com.daniil.bookingapp.exception.InvalidRequestParameterException;
+import com.daniil.bookingapp.model.enums.AccommodationType;
+import com.daniil.bookingapp.repository.AccommodationRepository;
+import com.daniil.bookingapp.repository.projection.AccommodationLocationView;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AccommodationGeoIndex {
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double KM_PER_DEGREE = 111.32;
+    private static final double MAX_LATITUDE = 90.0;
+    private static final double MAX_LONGITUDE = 180.0;
+
+    private final AccommodationRepository accommodationRepository;
+    private final Map<Long, Set<Long>> cells = new ConcurrentHashMap<>();
+    private final Map<Long, IndexedAccommodation> entries = new ConcurrentHashMap<>();
+
+    @Value("${app.geo.cell-size-degrees:0.1}")
+    private double cellSizeDegrees;
+
+    @Value("${app.geo.max-radius-km:100}")
+    private double maxRadiusKm;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        cells.clear();
+        entries.clear();
+
+        List<AccommodationLocationView> locations = accommodationRepository.findAllLocations();
+        locations.forEach(location -> put(
+                location.getId(),
+                location.getLatitude(),
+                location.getLongitude(),
+                location.getType()
+        ));
+
+        log.info("Geo index built: {} accommodations in {} cells", entries.size(), cells.size());
+    }
+
+    public void index(Long id, Double latitude, Double longitude, AccommodationType type) {
+        if (latitude == null || longitude == null) {
+            remove(id);
+            return;
+        }
+        put(id, latitude, longitude, type);
+    }
+
+    public void remove(Long id) {
+        entries.computeIfPresent(id, (key, previous) -> {
+            removeFromCell(previous.cell(), key);
+            return null;
+        });
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public List<Long> findWithinRadius(
+            double latitude,
+            double longitude,
+            double radiusKm,
+            AccommodationType type
+    ) {
+        validateCoordinates(latitude, longitude);
+        if (radiusKm <= 0 || radiusKm > maxRadiusKm) {
+            throw new InvalidRequestParameterException(
+                    "Radius must be greater than 0 and not exceed " + maxRadiusKm + " km"
+            );
+        }
+
+        double latitudeDelta = radiusKm / KM_PER_DEGREE;
+        double minLatitude = Math.max(-MAX_LATITUDE, latitude - latitudeDelta);
+        double maxLatitude = Math.min(MAX_LATITUDE, latitude + latitudeDelta);
+        double widestLatitude = Math.max(Math.abs(minLatitude), Math.abs(maxLatitude));
+        double cosine = Math.cos(Math.toRadians(widestLatitude));
+        double longitudeDelta = cosine <= 0
+                ? MAX_LONGITUDE
+                : Math.min(MAX_LONGITUDE, radiusKm / (KM_PER_DEGREE * cosine));
+
+        List<Candidate> matches = new ArrayList<>();
+        for (Long id : collectCandidates(minLatitude, maxLatitude,
+                longitude - longitudeDelta, longitude + longitudeDelta)) {
+            IndexedAccommodation entry = entries.get(id);
+            if (entry == null || !matchesType(entry, type)) {
+                continue;
+            }
+            double distance = distanceKm(latitude, longitude, entry.latitude(), entry.longitude());
+            if (distance <= radiusKm) {
+                matches.add(new Candidate(id, distance));
+            }
+        }
+
+        return matches.stream()
+                .sorted(Comparator.comparingDouble(Candidate::distanceKm)
+                        .thenComparingLong(Candidate::id))
+                .map(Candidate::id)
+                .toList();
+    }
+
+    public List<Long> findWithinBounds(
+            double minLatitude,
+            double minLongitude,
+            double maxLatitude,
+            double maxLongitude,
+            AccommodationType type
+    ) {
+        validateCoordinates(minLatitude, minLongitude);
+        validateCoordinates(maxLatitude, maxLongitude);
+        if (minLatitude > maxLatitude) {
+            throw new InvalidRequestParameterException(
+                    "Minimum latitude must not be greater than maximum latitude"
+            );
+        }
+
+        boolean crossesAntimeridian = minLongitude > maxLongitude;
+        double eastLongitude = crossesAntimeridian
+                ? maxLongitude + 2 * MAX_LONGITUDE : maxLongitude;
+
+        List<Long> matches = new ArrayList<>();
+        for (Long id : collectCandidates(minLatitude, maxLatitude, minLongitude, eastLongitude)) {
+            IndexedAccommodation entry = entries.get(id);
+            if (entry == null || !matchesType(entry, type)) {
+                continue;
+            }
+            boolean insideLongitude = crossesAntimeridian
+                    ? entry.longitude() >= minLongitude || entry.longitude() <= maxLongitude
+                    : entry.longitude() >= minLongitude && entry.longitude() <= maxLongitude;
+            if (insideLongitude
+                    && entry.latitude() >= minLatitude
+                    && entry.latitude() <= maxLatitude) {
+                matches.add(id);
+            }
+        }
+
+        matches.sort(Comparator.naturalOrder());
+        return matches;
+    }
+
+    private void put(Long id, double latitude, double longitude, AccommodationType type) {
+        long cell = cellKey(latitude, longitude);
+        entries.compute(id, (key, previous) -> {
+            if (previous != null && previous.cell() != cell) {
+                removeFromCell(previous.cell(), key);
+            }
+            cells.compute(cell, (cellId, ids) -> {
+                Set<Long> target = ids != null ? ids : ConcurrentHashMap.newKeySet();
+                target.add(key);
+                return target;
+            });
+            return new IndexedAccommodation(latitude, longitude, type, cell);
+        });
+    }
+
+    private void removeFromCell(long cell, Long id) {
+        cells.computeIfPresent(cell, (key, ids) -> {
+            ids.remove(id);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    private List<Long> collectCandidates(
+            double minLatitude,
+            double maxLatitude,
+            double westLongitude,
+            double eastLongitude
+    ) {
+        int longitudeCells = longitudeCellCount();
+        int firstRow = latitudeCell(minLatitude);
+        int lastRow = latitudeCell(maxLatitude);
+        int columns = eastLongitude - westLongitude >= 2 * MAX_LONGITUDE
+                ? longitudeCells
+                : Math.floorMod(longitudeCell(eastLongitude) - longitudeCell(westLongitude),
+                        longitudeCells) + 1;
+        long cellsToVisit = (long) (lastRow - firstRow + 1) * columns;
+
+        if (cellsToVisit > cells.size()) {
+            return scanOccupiedCells(firstRow, lastRow, longitudeCell(westLongitude), columns);
+        }
+
+        List<Long> candidates = new ArrayList<>();
+        int firstColumn = longitudeCell(westLongitude);
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int offset = 0; offset < columns; offset++) {
+                int column = Math.floorMod(firstColumn + offset, longitudeCells);
+                Set<Long> ids = cells.get((long) row * longitudeCells + column);
+                if (ids != null) {
+                    candidates.addAll(ids);
+                }
+            }
+        }
+        return candidates;
+    }
+
+    private List<Long> scanOccupiedCells(int firstRow, int lastRow, int firstColumn, int columns) {
+        int longitudeCells = longitudeCellCount();
+        List<Long> candidates = new ArrayList<>();
+        cells.forEach((cell, ids) -> {
+            int row = (int) (cell / longitudeCells);
+            int column = (int) (cell % longitudeCells);
+            if (row >= firstRow && row <= lastRow
+                    && Math.floorMod(column - firstColumn, longitudeCells) < columns) {
+                candidates.addAll(ids);
+            }
+        });
+        return candidates;
+    }
+
+    private long cellKey(double latitude, double longitude) {
+        return (long) latitudeCell(latitude) * longitudeCellCount() + longitudeCell(longitude);
+    }
+
+    private int latitudeCell(double latitude) {
+        int rows = (int) Math.ceil(2 * MAX_LATITUDE / cellSizeDegrees);
+        int row = (int) Math.floor((latitude + MAX_LATITUDE) / cellSizeDegrees);
+        return Math.min(Math.max(row, 0), rows - 1);
+    }
+
+    private int longitudeCell(double longitude) {
+        int column = (int) Math.floor((longitude + MAX_LONGITUDE) / cellSizeDegrees);
+        return Math.floorMod(column, longitudeCellCount());
+    }
+
+    private int longitudeCellCount() {
+        return (int) Math.ceil(2 * MAX_LONGITUDE / cellSizeDegrees);
+    }
+
+    private boolean matchesType(IndexedAccommodation entry, AccommodationType type) {
+        return type == null || entry.type() == type;
+    }
+
+    private void validateCoordinates(double latitude, double longitude) {
+        if (latitude < -MAX_LATITUDE || latitude > MAX_LATITUDE) {
+            throw new InvalidRequestParameterException("Latitude must be between -90 and 90");
+        }
+        if (longitude < -MAX_LONGITUDE || longitude > MAX_LONGITUDE) {
+            throw new InvalidRequestParameterException("Longitude must be between -180 and 180");
+        }
+    }
+
+    private static double distanceKm(
+            double fromLatitude,
+            double fromLongitude,
+            double toLatitude,
+            double toLongitude
+    ) {
+        double latitudeDelta = Math.toRadians(toLatitude - fromLatitude);
+        double longitudeDelta = Math.toRadians(toLongitude - fromLongitude);
+        double haversine = Math.sin(latitudeDelta / 2) * Math.sin(latitudeDelta / 2)
+                + Math.cos(Math.toRadians(fromLatitude)) * Math.cos(Math.toRadians(toLatitude))
+                * Math.sin(longitudeDelta / 2) * Math.sin(longitudeDelta / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(haversine)));
+    }
+
+    private record IndexedAccommodation(
+            double latitude,
+            double longitude,
+            AccommodationType type,
+            long cell
+    ) {
+    }
+
+    private record Candidate(long id, double distanceKm) {
+    }
+}
@@ -26,6 +26,8 @@ public interface AccommodationMapper {
             expression = "java(splitAmenities(accommodation.getAmenities()))")
     AccommodationResponseDto toDto(Accommodation accommodation);
 
+    AccommodationResponseDto copy(AccommodationResponseDto dto);
+
     @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "deleted", ignore = true)
@@ -0,0 +1,26 @@
+package com.daniil.bookingapp.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.HibernateMetrics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "spring.jpa.properties.hibernate.generate_statistics",
+        havingValue = "true")
+public class HibernateCacheMetrics implements MeterBinder {
+    private static final String SESSION_FACTORY_NAME = "entityManagerFactory";
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        HibernateMetrics.monitor(registry, entityManagerFactory.unwrap(SessionFactory.class),
+                SESSION_FACTORY_NAME);
+    }
+}
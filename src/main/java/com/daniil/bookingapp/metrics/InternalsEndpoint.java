@@ -0,0 +1,33 @@
+package com.daniil.bookingapp.metrics;
+
+import com.daniil.bookingapp.coalescing.RequestCoalescer;
+import com.daniil.bookingapp.gateway.GatewayGuard;
+import com.daniil.bookingapp.gateway.GatewayGuard.Lane;
+import com.daniil.bookingapp.notification.NotificationDispatcher;
+import com.daniil.bookingapp.notification.NotificationOutbox;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+@Component
+@Endpoint(id = "internals")
+@RequiredArgsConstructor
+public class InternalsEndpoint {
+    private final RequestCoalescer requestCoalescer;
+    private final GatewayGuard gatewayGuard;
+    private final NotificationOutbox notificationOutbox;
+    private final NotificationDispatcher notificationDispatcher;
+
+    @ReadOperation
+    public Map<String, Object> internals() {
+        return Map.of(
+                "coalescing", requestCoalescer.getStats(),
+                "paymentGateway", gatewayGuard.getStats(Lane.CHECKOUT),
+                "paymentReconciliationGateway", gatewayGuard.getStats(Lane.RECONCILIATION),
+                "notifications", notificationOutbox.getStats(),
+                "notificationChannels", notificationDispatcher.getStats()
+        );
+    }
+}
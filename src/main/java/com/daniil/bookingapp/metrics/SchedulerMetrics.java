@@ -0,0 +1,20 @@
+package com.daniil.bookingapp.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class SchedulerMetrics {
+    private final MeterRegistry meterRegistry;
+
+    public void recordRows(String task, long rows) {
+        Counter.builder("scheduler.rows.processed")
+                .description("Rows processed by scheduled jobs")
+                .tag("task", task)
+                .register(meterRegistry)
+                .increment(rows);
+    }
+}
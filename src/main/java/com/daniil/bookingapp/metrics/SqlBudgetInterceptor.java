@@ -0,0 +1,70 @@
+package com.daniil.bookingapp.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SqlBudgetInterceptor implements HandlerInterceptor {
+    private static final String UNKNOWN_URI = "UNKNOWN";
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.sql.statement-budget:20}")
+    private int statementBudget;
+
+    @Value("${app.sql.slow-jdbc-ms:200}")
+    private long slowJdbcMs;
+
+    @Override
+    public boolean preHandle(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            Object handler
+    ) {
+        SqlStatementCounter.start();
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            Object handler,
+            Exception exception
+    ) {
+        SqlStatementStats stats = SqlStatementCounter.stop();
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : UNKNOWN_URI;
+
+        DistributionSummary.builder("http.server.sql.statements")
+                .description("SQL statements issued per request")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(stats.statements());
+        Timer.builder("http.server.sql.time")
+                .description("Total JDBC execution time per request")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(stats.jdbcNanos(), TimeUnit.NANOSECONDS);
+
+        if (stats.statements() > statementBudget || stats.jdbcMillis() >= slowJdbcMs) {
+            log.warn("{} {} issued {} SQL statements in {} ms (budget {} statements, {} ms)",
+                    request.getMethod(), uri, stats.statements(), stats.jdbcMillis(),
+                    statementBudget, slowJdbcMs);
+        }
+    }
+}
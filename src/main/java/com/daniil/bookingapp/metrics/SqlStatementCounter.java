@@ -0,0 +1,44 @@
+package com.daniil.bookingapp.metrics;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+public final class SqlStatementCounter {
+    private static final ThreadLocal<Deque<Tally>> TALLIES =
+            ThreadLocal.withInitial(ArrayDeque::new);
+
+    private SqlStatementCounter() {
+    }
+
+    public static void start() {
+        TALLIES.get().push(new Tally());
+    }
+
+    public static SqlStatementStats stop() {
+        Deque<Tally> tallies = TALLIES.get();
+        Tally tally = tallies.poll();
+        if (tallies.isEmpty()) {
+            TALLIES.remove();
+        }
+        return tally == null
+                ? new SqlStatementStats(0, 0)
+                : new SqlStatementStats(tally.statements, tally.jdbcNanos);
+    }
+
+    public static void record(long jdbcNanos) {
+        Deque<Tally> tallies = TALLIES.get();
+        if (tallies.isEmpty()) {
+            TALLIES.remove();
+            return;
+        }
+        for (Tally tally : tallies) {
+            tally.statements++;
+            tally.jdbcNanos += jdbcNanos;
+        }
+    }
+
+    private static final class Tally {
+        private long statements;
+        private long jdbcNanos;
+    }
+}
@@ -0,0 +1,9 @@
+package com.daniil.bookingapp.metrics;
+
+public record SqlStatementStats(long statements, long jdbcNanos) {
+    private static final long NANOS_PER_MILLI = 1_000_000;
+
+    public long jdbcMillis() {
+        return jdbcNanos / NANOS_PER_MILLI;
+    }
+}
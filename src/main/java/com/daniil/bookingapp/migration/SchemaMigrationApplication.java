@@ -0,0 +1,26 @@
+package com.daniil.bookingapp.migration;
+
+import java.util.Arrays;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.liquibase.LiquibaseAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+@Slf4j
+@ImportAutoConfiguration({DataSourceAutoConfiguration.class, LiquibaseAutoConfiguration.class})
+public class SchemaMigrationApplication {
+    public static void main(String[] args) {
+        String[] arguments = Arrays.copyOf(args, args.length + 1);
+        arguments[args.length] = "--spring.liquibase.enabled=true";
+
+        try (ConfigurableApplicationContext context =
+                     new SpringApplicationBuilder(SchemaMigrationApplication.class)
+                             .web(WebApplicationType.NONE)
+                             .run(arguments)) {
+            log.info("Database schema is up to date");
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.daniil.bookingapp.migration;
+
+import jakarta.annotation.PostConstruct;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import liquibase.changelog.ChangeLogParameters;
+import liquibase.changelog.ChangeSet;
+import liquibase.changelog.DatabaseChangeLog;
+import liquibase.parser.ChangeLogParserFactory;
+import liquibase.resource.ClassLoaderResourceAccessor;
+import liquibase.resource.ResourceAccessor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.schema.verify-on-startup", havingValue = "true")
+public class SchemaVersionVerifier {
+    private static final String APPLIED_CHANGESETS_QUERY =
+            "SELECT id, author FROM databasechangelog";
+    private static final int MAX_REPORTED_CHANGESETS = 5;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${spring.liquibase.change-log:classpath:db/changelog/db.changelog-master.yaml}")
+    private String changeLog;
+
+    @PostConstruct
+    public void verify() {
+        Set<String> applied = appliedChangeSets();
+        List<String> pending = expectedChangeSets().stream()
+                .filter(changeSet -> !applied.contains(changeSet))
+                .toList();
+
+        if (!pending.isEmpty()) {
+            throw new IllegalStateException("Database schema is missing " + pending.size()
+                    + " changesets " + pending.stream().limit(MAX_REPORTED_CHANGESETS).toList()
+                    + ", run the schema migration job first");
+        }
+        log.info("Database schema verified: {} changesets applied", applied.size());
+    }
+
+    private Set<String> appliedChangeSets() {
+        try {
+            return new HashSet<>(jdbcTemplate.query(APPLIED_CHANGESETS_QUERY,
+                    (rs, rowNum) -> key(rs.getString("id"), rs.getString("author"))));
+        } catch (DataAccessException e) {
+            throw new IllegalStateException(
+                    "Could not read the Liquibase changelog table, run the schema migration job"
+                            + " first", e);
+        }
+    }
+
+    private List<String> expectedChangeSets() {
+        String location = changeLog.replaceFirst("^classpath:/?", "");
+        try (ResourceAccessor resourceAccessor =
+                     new ClassLoaderResourceAccessor(getClass().getClassLoader())) {
+            DatabaseChangeLog databaseChangeLog = ChangeLogParserFactory.getInstance()
+                    .getParser(location, resourceAccessor)
+                    .parse(location, new ChangeLogParameters(), resourceAccessor);
+            return databaseChangeLog.getChangeSets().stream()
+                    .map(this::key)
+                    .toList();
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not parse changelog " + changeLog, e);
+        }
+    }
+
+    private String key(ChangeSet changeSet) {
+        return key(changeSet.getId(), changeSet.getAuthor());
+    }
+
+    private String key(String id, String author) {
+        return id + "::" + author;
+    }
+}
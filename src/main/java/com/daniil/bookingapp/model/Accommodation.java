@@ -10,7 +10,9 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.validation.constraints.DecimalMax;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -42,7 +44,9 @@ import org.hibernate.annotations.UpdateTimestamp;
 @Table(name = "accommodations")
 public class Accommodation {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "accommodations_seq")
+    @SequenceGenerator(name = "accommodations_seq", sequenceName = "accommodations_seq",
+            allocationSize = 50)
     private Long id;
 
     @NotNull
@@ -72,6 +76,16 @@ public class Accommodation {
     @Column(nullable = false)
     private Integer availability;
 
+    @DecimalMin(value = "-90.0")
+    @DecimalMax(value = "90.0")
+    @Column(name = "latitude")
+    private Double latitude;
+
+    @DecimalMin(value = "-180.0")
+    @DecimalMax(value = "180.0")
+    @Column(name = "longitude")
+    private Double longitude;
+
     @NotNull
     @Builder.Default
     @Column(name = "is_deleted", nullable = false)
@@ -89,6 +103,10 @@ public class Accommodation {
     @Builder.Default
     private List<Booking> bookings = new ArrayList<>();
 
+    public boolean hasCoordinates() {
+        return latitude != null && longitude != null;
+    }
+
     public boolean isAvailable() {
         return availability > 0 && !deleted;
     }
@@ -0,0 +1,44 @@
+package com.daniil.bookingapp.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import java.io.Serializable;
+import java.time.LocalDate;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@IdClass(NightlyOccupancy.Key.class)
+@Table(name = "nightly_occupancy")
+public class NightlyOccupancy {
+    @Id
+    @Column(name = "accommodation_id", nullable = false)
+    private Long accommodationId;
+
+    @Id
+    @Column(nullable = false)
+    private LocalDate night;
+
+    @Column(name = "booked_units", nullable = false)
+    private int bookedUnits;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long accommodationId;
+        private LocalDate night;
+    }
+}
@@ -99,6 +99,22 @@ public class Payment {
         this.paidAt = LocalDateTime.now();
     }
 
+    public void markAsPaidByProvider(String paymentIntentId) {
+        if (status != PaymentStatus.PENDING && status != PaymentStatus.EXPIRED) {
+            throw new IllegalStateException("Only pending or expired payments can be reconciled");
+        }
+        this.status = PaymentStatus.PAID;
+        this.paidAt = LocalDateTime.now();
+        this.stripePaymentIntentId = paymentIntentId;
+    }
+
+    public void markAsFailed() {
+        if (status != PaymentStatus.PENDING) {
+            throw new IllegalStateException("Only pending payments can fail");
+        }
+        this.status = PaymentStatus.FAILED;
+    }
+
     public void markAsExpired() {
         if (status != PaymentStatus.PENDING) {
             throw new IllegalStateException("Only pending payments can expire");
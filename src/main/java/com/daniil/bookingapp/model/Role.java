@@ -1,6 +1,7 @@
 package com.daniil.bookingapp.model;
 
 import com.daniil.bookingapp.model.enums.RoleName;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
@@ -15,9 +16,13 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.security.core.GrantedAuthority;
 
 @Entity
+@Cacheable
+@Cache(region = Role.CACHE_REGION, usage = CacheConcurrencyStrategy.READ_ONLY)
 @Getter
 @Setter
 @Builder
@@ -25,6 +30,8 @@ import org.springframework.security.core.GrantedAuthority;
 @AllArgsConstructor
 @Table(name = "roles")
 public class Role implements GrantedAuthority {
+    public static final String CACHE_REGION = "roles";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -0,0 +1,89 @@
+package com.daniil.bookingapp.model;
+
+import com.daniil.bookingapp.model.enums.StripeEventStatus;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+@Entity
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@Table(name = "stripe_events")
+public class StripeEvent {
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    @Id
+    @Column(length = 100)
+    private String id;
+
+    @Column(nullable = false, length = 100)
+    private String type;
+
+    @Column(name = "session_id", length = 100)
+    private String sessionId;
+
+    @Column(name = "payment_intent_id", length = 100)
+    private String paymentIntentId;
+
+    @Column(name = "session_payment_status", length = 50)
+    private String sessionPaymentStatus;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    @Builder.Default
+    private StripeEventStatus status = StripeEventStatus.RECEIVED;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private int attempts = 0;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "received_at", nullable = false)
+    private LocalDateTime receivedAt;
+
+    @Column(name = "processed_at")
+    private LocalDateTime processedAt;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    public void complete(StripeEventStatus outcome, String error) {
+        this.status = outcome;
+        this.lastError = error;
+        this.attempts++;
+        this.processedAt = LocalDateTime.now();
+    }
+
+    public void recordFailure(String error, int maxAttempts, Duration backoff) {
+        this.attempts++;
+        this.lastError = error != null && error.length() > MAX_ERROR_LENGTH
+                ? error.substring(0, MAX_ERROR_LENGTH) : error;
+        if (attempts >= maxAttempts) {
+            this.status = StripeEventStatus.FAILED;
+            this.processedAt = LocalDateTime.now();
+            return;
+        }
+        this.nextAttemptAt = LocalDateTime.now().plus(backoff);
+    }
+
+    public boolean isFailed() {
+        return status == StripeEventStatus.FAILED;
+    }
+}
@@ -0,0 +1,8 @@
+package com.daniil.bookingapp.model.enums;
+
+public enum StripeEventStatus {
+    RECEIVED,
+    PROCESSED,
+    IGNORED,
+    FAILED
+}
@@ -0,0 +1,13 @@
+package com.daniil.bookingapp.notification;
+
+public record ChannelStats(
+        String channel,
+        long submitted,
+        long delivered,
+        long failed,
+        long dropped,
+        int queued,
+        double averageLatencyMs,
+        double maxLatencyMs
+) {
+}
@@ -0,0 +1,194 @@
+package com.daniil.bookingapp.notification;
+
+import com.daniil.bookingapp.util.ThreadUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public class ChannelWorker {
+    private static final long NANOS_PER_MILLI = 1_000_000;
+
+    private final NotificationChannel channel;
+    private final OverflowPolicy overflowPolicy;
+    private final BlockingQueue<Runnable> queue;
+    private final ThreadPoolExecutor executor;
+    private final Timer deliveredTimer;
+    private final Timer failedTimer;
+    private final Counter droppedCounter;
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder latencyNanos = new LongAdder();
+    private final LongAccumulator maxLatencyNanos = new LongAccumulator(Math::max, 0);
+    private final AtomicBoolean flushPending = new AtomicBoolean();
+    private final Runnable flushTask = this::flush;
+    private final ScheduledExecutorService flushScheduler;
+
+    public ChannelWorker(
+            NotificationChannel channel,
+            int threads,
+            int queueCapacity,
+            OverflowPolicy overflowPolicy,
+            boolean virtualThreads,
+            MeterRegistry meterRegistry
+    ) {
+        this.channel = channel;
+        this.overflowPolicy = overflowPolicy;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.executor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                queue,
+                ThreadUtil.factory("notify-" + channel.getName() + "-", virtualThreads),
+                (runnable, pool) -> onOverflow(runnable, pool)
+        );
+        this.deliveredTimer = deliveryTimer(meterRegistry, "success");
+        this.failedTimer = deliveryTimer(meterRegistry, "failure");
+        this.droppedCounter = Counter.builder("notifications.dropped")
+                .description("Notifications dropped because the channel queue was full")
+                .tag("channel", channel.getName())
+                .register(meterRegistry);
+        Gauge.builder("notifications.queue.size", queue, BlockingQueue::size)
+                .description("Notifications waiting for a channel worker")
+                .tag("channel", channel.getName())
+                .register(meterRegistry);
+        this.flushScheduler = channel.getFlushIntervalMs() > 0
+                ? startFlushScheduler(channel.getFlushIntervalMs())
+                : null;
+    }
+
+    public void submit(NotificationMessage message) {
+        submitted.increment();
+        long enqueuedAt = System.nanoTime();
+        executor.execute(() -> deliver(message, enqueuedAt));
+    }
+
+    public ChannelStats getStats() {
+        long deliveredCount = delivered.sum() + failed.sum();
+        return new ChannelStats(
+                channel.getName(),
+                submitted.sum(),
+                delivered.sum(),
+                failed.sum(),
+                dropped.sum(),
+                queue.size(),
+                deliveredCount == 0
+                        ? 0.0
+                        : latencyNanos.sum() / (double) deliveredCount / NANOS_PER_MILLI,
+                maxLatencyNanos.get() / (double) NANOS_PER_MILLI
+        );
+    }
+
+    public void shutdown(long timeoutMs) {
+        if (flushScheduler != null) {
+            flushScheduler.shutdownNow();
+            requestFlush();
+        }
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(timeoutMs, TimeUnit.MILLISECONDS)) {
+                log.warn("Channel {} still had {} queued notifications at shutdown",
+                        channel.getName(), queue.size());
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+        }
+    }
+
+    private void deliver(NotificationMessage message, long enqueuedAt) {
+        Timer timer = deliveredTimer;
+        try {
+            channel.deliver(message);
+            delivered.increment();
+        } catch (Exception e) {
+            timer = failedTimer;
+            failed.increment();
+            log.error("Failed to deliver {} notification via {}: {}",
+                    message.type(), channel.getName(), e.getMessage());
+        } finally {
+            long latency = System.nanoTime() - enqueuedAt;
+            latencyNanos.add(latency);
+            maxLatencyNanos.accumulate(latency);
+            timer.record(latency, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private ScheduledExecutorService startFlushScheduler(long intervalMs) {
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+                ThreadUtil.factory("notify-" + channel.getName() + "-flush-", false));
+        scheduler.scheduleWithFixedDelay(this::requestFlush, intervalMs, intervalMs,
+                TimeUnit.MILLISECONDS);
+        return scheduler;
+    }
+
+    private void requestFlush() {
+        if (flushPending.compareAndSet(false, true)) {
+            executor.execute(flushTask);
+        }
+    }
+
+    private void flush() {
+        flushPending.set(false);
+        try {
+            channel.flush();
+        } catch (Exception e) {
+            log.error("Failed to flush notification channel {}: {}",
+                    channel.getName(), e.getMessage());
+        }
+    }
+
+    private void onOverflow(Runnable rejected, ThreadPoolExecutor pool) {
+        if (rejected == flushTask) {
+            flushPending.set(false);
+            return;
+        }
+        if (pool.isShutdown()) {
+            countDropped();
+            return;
+        }
+        if (overflowPolicy == OverflowPolicy.DROP_OLDEST) {
+            Runnable oldest = queue.poll();
+            if (oldest == flushTask) {
+                flushPending.set(false);
+            } else if (oldest != null) {
+                countDropped();
+            }
+            if (oldest != null && queue.offer(rejected)) {
+                return;
+            }
+        }
+        countDropped();
+        log.warn("Notification queue for channel {} is full, dropping message",
+                channel.getName());
+    }
+
+    private void countDropped() {
+        dropped.increment();
+        droppedCounter.increment();
+    }
+
+    private Timer deliveryTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("notifications.delivery")
+                .description("Time from enqueueing a notification to its delivery")
+                .tag("channel", channel.getName())
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
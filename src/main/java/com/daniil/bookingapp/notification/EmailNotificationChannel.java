@@ -0,0 +1,44 @@
+package com.daniil.bookingapp.notification;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.notifications.email.enabled", havingValue = "true")
+public class EmailNotificationChannel implements NotificationChannel {
+    private static final String CHANNEL_NAME = "email";
+    private static final String SUBJECT_PREFIX = "[Booking App] ";
+
+    private final JavaMailSender mailSender;
+
+    @Value("${app.notifications.email.from}")
+    private String from;
+
+    @Value("${app.notifications.email.to}")
+    private String[] recipients;
+
+    @Override
+    public String getName() {
+        return CHANNEL_NAME;
+    }
+
+    @Override
+    public void deliver(NotificationMessage message) {
+        SimpleMailMessage mail = new SimpleMailMessage();
+        mail.setFrom(from);
+        mail.setTo(recipients);
+        mail.setSubject(SUBJECT_PREFIX + message.title());
+        mail.setText(toPlainText(message.text()));
+
+        mailSender.send(mail);
+    }
+
+    private String toPlainText(String markdown) {
+        return markdown.replace("*", "").replace("`", "");
+    }
+}
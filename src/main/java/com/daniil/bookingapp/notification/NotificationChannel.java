@@ -0,0 +1,14 @@
+package com.daniil.bookingapp.notification;
+
+public interface NotificationChannel {
+    String getName();
+
+    void deliver(NotificationMessage message) throws Exception;
+
+    default long getFlushIntervalMs() {
+        return 0;
+    }
+
+    default void flush() throws Exception {
+    }
+}
@@ -0,0 +1,67 @@
+package com.daniil.bookingapp.notification;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NotificationDispatcher {
+    private static final String CHANNEL_PREFIX = "app.notifications.channels.";
+
+    private final List<NotificationChannel> channels;
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.notifications.shutdown-timeout-ms:5000}")
+    private long shutdownTimeoutMs;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private List<ChannelWorker> workers;
+
+    @PostConstruct
+    public void init() {
+        workers = channels.stream()
+                .map(this::createWorker)
+                .toList();
+        log.info("Notification channels enabled: {}",
+                channels.stream().map(NotificationChannel::getName).toList());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.forEach(worker -> worker.shutdown(shutdownTimeoutMs));
+    }
+
+    public void dispatch(NotificationMessage message) {
+        workers.forEach(worker -> worker.submit(message));
+    }
+
+    public List<ChannelStats> getStats() {
+        return workers.stream()
+                .map(ChannelWorker::getStats)
+                .toList();
+    }
+
+    private ChannelWorker createWorker(NotificationChannel channel) {
+        String prefix = CHANNEL_PREFIX + channel.getName();
+        return new ChannelWorker(
+                channel,
+                environment.getProperty(prefix + ".threads", Integer.class, 1),
+                environment.getProperty(prefix + ".queue-capacity", Integer.class, 1000),
+                environment.getProperty(prefix + ".overflow", OverflowPolicy.class,
+                        OverflowPolicy.DROP_OLDEST),
+                virtualThreads,
+                meterRegistry
+        );
+    }
+}
@@ -0,0 +1,4 @@
+package com.daniil.bookingapp.notification;
+
+public record NotificationMessage(NotificationType type, String title, String text) {
+}
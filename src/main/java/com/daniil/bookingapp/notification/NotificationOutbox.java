@@ -0,0 +1,215 @@
+package com.daniil.bookingapp.notification;
+
+import com.daniil.bookingapp.resilience.TokenBucket;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NotificationOutbox {
+    private final MeterRegistry meterRegistry;
+    private final Deque<Pending> messages = new ArrayDeque<>();
+    private final Map<String, Digest> digests = new LinkedHashMap<>();
+    private final ReentrantLock drainLock = new ReentrantLock();
+
+    @Value("${app.notifications.digest.window-ms:60000}")
+    private long digestWindowMs;
+
+    @Value("${app.notifications.digest.max-lines:20}")
+    private int maxDigestLines;
+
+    @Value("${app.notifications.max-pending:500}")
+    private int maxPendingMessages;
+
+    @Value("${app.notifications.rate.capacity:20}")
+    private long rateCapacity;
+
+    @Value("${app.notifications.rate.per-minute:20}")
+    private long ratePerMinute;
+
+    @Value("${app.notifications.max-send-attempts:5}")
+    private int maxSendAttempts;
+
+    private TokenBucket tokenBucket;
+    private long queued;
+    private long delivered;
+    private long merged;
+    private long dropped;
+    private long rateLimited;
+    private int heldBack;
+
+    @PostConstruct
+    public void init() {
+        tokenBucket = new TokenBucket(rateCapacity, ratePerMinute, Duration.ofMinutes(1));
+        Gauge.builder("notifications.outbox.pending", this,
+                        outbox -> outbox.getStats().pendingMessages())
+                .description("Telegram messages waiting in the outbox")
+                .register(meterRegistry);
+        FunctionCounter.builder("notifications.outbox.dropped", this,
+                        outbox -> outbox.getStats().dropped())
+                .description("Telegram messages dropped because the outbox was full")
+                .register(meterRegistry);
+        FunctionCounter.builder("notifications.outbox.rate.limited", this,
+                        outbox -> outbox.getStats().rateLimited())
+                .description("Telegram messages held back by the rate limit")
+                .register(meterRegistry);
+    }
+
+    public synchronized void send(String message) {
+        if (messages.size() >= maxPendingMessages) {
+            dropped++;
+            log.warn("Notification outbox is full, dropping message");
+            return;
+        }
+        messages.addLast(new Pending(message));
+        queued++;
+    }
+
+    public synchronized void merge(String type, String title, String line) {
+        Digest digest = digests.get(type);
+        if (digest == null) {
+            digests.put(type, new Digest(title, line, System.nanoTime()));
+            return;
+        }
+        digest.add(line, maxDigestLines);
+        merged++;
+    }
+
+    public void drain(Predicate<String> sender) {
+        if (!drainLock.tryLock()) {
+            return;
+        }
+        try {
+            flushDueDigests();
+            Pending next = nextReady();
+            while (next != null && complete(next, sender.test(next.text))) {
+                next = nextReady();
+            }
+        } finally {
+            drainLock.unlock();
+        }
+    }
+
+    public synchronized NotificationStats getStats() {
+        return new NotificationStats(
+                queued,
+                delivered,
+                merged,
+                dropped,
+                rateLimited,
+                messages.size(),
+                digests.size()
+        );
+    }
+
+    private synchronized Pending nextReady() {
+        Pending head = messages.peekFirst();
+        if (head == null) {
+            return null;
+        }
+        if (!tokenBucket.tryAcquire()) {
+            rateLimited += messages.size() - heldBack;
+            heldBack = messages.size();
+            return null;
+        }
+        heldBack = Math.max(0, heldBack - 1);
+        return head;
+    }
+
+    private synchronized boolean complete(Pending pending, boolean sent) {
+        if (sent) {
+            messages.removeFirstOccurrence(pending);
+            delivered++;
+            return true;
+        }
+        pending.attempts++;
+        if (pending.attempts >= maxSendAttempts) {
+            messages.removeFirstOccurrence(pending);
+            dropped++;
+            log.warn("Dropping notification after {} failed attempts", pending.attempts);
+        }
+        return false;
+    }
+
+    private synchronized void flushDueDigests() {
+        long now = System.nanoTime();
+        long windowNanos = Duration.ofMillis(digestWindowMs).toNanos();
+        Iterator<Digest> iterator = digests.values().iterator();
+        while (iterator.hasNext()) {
+            Digest digest = iterator.next();
+            if (now - digest.openedAt < windowNanos) {
+                continue;
+            }
+            iterator.remove();
+            if (messages.size() >= maxPendingMessages) {
+                dropped += digest.count;
+                log.warn("Notification outbox is full, dropping digest of {} events",
+                        digest.count);
+                continue;
+            }
+            messages.addLast(new Pending(digest.render()));
+            queued++;
+        }
+    }
+
+    private static final class Pending {
+        private final String text;
+        private int attempts;
+
+        private Pending(String text) {
+            this.text = text;
+        }
+    }
+
+    private static final class Digest {
+        private final String title;
+        private final List<String> lines = new ArrayList<>();
+        private final long openedAt;
+        private int count;
+
+        private Digest(String title, String firstLine, long openedAt) {
+            this.title = title;
+            this.openedAt = openedAt;
+            this.lines.add(firstLine);
+            this.count = 1;
+        }
+
+        private void add(String line, int maxLines) {
+            if (lines.size() < maxLines) {
+                lines.add(line);
+            }
+            count++;
+        }
+
+        private String render() {
+            StringBuilder message = new StringBuilder()
+                    .append('*').append(title).append('*');
+            if (count > 1) {
+                message.append(" (").append(count).append(')');
+            }
+            message.append("\n\n");
+            lines.forEach(line -> message.append(line).append('\n'));
+            if (count > lines.size()) {
+                message.append("...and ").append(count - lines.size()).append(" more");
+            }
+            return message.toString().stripTrailing();
+        }
+    }
+}
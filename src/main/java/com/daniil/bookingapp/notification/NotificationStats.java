@@ -0,0 +1,12 @@
+package com.daniil.bookingapp.notification;
+
+public record NotificationStats(
+        long queued,
+        long delivered,
+        long merged,
+        long dropped,
+        long rateLimited,
+        int pendingMessages,
+        int pendingDigests
+) {
+}
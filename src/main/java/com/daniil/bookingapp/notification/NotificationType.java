@@ -0,0 +1,13 @@
+package com.daniil.bookingapp.notification;
+
+public enum NotificationType {
+    BOOKING_CREATED,
+    BOOKING_CANCELLED,
+    ACCOMMODATION_CREATED,
+    ACCOMMODATION_RELEASED,
+    ACCOMMODATIONS_IMPORTED,
+    PAYMENT_CREATED,
+    PAYMENT_SUCCEEDED,
+    PAYMENT_RECONCILED,
+    EXPIRED_BOOKINGS
+}
@@ -0,0 +1,6 @@
+package com.daniil.bookingapp.notification;
+
+public enum OverflowPolicy {
+    DROP_NEWEST,
+    DROP_OLDEST
+}
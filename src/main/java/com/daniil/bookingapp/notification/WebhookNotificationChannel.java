@@ -0,0 +1,57 @@
+package com.daniil.bookingapp.notification;
+
+import jakarta.annotation.PostConstruct;
+import java.time.Duration;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.notifications.webhook.enabled", havingValue = "true")
+public class WebhookNotificationChannel implements NotificationChannel {
+    private static final String CHANNEL_NAME = "webhook";
+
+    private final RestClient.Builder restClientBuilder;
+
+    @Value("${app.notifications.webhook.url}")
+    private String url;
+
+    @Value("${app.notifications.webhook.connect-timeout-ms:2000}")
+    private long connectTimeoutMs;
+
+    @Value("${app.notifications.webhook.read-timeout-ms:5000}")
+    private long readTimeoutMs;
+
+    private RestClient restClient;
+
+    @PostConstruct
+    public void init() {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(Duration.ofMillis(connectTimeoutMs));
+        requestFactory.setReadTimeout(Duration.ofMillis(readTimeoutMs));
+
+        restClient = restClientBuilder
+                .requestFactory(requestFactory)
+                .build();
+    }
+
+    @Override
+    public String getName() {
+        return CHANNEL_NAME;
+    }
+
+    @Override
+    public void deliver(NotificationMessage message) {
+        restClient.post()
+                .uri(url)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(message)
+                .retrieve()
+                .toBodilessEntity();
+    }
+}
@@ -2,6 +2,12 @@ package com.daniil.bookingapp.repository;
 
 import com.daniil.bookingapp.model.Accommodation;
 import com.daniil.bookingapp.model.enums.AccommodationType;
+import com.daniil.bookingapp.repository.projection.AccommodationLocationView;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -23,4 +29,30 @@ public interface AccommodationRepository extends JpaRepository<Accommodation, Lo
             @Param("type") AccommodationType type,
             Pageable pageable
     );
+
+    @Query("SELECT a.updatedAt FROM Accommodation a WHERE a.id = :id")
+    Optional<LocalDateTime> findUpdatedAtById(@Param("id") Long id);
+
+    @Query("SELECT a.id AS id, a.type AS type, "
+            + "a.latitude AS latitude, a.longitude AS longitude "
+            + "FROM Accommodation a WHERE "
+            + "a.latitude IS NOT NULL AND "
+            + "a.longitude IS NOT NULL AND "
+            + "a.deleted = false")
+    List<AccommodationLocationView> findAllLocations();
+
+    @Query("SELECT a.id FROM Accommodation a WHERE "
+            + "a.id IN :ids AND "
+            + "a.availability > 0 AND "
+            + "a.deleted = false AND "
+            + "NOT EXISTS (SELECT b.id FROM Booking b WHERE "
+            + "b.accommodation = a AND "
+            + "b.status IN (" + BookingRepository.ACTIVE_STATUSES + ") AND "
+            + "b.checkInDate < :checkOut AND "
+            + "b.checkOutDate > :checkIn)")
+    List<Long> findAvailableIds(
+            @Param("ids") Collection<Long> ids,
+            @Param("checkIn") LocalDate checkIn,
+            @Param("checkOut") LocalDate checkOut
+    );
 }
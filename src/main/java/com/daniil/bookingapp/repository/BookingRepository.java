@@ -2,12 +2,21 @@ package com.daniil.bookingapp.repository;
 
 import com.daniil.bookingapp.model.Booking;
 import com.daniil.bookingapp.model.enums.BookingStatus;
+import com.daniil.bookingapp.repository.projection.BookingExportRow;
+import com.daniil.bookingapp.repository.projection.BookingVersionView;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -16,6 +25,7 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     String ACTIVE_STATUSES =
             "com.daniil.bookingapp.model.enums.BookingStatus.PENDING, "
                     + "com.daniil.bookingapp.model.enums.BookingStatus.CONFIRMED";
+    String EXPORT_FETCH_SIZE = "1000";
 
     Page<Booking> findAllByUserId(Long userId, Pageable pageable);
 
@@ -34,6 +44,36 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
             @Param("checkOut") LocalDate checkOut
     );
 
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Booking b WHERE b.id = :id")
+    Optional<Booking> findByIdForUpdate(@Param("id") Long id);
+
+    @Query("SELECT b.user.id AS userId, b.updatedAt AS updatedAt "
+            + "FROM Booking b WHERE b.id = :id")
+    Optional<BookingVersionView> findVersionById(@Param("id") Long id);
+
+    @Query("SELECT b.id AS id, b.checkInDate AS checkInDate, "
+            + "b.checkOutDate AS checkOutDate, b.status AS status, "
+            + "b.totalPrice AS totalPrice, a.id AS accommodationId, "
+            + "a.type AS accommodationType, a.location AS accommodationLocation, "
+            + "u.id AS userId, u.email AS userEmail, "
+            + "b.createdAt AS createdAt, b.updatedAt AS updatedAt "
+            + "FROM Booking b "
+            + "LEFT JOIN b.accommodation a "
+            + "LEFT JOIN b.user u WHERE "
+            + "(:userId IS NULL OR b.user.id = :userId) AND "
+            + "(:status IS NULL OR b.status = :status) "
+            + "ORDER BY b.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    Stream<BookingExportRow> streamForExport(
+            @Param("userId") Long userId,
+            @Param("status") BookingStatus status
+    );
+
     @Query("SELECT COUNT(b) FROM Booking b WHERE "
             + "b.user.id = :userId AND "
             + "b.status = 'PENDING'")
@@ -0,0 +1,83 @@
+package com.daniil.bookingapp.repository;
+
+import com.daniil.bookingapp.dto.report.AccommodationRevenueDto;
+import com.daniil.bookingapp.dto.report.DailyRevenueDto;
+import com.daniil.bookingapp.model.DailyRevenue;
+import jakarta.persistence.QueryHint;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface DailyRevenueRepository extends JpaRepository<DailyRevenue, DailyRevenue.Key> {
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "daily_revenue"))
+    @Query(value = "INSERT INTO daily_revenue (day, accommodation_id, revenue, payments_count) "
+            + "VALUES (:day, :accommodationId, :amount, :payments) "
+            + "ON CONFLICT (day, accommodation_id) DO UPDATE SET "
+            + "revenue = daily_revenue.revenue + EXCLUDED.revenue, "
+            + "payments_count = daily_revenue.payments_count + EXCLUDED.payments_count",
+            nativeQuery = true)
+    void add(
+            @Param("day") LocalDate day,
+            @Param("accommodationId") Long accommodationId,
+            @Param("amount") BigDecimal amount,
+            @Param("payments") long payments
+    );
+
+    @Query("SELECT new com.daniil.bookingapp.dto.report.DailyRevenueDto("
+            + "r.day, SUM(r.revenue), SUM(r.paymentsCount)) "
+            + "FROM DailyRevenue r WHERE "
+            + "r.day BETWEEN :from AND :to AND "
+            + "(:accommodationId IS NULL OR r.accommodationId = :accommodationId) "
+            + "GROUP BY r.day "
+            + "ORDER BY r.day")
+    List<DailyRevenueDto> findDaily(
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to,
+            @Param("accommodationId") Long accommodationId
+    );
+
+    @Query("SELECT new com.daniil.bookingapp.dto.report.AccommodationRevenueDto("
+            + "r.accommodationId, SUM(r.revenue), SUM(r.paymentsCount)) "
+            + "FROM DailyRevenue r WHERE "
+            + "r.day BETWEEN :from AND :to "
+            + "GROUP BY r.accommodationId "
+            + "ORDER BY SUM(r.revenue) DESC")
+    List<AccommodationRevenueDto> findPerAccommodation(
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to
+    );
+
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:key)", nativeQuery = true)
+    boolean tryLockRebuild(@Param("key") long key);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "daily_revenue"))
+    @Query(value = "LOCK TABLE daily_revenue, nightly_occupancy IN EXCLUSIVE MODE",
+            nativeQuery = true)
+    void lockRollups();
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "daily_revenue"))
+    @Query(value = "DELETE FROM daily_revenue", nativeQuery = true)
+    void deleteAllRows();
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "daily_revenue"))
+    @Query(value = "INSERT INTO daily_revenue (day, accommodation_id, revenue, payments_count) "
+            + "SELECT CAST(p.paid_at AS DATE), b.accommodation_id, SUM(p.amount_to_pay), COUNT(*) "
+            + "FROM payments p "
+            + "JOIN bookings b ON b.id = p.booking_id "
+            + "WHERE p.status = 'PAID' AND p.paid_at IS NOT NULL "
+            + "GROUP BY CAST(p.paid_at AS DATE), b.accommodation_id",
+            nativeQuery = true)
+    int rebuildFromPayments();
+}
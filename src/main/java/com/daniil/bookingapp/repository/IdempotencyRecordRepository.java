@@ -0,0 +1,46 @@
+package com.daniil.bookingapp.repository;
+
+import com.daniil.bookingapp.model.IdempotencyRecord;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, Long> {
+    Optional<IdempotencyRecord> findByUserIdAndOperationAndIdempotencyKey(
+            Long userId,
+            String operation,
+            String idempotencyKey
+    );
+
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.claimedAt = :now "
+            + "WHERE r.id = :id AND r.responseBody IS NULL AND r.claimedAt < :staleBefore")
+    int takeOverStaleClaim(
+            @Param("id") Long id,
+            @Param("staleBefore") LocalDateTime staleBefore,
+            @Param("now") LocalDateTime now
+    );
+
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.responseBody = :body "
+            + "WHERE r.id = :id AND r.responseBody IS NULL AND r.claimedAt = :claimedAt")
+    int complete(
+            @Param("id") Long id,
+            @Param("claimedAt") LocalDateTime claimedAt,
+            @Param("body") String body
+    );
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r "
+            + "WHERE r.id = :id AND r.responseBody IS NULL AND r.claimedAt = :claimedAt")
+    int deleteClaim(@Param("id") Long id, @Param("claimedAt") LocalDateTime claimedAt);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,65 @@
+package com.daniil.bookingapp.repository;
+
+import com.daniil.bookingapp.dto.report.NightlyOccupancyDto;
+import com.daniil.bookingapp.model.NightlyOccupancy;
+import jakarta.persistence.QueryHint;
+import java.time.LocalDate;
+import java.util.List;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface NightlyOccupancyRepository
+        extends JpaRepository<NightlyOccupancy, NightlyOccupancy.Key> {
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "nightly_occupancy"))
+    @Query(value = "INSERT INTO nightly_occupancy (accommodation_id, night, booked_units) "
+            + "SELECT :accommodationId, CAST(n.night AS DATE), :delta "
+            + "FROM generate_series(CAST(:checkIn AS DATE), CAST(:checkOut AS DATE) - 1, "
+            + "INTERVAL '1 day') AS n(night) "
+            + "ON CONFLICT (accommodation_id, night) DO UPDATE SET "
+            + "booked_units = nightly_occupancy.booked_units + EXCLUDED.booked_units",
+            nativeQuery = true)
+    void add(
+            @Param("accommodationId") Long accommodationId,
+            @Param("checkIn") LocalDate checkIn,
+            @Param("checkOut") LocalDate checkOut,
+            @Param("delta") int delta
+    );
+
+    @Query("SELECT new com.daniil.bookingapp.dto.report.NightlyOccupancyDto("
+            + "o.night, SUM(o.bookedUnits)) "
+            + "FROM NightlyOccupancy o WHERE "
+            + "o.night BETWEEN :from AND :to AND "
+            + "(:accommodationId IS NULL OR o.accommodationId = :accommodationId) "
+            + "GROUP BY o.night "
+            + "ORDER BY o.night")
+    List<NightlyOccupancyDto> findNightly(
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to,
+            @Param("accommodationId") Long accommodationId
+    );
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "nightly_occupancy"))
+    @Query(value = "DELETE FROM nightly_occupancy", nativeQuery = true)
+    void deleteAllRows();
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "nightly_occupancy"))
+    @Query(value = "INSERT INTO nightly_occupancy (accommodation_id, night, booked_units) "
+            + "SELECT b.accommodation_id, CAST(n.night AS DATE), COUNT(*) "
+            + "FROM bookings b "
+            + "JOIN payments p ON p.booking_id = b.id AND p.status = 'PAID' "
+            + "CROSS JOIN LATERAL generate_series(b.check_in_date, b.check_out_date - 1, "
+            + "INTERVAL '1 day') AS n(night) "
+            + "WHERE b.status <> 'CANCELED' "
+            + "GROUP BY b.accommodation_id, CAST(n.night AS DATE)",
+            nativeQuery = true)
+    int rebuildFromBookings();
+}
@@ -2,22 +2,38 @@ package com.daniil.bookingapp.repository;
 
 import com.daniil.bookingapp.model.Payment;
 import com.daniil.bookingapp.model.enums.PaymentStatus;
+import com.daniil.bookingapp.repository.projection.PaymentExportRow;
+import com.daniil.bookingapp.repository.projection.PaymentReconciliationView;
+import jakarta.persistence.QueryHint;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface PaymentRepository extends JpaRepository<Payment, Long> {
+    String EXPORT_FETCH_SIZE = "1000";
+
     Optional<Payment> findBySessionId(String sessionId);
 
     Page<Payment> findAllByUserId(Long userId, Pageable pageable);
 
+    @Query("SELECT p.booking.id FROM Payment p WHERE p.id = :id")
+    Optional<Long> findBookingIdById(@Param("id") Long id);
+
+    @Query("SELECT p.booking.id FROM Payment p WHERE p.sessionId = :sessionId")
+    Optional<Long> findBookingIdBySessionId(@Param("sessionId") String sessionId);
+
     @Query("SELECT p FROM Payment p WHERE "
             + "p.status = :status AND "
             + "p.expiresAt < :expirationTime")
@@ -25,4 +41,48 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
             @Param("status") PaymentStatus status,
             @Param("expirationTime") LocalDateTime expirationTime
     );
+
+    @Query("SELECT p.id AS id, p.status AS status, b.id AS bookingId, "
+            + "u.id AS userId, u.email AS userEmail, p.amountToPay AS amountToPay, "
+            + "p.sessionId AS sessionId, p.stripePaymentIntentId AS stripePaymentIntentId, "
+            + "p.createdAt AS createdAt, p.expiresAt AS expiresAt, p.paidAt AS paidAt "
+            + "FROM Payment p "
+            + "LEFT JOIN p.booking b "
+            + "LEFT JOIN p.user u WHERE "
+            + "(:userId IS NULL OR p.user.id = :userId) AND "
+            + "(:status IS NULL OR p.status = :status) "
+            + "ORDER BY p.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    Stream<PaymentExportRow> streamForExport(
+            @Param("userId") Long userId,
+            @Param("status") PaymentStatus status
+    );
+
+    @Query("SELECT p.id AS id, p.booking.id AS bookingId, p.sessionId AS sessionId, "
+            + "p.status AS status "
+            + "FROM Payment p WHERE "
+            + "p.id > :afterId AND "
+            + "p.status IN :statuses AND "
+            + "p.sessionId IS NOT NULL "
+            + "ORDER BY p.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<PaymentReconciliationView> findReconciliationChunk(
+            @Param("afterId") Long afterId,
+            @Param("statuses") Collection<PaymentStatus> statuses,
+            Pageable pageable
+    );
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Payment p SET p.status = :status, p.updatedAt = CURRENT_TIMESTAMP "
+            + "WHERE p.id = :id AND p.sessionId = :sessionId AND p.status = :expectedStatus")
+    int updateStatusByIdAndSessionId(
+            @Param("id") Long id,
+            @Param("sessionId") String sessionId,
+            @Param("expectedStatus") PaymentStatus expectedStatus,
+            @Param("status") PaymentStatus status
+    );
 }
@@ -0,0 +1,45 @@
+package com.daniil.bookingapp.repository;
+
+import com.daniil.bookingapp.model.StripeEvent;
+import jakarta.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface StripeEventRepository extends JpaRepository<StripeEvent, String> {
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "stripe_events"))
+    @Query(value = "INSERT INTO stripe_events "
+            + "(id, type, session_id, payment_intent_id, session_payment_status, "
+            + "status, attempts, received_at, next_attempt_at) "
+            + "VALUES (:id, :type, :sessionId, :paymentIntentId, :sessionPaymentStatus, "
+            + "'RECEIVED', 0, :receivedAt, :receivedAt) "
+            + "ON CONFLICT (id) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(
+            @Param("id") String id,
+            @Param("type") String type,
+            @Param("sessionId") String sessionId,
+            @Param("paymentIntentId") String paymentIntentId,
+            @Param("sessionPaymentStatus") String sessionPaymentStatus,
+            @Param("receivedAt") LocalDateTime receivedAt
+    );
+
+    @Query(value = "SELECT * FROM stripe_events "
+            + "WHERE status = 'RECEIVED' AND next_attempt_at <= :now "
+            + "ORDER BY next_attempt_at, received_at "
+            + "LIMIT 1 "
+            + "FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    Optional<StripeEvent> lockNextDue(@Param("now") LocalDateTime now);
+
+    @Query(value = "SELECT * FROM stripe_events "
+            + "WHERE id = :id AND status = 'RECEIVED' "
+            + "FOR UPDATE", nativeQuery = true)
+    Optional<StripeEvent> lockReceivedById(@Param("id") String id);
+}
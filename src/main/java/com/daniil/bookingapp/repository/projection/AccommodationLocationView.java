@@ -0,0 +1,13 @@
+package com.daniil.bookingapp.repository.projection;
+
+import com.daniil.bookingapp.model.enums.AccommodationType;
+
+public interface AccommodationLocationView {
+    Long getId();
+
+    AccommodationType getType();
+
+    Double getLatitude();
+
+    Double getLongitude();
+}
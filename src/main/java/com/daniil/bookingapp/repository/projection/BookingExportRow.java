@@ -0,0 +1,33 @@
+package com.daniil.bookingapp.repository.projection;
+
+import com.daniil.bookingapp.model.enums.AccommodationType;
+import com.daniil.bookingapp.model.enums.BookingStatus;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public interface BookingExportRow {
+    Long getId();
+
+    LocalDate getCheckInDate();
+
+    LocalDate getCheckOutDate();
+
+    BookingStatus getStatus();
+
+    BigDecimal getTotalPrice();
+
+    Long getAccommodationId();
+
+    AccommodationType getAccommodationType();
+
+    String getAccommodationLocation();
+
+    Long getUserId();
+
+    String getUserEmail();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getUpdatedAt();
+}
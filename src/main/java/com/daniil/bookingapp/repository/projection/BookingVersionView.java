@@ -0,0 +1,9 @@
+package com.daniil.bookingapp.repository.projection;
+
+import java.time.LocalDateTime;
+
+public interface BookingVersionView {
+    Long getUserId();
+
+    LocalDateTime getUpdatedAt();
+}
@@ -0,0 +1,29 @@
+package com.daniil.bookingapp.repository.projection;
+
+import com.daniil.bookingapp.model.enums.PaymentStatus;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public interface PaymentExportRow {
+    Long getId();
+
+    PaymentStatus getStatus();
+
+    Long getBookingId();
+
+    Long getUserId();
+
+    String getUserEmail();
+
+    BigDecimal getAmountToPay();
+
+    String getSessionId();
+
+    String getStripePaymentIntentId();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getExpiresAt();
+
+    LocalDateTime getPaidAt();
+}
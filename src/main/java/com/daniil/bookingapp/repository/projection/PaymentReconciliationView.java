@@ -0,0 +1,13 @@
+package com.daniil.bookingapp.repository.projection;
+
+import com.daniil.bookingapp.model.enums.PaymentStatus;
+
+public interface PaymentReconciliationView {
+    Long getId();
+
+    Long getBookingId();
+
+    String getSessionId();
+
+    PaymentStatus getStatus();
+}
@@ -0,0 +1,137 @@
+package com.daniil.bookingapp.resilience;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Optional;
+
+public class CircuitBreaker {
+    private final int windowSize;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long openDurationNanos;
+    private final boolean[] outcomes;
+
+    private State state = State.CLOSED;
+    private int recorded;
+    private int failures;
+    private int position;
+    private long openedAt;
+    private long generation;
+    private boolean trialInFlight;
+
+    public CircuitBreaker(
+            int windowSize,
+            int minimumCalls,
+            double failureRateThreshold,
+            Duration openDuration
+    ) {
+        if (windowSize <= 0 || minimumCalls <= 0 || minimumCalls > windowSize) {
+            throw new IllegalArgumentException(
+                    "Circuit breaker needs 0 < minimumCalls <= windowSize"
+            );
+        }
+        this.windowSize = windowSize;
+        this.minimumCalls = minimumCalls;
+        this.failureRateThreshold = failureRateThreshold;
+        this.openDurationNanos = openDuration.toNanos();
+        this.outcomes = new boolean[windowSize];
+    }
+
+    public synchronized Optional<Permit> tryAcquirePermission() {
+        switch (state) {
+            case CLOSED:
+                return Optional.of(new Permit(generation));
+            case OPEN:
+                if (System.nanoTime() - openedAt < openDurationNanos) {
+                    return Optional.empty();
+                }
+                transitionTo(State.HALF_OPEN);
+                trialInFlight = true;
+                return Optional.of(new Permit(generation));
+            case HALF_OPEN:
+            default:
+                if (trialInFlight) {
+                    return Optional.empty();
+                }
+                trialInFlight = true;
+                return Optional.of(new Permit(generation));
+        }
+    }
+
+    public synchronized void onSuccess(Permit permit) {
+        if (permit.generation() != generation) {
+            return;
+        }
+        if (state == State.HALF_OPEN) {
+            reset();
+            return;
+        }
+        record(false);
+    }
+
+    public synchronized void onFailure(Permit permit) {
+        if (permit.generation() != generation) {
+            return;
+        }
+        if (state == State.HALF_OPEN) {
+            open();
+            return;
+        }
+        record(true);
+        if (recorded >= minimumCalls
+                && failures * 100.0 / recorded >= failureRateThreshold) {
+            open();
+        }
+    }
+
+    public synchronized void releasePermission(Permit permit) {
+        if (permit.generation() == generation && state == State.HALF_OPEN) {
+            trialInFlight = false;
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    private void record(boolean failure) {
+        if (recorded == windowSize && outcomes[position]) {
+            failures--;
+        }
+        outcomes[position] = failure;
+        if (failure) {
+            failures++;
+        }
+        position = (position + 1) % windowSize;
+        recorded = Math.min(recorded + 1, windowSize);
+    }
+
+    private void open() {
+        transitionTo(State.OPEN);
+        openedAt = System.nanoTime();
+        trialInFlight = false;
+    }
+
+    private void reset() {
+        transitionTo(State.CLOSED);
+        recorded = 0;
+        failures = 0;
+        position = 0;
+        trialInFlight = false;
+        Arrays.fill(outcomes, false);
+    }
+
+    private void transitionTo(State next) {
+        state = next;
+        generation++;
+    }
+
+    public record Permit(long generation) {
+    }
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+}
@@ -0,0 +1,59 @@
+package com.daniil.bookingapp.resilience;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+public class TokenBucket {
+    private final long capacity;
+    private final double tokensPerNano;
+
+    private double tokens;
+    private long refilledAt;
+
+    public TokenBucket(long capacity, long refillTokens, Duration refillPeriod) {
+        if (capacity <= 0 || refillTokens <= 0 || refillPeriod.isZero()) {
+            throw new IllegalArgumentException("Token bucket needs a positive capacity and rate");
+        }
+        this.capacity = capacity;
+        this.tokensPerNano = (double) refillTokens / refillPeriod.toNanos();
+        this.tokens = capacity;
+        this.refilledAt = System.nanoTime();
+    }
+
+    public synchronized boolean tryAcquire() {
+        refill();
+        if (tokens < 1) {
+            return false;
+        }
+        tokens--;
+        return true;
+    }
+
+    public void acquire() throws InterruptedException {
+        long waitNanos = reserve();
+        while (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+            waitNanos = reserve();
+        }
+    }
+
+    public synchronized long availableTokens() {
+        refill();
+        return (long) tokens;
+    }
+
+    private synchronized long reserve() {
+        refill();
+        if (tokens >= 1) {
+            tokens--;
+            return 0;
+        }
+        return (long) Math.ceil((1 - tokens) / tokensPerNano);
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        tokens = Math.min(capacity, tokens + (now - refilledAt) * tokensPerNano);
+        refilledAt = now;
+    }
+}
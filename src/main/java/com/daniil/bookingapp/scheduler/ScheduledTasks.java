@@ -1,13 +1,16 @@
 package com.daniil.bookingapp.scheduler;
 
+import com.daniil.bookingapp.event.BookingExpiredEvent;
+import com.daniil.bookingapp.event.ExpiredBookingsSweptEvent;
+import com.daniil.bookingapp.metrics.SchedulerMetrics;
 import com.daniil.bookingapp.model.Booking;
 import com.daniil.bookingapp.model.enums.BookingStatus;
 import com.daniil.bookingapp.repository.BookingRepository;
-import com.daniil.bookingapp.service.NotificationService;
 import java.time.LocalDate;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
@@ -17,7 +20,8 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 public class ScheduledTasks {
     private final BookingRepository bookingRepository;
-    private final NotificationService notificationService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SchedulerMetrics schedulerMetrics;
 
     @Scheduled(cron = "0 0 9 * * *")
     @Transactional
@@ -34,7 +38,7 @@ public class ScheduledTasks {
 
         if (expiredBookings.isEmpty()) {
             log.info("No expired bookings found");
-            notificationService.sendNoExpiredBookingsNotification();
+            eventPublisher.publishEvent(new ExpiredBookingsSweptEvent(0));
             return;
         }
 
@@ -46,9 +50,10 @@ public class ScheduledTasks {
                 booking.getAccommodation().increaseAvailability();
                 bookingRepository.save(booking);
 
-                notificationService.sendAccommodationReleasedNotification(
-                        booking.getAccommodation()
-                );
+                eventPublisher.publishEvent(new BookingExpiredEvent(
+                        booking.getId(),
+                        booking.getAccommodation().getId()
+                ));
 
                 log.info("Marked booking {} as expired and released accommodation {}",
                         booking.getId(), booking.getAccommodation().getId());
@@ -58,7 +63,8 @@ public class ScheduledTasks {
             }
         }
 
-        notificationService.sendExpiredBookingsNotification(expiredBookings.size());
+        eventPublisher.publishEvent(new ExpiredBookingsSweptEvent(expiredBookings.size()));
+        schedulerMetrics.recordRows("expired-bookings", expiredBookings.size());
         log.info("Completed expired bookings check. Processed {} bookings",
                 expiredBookings.size());
     }
@@ -0,0 +1,13 @@
+package com.daniil.bookingapp.service;
+
+import com.daniil.bookingapp.dto.accommodation.AccommodationImportResultDto;
+import com.daniil.bookingapp.model.enums.ExportFormat;
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface AccommodationImportService {
+    AccommodationImportResultDto importAccommodations(
+            InputStream inputStream,
+            ExportFormat format
+    ) throws IOException;
+}
@@ -5,6 +5,8 @@ import com.daniil.bookingapp.dto.accommodation.AccommodationResponseDto;
 import com.daniil.bookingapp.dto.accommodation.AccommodationUpdateRequestDto;
 import com.daniil.bookingapp.model.Accommodation;
 import com.daniil.bookingapp.model.enums.AccommodationType;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -19,8 +21,31 @@ public interface AccommodationService {
             Pageable pageable
     );
 
+    Page<AccommodationResponseDto> findNearby(
+            double latitude,
+            double longitude,
+            double radiusKm,
+            AccommodationType type,
+            LocalDate checkIn,
+            LocalDate checkOut,
+            Pageable pageable
+    );
+
+    Page<AccommodationResponseDto> findWithinBounds(
+            double minLatitude,
+            double minLongitude,
+            double maxLatitude,
+            double maxLongitude,
+            AccommodationType type,
+            LocalDate checkIn,
+            LocalDate checkOut,
+            Pageable pageable
+    );
+
     AccommodationResponseDto findById(Long id);
 
+    LocalDateTime getLastModified(Long id);
+
     AccommodationResponseDto update(Long id, AccommodationUpdateRequestDto requestDto);
 
     void delete(Long id);
@@ -6,6 +6,7 @@ import com.daniil.bookingapp.dto.booking.BookingUpdateRequestDto;
 import com.daniil.bookingapp.model.Booking;
 import com.daniil.bookingapp.model.User;
 import com.daniil.bookingapp.model.enums.BookingStatus;
+import java.time.LocalDateTime;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -22,9 +23,13 @@ public interface BookingService {
 
     BookingResponseDto findById(Long id, User user);
 
+    LocalDateTime getLastModified(Long id, User user);
+
     BookingResponseDto update(Long id, BookingUpdateRequestDto requestDto, User user);
 
     void cancel(Long id, User user);
 
     Booking getBookingById(Long id);
+
+    Booking lockBookingById(Long id);
 }
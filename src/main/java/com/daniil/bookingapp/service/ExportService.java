@@ -0,0 +1,23 @@
+package com.daniil.bookingapp.service;
+
+import com.daniil.bookingapp.model.enums.BookingStatus;
+import com.daniil.bookingapp.model.enums.ExportFormat;
+import com.daniil.bookingapp.model.enums.PaymentStatus;
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface ExportService {
+    long exportBookings(
+            Long userId,
+            BookingStatus status,
+            ExportFormat format,
+            OutputStream outputStream
+    ) throws IOException;
+
+    long exportPayments(
+            Long userId,
+            PaymentStatus status,
+            ExportFormat format,
+            OutputStream outputStream
+    ) throws IOException;
+}
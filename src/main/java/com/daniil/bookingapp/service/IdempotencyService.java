@@ -0,0 +1,28 @@
+package com.daniil.bookingapp.service;
+
+import com.daniil.bookingapp.model.User;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+public interface IdempotencyService {
+    <T> T execute(
+            User user,
+            String operation,
+            String idempotencyKey,
+            Object request,
+            Class<T> responseType,
+            Supplier<T> action
+    );
+
+    <T> T execute(
+            User user,
+            String operation,
+            String idempotencyKey,
+            Object request,
+            Class<T> responseType,
+            Supplier<Optional<T>> existingResult,
+            Supplier<T> action
+    );
+
+    void deleteExpiredKeys();
+}
@@ -1,5 +1,6 @@
 package com.daniil.bookingapp.service;
 
+import com.daniil.bookingapp.dto.payment.PaymentReconciliationReportDto;
 import com.daniil.bookingapp.model.Accommodation;
 import com.daniil.bookingapp.model.Booking;
 import com.daniil.bookingapp.model.Payment;
@@ -13,10 +14,14 @@ public interface NotificationService {
 
     void sendAccommodationReleasedNotification(Accommodation accommodation);
 
+    void sendAccommodationsImportedNotification(long importedCount, long failedCount);
+
     void sendPaymentSuccessNotification(Payment payment);
 
     void sendPaymentCreatedNotification(Payment payment);
 
+    void sendPaymentReconciliationNotification(PaymentReconciliationReportDto report);
+
     void sendExpiredBookingsNotification(int count);
 
     void sendNoExpiredBookingsNotification();
@@ -0,0 +1,11 @@
+package com.daniil.bookingapp.service;
+
+import com.daniil.bookingapp.dto.payment.PaymentReconciliationReportDto;
+
+public interface PaymentReconciliationService {
+    PaymentReconciliationReportDto reconcile();
+
+    void reconcileScheduled();
+
+    void submit();
+}
@@ -6,6 +6,7 @@ import com.daniil.bookingapp.dto.payment.PaymentResponseDto;
 import com.daniil.bookingapp.dto.payment.PaymentSuccessResponseDto;
 import com.daniil.bookingapp.model.Payment;
 import com.daniil.bookingapp.model.User;
+import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -14,6 +15,8 @@ public interface PaymentService {
 
     PaymentResponseDto createPaymentSession(PaymentRequestDto requestDto, User user);
 
+    Optional<PaymentResponseDto> findOpenPaymentSession(PaymentRequestDto requestDto, User user);
+
     PaymentSuccessResponseDto handleSuccessPayment(String sessionId);
 
     PaymentCancelResponseDto handleCancelPayment(String sessionId);
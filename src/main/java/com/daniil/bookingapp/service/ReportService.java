@@ -0,0 +1,23 @@
+package com.daniil.bookingapp.service;
+
+import com.daniil.bookingapp.dto.report.AccommodationRevenueDto;
+import com.daniil.bookingapp.dto.report.DailyRevenueDto;
+import com.daniil.bookingapp.dto.report.NightlyOccupancyDto;
+import com.daniil.bookingapp.model.Booking;
+import com.daniil.bookingapp.model.Payment;
+import java.time.LocalDate;
+import java.util.List;
+
+public interface ReportService {
+    void recordPaidBooking(Payment payment);
+
+    void recordCancelledBooking(Booking booking);
+
+    List<DailyRevenueDto> getDailyRevenue(LocalDate from, LocalDate to, Long accommodationId);
+
+    List<AccommodationRevenueDto> getRevenueByAccommodation(LocalDate from, LocalDate to);
+
+    List<NightlyOccupancyDto> getOccupancy(LocalDate from, LocalDate to, Long accommodationId);
+
+    void rebuildRollups();
+}
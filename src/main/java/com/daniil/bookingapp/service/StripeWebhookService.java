@@ -0,0 +1,7 @@
+package com.daniil.bookingapp.service;
+
+public interface StripeWebhookService {
+    void receive(String payload, String signatureHeader);
+
+    void processPendingEvents();
+}
@@ -0,0 +1,325 @@
+package com.daniil.bookingapp.service.impl;
+
+import com.daniil.bookingapp.coalescing.RequestCoalescer;
+import com.daniil.bookingapp.dto.accommodation.AccommodationImportErrorDto;
+import com.daniil.bookingapp.dto.accommodation.AccommodationImportResultDto;
+import com.daniil.bookingapp.dto.accommodation.AccommodationRequestDto;
+import com.daniil.bookingapp.event.AccommodationCreatedEvent;
+import com.daniil.bookingapp.event.AccommodationLocationChangedEvent;
+import com.daniil.bookingapp.mapper.AccommodationMapper;
+import com.daniil.bookingapp.model.Accommodation;
+import com.daniil.bookingapp.model.enums.AccommodationType;
+import com.daniil.bookingapp.model.enums.ExportFormat;
+import com.daniil.bookingapp.repository.AccommodationRepository;
+import com.daniil.bookingapp.service.AccommodationImportService;
+import com.daniil.bookingapp.service.NotificationService;
+import com.daniil.bookingapp.util.CsvUtil;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AccommodationImportServiceImpl implements AccommodationImportService {
+    private static final String AMENITIES_SEPARATOR = ";";
+
+    private final AccommodationRepository accommodationRepository;
+    private final AccommodationMapper accommodationMapper;
+    private final NotificationService notificationService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RequestCoalescer requestCoalescer;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.import.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${app.import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    @Value("${app.import.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${app.import.retry-backoff-ms:200}")
+    private long retryBackoffMs;
+
+    @Override
+    public AccommodationImportResultDto importAccommodations(
+            InputStream inputStream,
+            ExportFormat format
+    ) throws IOException {
+        ImportState state = new ImportState();
+        BufferedReader reader = new BufferedReader(
+                new InputStreamReader(inputStream, StandardCharsets.UTF_8)
+        );
+
+        switch (format) {
+            case NDJSON -> readNdjson(reader, state);
+            case CSV -> readCsv(reader, state);
+            default -> throw new IllegalArgumentException("Unsupported format: " + format);
+        }
+        flush(state);
+        requestCoalescer.invalidateAll();
+
+        log.info("Accommodation import finished: {} rows, {} imported, {} failed",
+                state.totalRows, state.importedCount, state.failedCount);
+        if (state.totalRows > 0) {
+            notificationService.sendAccommodationsImportedNotification(
+                    state.importedCount, state.failedCount
+            );
+        }
+
+        return AccommodationImportResultDto.builder()
+                .totalRows(state.totalRows)
+                .importedCount(state.importedCount)
+                .failedCount(state.failedCount)
+                .errorsTruncated(state.failedCount > state.errors.size())
+                .errors(state.errors)
+                .build();
+    }
+
+    private void readNdjson(BufferedReader reader, ImportState state) throws IOException {
+        long lineNumber = 0;
+        String line = reader.readLine();
+        while (line != null) {
+            lineNumber++;
+            if (!line.isBlank()) {
+                state.totalRows++;
+                try {
+                    accept(lineNumber, objectMapper.readValue(line,
+                            AccommodationRequestDto.class), state);
+                } catch (JsonProcessingException e) {
+                    reject(lineNumber, "Malformed JSON: " + e.getOriginalMessage(), state);
+                }
+            }
+            line = reader.readLine();
+        }
+    }
+
+    private void readCsv(BufferedReader reader, ImportState state) throws IOException {
+        List<String> header = CsvUtil.readRecord(reader);
+        if (header == null) {
+            return;
+        }
+        List<String> columns = header.stream().map(String::trim).toList();
+
+        long rowNumber = 1;
+        List<String> record = readCsvRecord(reader, rowNumber + 1, state);
+        while (record != null) {
+            rowNumber++;
+            if (!isBlank(record)) {
+                state.totalRows++;
+                try {
+                    accept(rowNumber, fromCsv(columns, record), state);
+                } catch (IllegalArgumentException e) {
+                    reject(rowNumber, e.getMessage(), state);
+                }
+            }
+            record = readCsvRecord(reader, rowNumber + 1, state);
+        }
+    }
+
+    private List<String> readCsvRecord(BufferedReader reader, long rowNumber, ImportState state)
+            throws IOException {
+        try {
+            return CsvUtil.readRecord(reader);
+        } catch (IOException e) {
+            state.totalRows++;
+            reject(rowNumber, e.getMessage() + "; import stopped", state);
+            return null;
+        }
+    }
+
+    private AccommodationRequestDto fromCsv(List<String> columns, List<String> record) {
+        if (record.size() != columns.size()) {
+            throw new IllegalArgumentException("Expected " + columns.size()
+                    + " columns but found " + record.size());
+        }
+        Map<String, String> values = new HashMap<>();
+        for (int i = 0; i < columns.size(); i++) {
+            String value = record.get(i).trim();
+            values.put(columns.get(i), value.isEmpty() ? null : value);
+        }
+
+        return AccommodationRequestDto.builder()
+                .type(parse(values, "type",
+                        value -> AccommodationType.valueOf(value.toUpperCase(Locale.ROOT))))
+                .location(values.get("location"))
+                .size(values.get("size"))
+                .amenities(parse(values, "amenities", value -> Arrays.stream(
+                                value.split(AMENITIES_SEPARATOR))
+                        .map(String::trim)
+                        .filter(amenity -> !amenity.isEmpty())
+                        .toList()))
+                .dailyRate(parse(values, "dailyRate", BigDecimal::new))
+                .availability(parse(values, "availability", Integer::valueOf))
+                .latitude(parse(values, "latitude", Double::valueOf))
+                .longitude(parse(values, "longitude", Double::valueOf))
+                .build();
+    }
+
+    private <T> T parse(Map<String, String> values, String column, Function<String, T> parser) {
+        String value = values.get(column);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return parser.apply(value);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(
+                    "Invalid value for " + column + ": '" + value + "'"
+            );
+        }
+    }
+
+    private void accept(long rowNumber, AccommodationRequestDto requestDto, ImportState state) {
+        if (requestDto == null) {
+            reject(rowNumber, "Empty row", state);
+            return;
+        }
+        Set<ConstraintViolation<AccommodationRequestDto>> violations =
+                validator.validate(requestDto);
+        if (!violations.isEmpty()) {
+            reject(rowNumber, violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": "
+                            + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; ")), state);
+            return;
+        }
+
+        state.pending.add(new PendingRow(rowNumber, accommodationMapper.toEntity(requestDto)));
+        if (state.pending.size() >= chunkSize) {
+            flush(state);
+        }
+    }
+
+    private void flush(ImportState state) {
+        if (state.pending.isEmpty()) {
+            return;
+        }
+        List<PendingRow> chunk = new ArrayList<>(state.pending);
+        state.pending.clear();
+
+        try {
+            List<Accommodation> saved = executeWithRetry(() -> {
+                chunk.forEach(row -> row.accommodation().setId(null));
+                return transactionTemplate.execute(status -> {
+                    List<Accommodation> inserted = accommodationRepository.saveAll(
+                            chunk.stream().map(PendingRow::accommodation).toList());
+                    inserted.forEach(this::publishCreated);
+                    return inserted;
+                });
+            });
+            state.importedCount += saved.size();
+        } catch (DataIntegrityViolationException e) {
+            log.warn("Import chunk of {} rows violated a constraint, saving row by row: {}",
+                    chunk.size(), e.getMostSpecificCause().getMessage());
+            chunk.forEach(row -> saveSingle(row, state));
+        }
+    }
+
+    private void saveSingle(PendingRow row, ImportState state) {
+        Accommodation accommodation = row.accommodation();
+        try {
+            executeWithRetry(() -> {
+                accommodation.setId(null);
+                return transactionTemplate.execute(status -> {
+                    Accommodation saved = accommodationRepository.save(accommodation);
+                    publishCreated(saved);
+                    return saved;
+                });
+            });
+            state.importedCount++;
+        } catch (DataIntegrityViolationException e) {
+            reject(row.rowNumber(), "Could not be saved: "
+                    + e.getMostSpecificCause().getMessage(), state);
+        }
+    }
+
+    private void publishCreated(Accommodation accommodation) {
+        eventPublisher.publishEvent(new AccommodationCreatedEvent(accommodation.getId(), true));
+        eventPublisher.publishEvent(new AccommodationLocationChangedEvent(
+                accommodation.getId(),
+                accommodation.getLatitude(),
+                accommodation.getLongitude(),
+                accommodation.getType()
+        ));
+    }
+
+    private <T> T executeWithRetry(Supplier<T> work) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return work.get();
+            } catch (TransientDataAccessException e) {
+                if (attempt >= maxAttempts) {
+                    throw e;
+                }
+                log.warn("Import write failed transiently (attempt {} of {}), retrying: {}",
+                        attempt, maxAttempts, e.getMessage());
+                sleep(retryBackoffMs * attempt);
+            }
+        }
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Import interrupted", e);
+        }
+    }
+
+    private void reject(long rowNumber, String message, ImportState state) {
+        state.failedCount++;
+        if (state.errors.size() < maxReportedErrors) {
+            state.errors.add(AccommodationImportErrorDto.builder()
+                    .row(rowNumber)
+                    .message(message)
+                    .build());
+        }
+    }
+
+    private boolean isBlank(List<String> record) {
+        return record.stream().allMatch(String::isBlank);
+    }
+
+    private record PendingRow(long rowNumber, Accommodation accommodation) {
+    }
+
+    private static final class ImportState {
+        private final List<PendingRow> pending = new ArrayList<>();
+        private final List<AccommodationImportErrorDto> errors = new ArrayList<>();
+        private long totalRows;
+        private long importedCount;
+        private long failedCount;
+    }
+}
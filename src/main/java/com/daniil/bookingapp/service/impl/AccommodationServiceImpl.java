@@ -3,16 +3,31 @@ package com.daniil.bookingapp.service.impl;
 import com.daniil.bookingapp.dto.accommodation.AccommodationRequestDto;
 import com.daniil.bookingapp.dto.accommodation.AccommodationResponseDto;
 import com.daniil.bookingapp.dto.accommodation.AccommodationUpdateRequestDto;
+import com.daniil.bookingapp.event.AccommodationCreatedEvent;
+import com.daniil.bookingapp.event.AccommodationDeletedEvent;
+import com.daniil.bookingapp.event.AccommodationLocationChangedEvent;
 import com.daniil.bookingapp.exception.EntityNotFoundException;
+import com.daniil.bookingapp.exception.InvalidRequestParameterException;
+import com.daniil.bookingapp.geo.AccommodationGeoIndex;
 import com.daniil.bookingapp.mapper.AccommodationMapper;
 import com.daniil.bookingapp.model.Accommodation;
 import com.daniil.bookingapp.model.Booking;
 import com.daniil.bookingapp.model.enums.AccommodationType;
 import com.daniil.bookingapp.repository.AccommodationRepository;
 import com.daniil.bookingapp.service.AccommodationService;
-import com.daniil.bookingapp.service.NotificationService;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -20,9 +35,12 @@ import org.springframework.transaction.annotation.Transactional;
 @Service
 @RequiredArgsConstructor
 public class AccommodationServiceImpl implements AccommodationService {
+    private static final int AVAILABILITY_CHECK_CHUNK_SIZE = 1000;
+
     private final AccommodationRepository accommodationRepository;
     private final AccommodationMapper accommodationMapper;
-    private final NotificationService notificationService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AccommodationGeoIndex geoIndex;
 
     @Override
     @Transactional
@@ -30,7 +48,8 @@ public class AccommodationServiceImpl implements AccommodationService {
         Accommodation accommodation = accommodationMapper.toEntity(requestDto);
         Accommodation saved = accommodationRepository.save(accommodation);
 
-        notificationService.sendAccommodationCreatedNotification(saved);
+        eventPublisher.publishEvent(new AccommodationCreatedEvent(saved.getId(), false));
+        publishLocationChanged(saved);
 
         return accommodationMapper.toDto(saved);
     }
@@ -53,6 +72,41 @@ public class AccommodationServiceImpl implements AccommodationService {
                 .map(accommodationMapper::toDto);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Page<AccommodationResponseDto> findNearby(
+            double latitude,
+            double longitude,
+            double radiusKm,
+            AccommodationType type,
+            LocalDate checkIn,
+            LocalDate checkOut,
+            Pageable pageable
+    ) {
+        validateStayDates(checkIn, checkOut);
+        List<Long> ids = geoIndex.findWithinRadius(latitude, longitude, radiusKm, type);
+        return toPage(ids, checkIn, checkOut, pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<AccommodationResponseDto> findWithinBounds(
+            double minLatitude,
+            double minLongitude,
+            double maxLatitude,
+            double maxLongitude,
+            AccommodationType type,
+            LocalDate checkIn,
+            LocalDate checkOut,
+            Pageable pageable
+    ) {
+        validateStayDates(checkIn, checkOut);
+        List<Long> ids = geoIndex.findWithinBounds(
+                minLatitude, minLongitude, maxLatitude, maxLongitude, type
+        );
+        return toPage(ids, checkIn, checkOut, pageable);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public AccommodationResponseDto findById(Long id) {
@@ -60,12 +114,22 @@ public class AccommodationServiceImpl implements AccommodationService {
         return accommodationMapper.toDto(accommodation);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public LocalDateTime getLastModified(Long id) {
+        return accommodationRepository.findUpdatedAtById(id)
+                .orElseThrow(() -> new EntityNotFoundException(
+                        "Accommodation not found with id: " + id
+                ));
+    }
+
     @Override
     @Transactional
     public AccommodationResponseDto update(Long id, AccommodationUpdateRequestDto requestDto) {
         Accommodation accommodation = getAccommodationById(id);
         accommodationMapper.updateEntity(accommodation, requestDto);
         Accommodation updated = accommodationRepository.save(accommodation);
+        publishLocationChanged(updated);
         return accommodationMapper.toDto(updated);
     }
 
@@ -85,6 +149,7 @@ public class AccommodationServiceImpl implements AccommodationService {
         }
 
         accommodationRepository.delete(accommodation);
+        eventPublisher.publishEvent(new AccommodationDeletedEvent(id));
     }
 
     @Override
@@ -95,4 +160,64 @@ public class AccommodationServiceImpl implements AccommodationService {
                         "Accommodation not found with id: " + id
                 ));
     }
+
+    private Page<AccommodationResponseDto> toPage(
+            List<Long> ids,
+            LocalDate checkIn,
+            LocalDate checkOut,
+            Pageable pageable
+    ) {
+        List<Long> candidates = checkIn != null ? filterAvailable(ids, checkIn, checkOut) : ids;
+
+        int from = (int) Math.min(pageable.getOffset(), candidates.size());
+        int to = Math.min(from + pageable.getPageSize(), candidates.size());
+        List<Long> pageIds = candidates.subList(from, to);
+
+        Map<Long, Accommodation> accommodations = accommodationRepository.findAllById(pageIds)
+                .stream()
+                .collect(Collectors.toMap(Accommodation::getId, Function.identity()));
+
+        List<AccommodationResponseDto> content = pageIds.stream()
+                .map(accommodations::get)
+                .filter(Objects::nonNull)
+                .map(accommodationMapper::toDto)
+                .toList();
+
+        return new PageImpl<>(content, pageable, candidates.size());
+    }
+
+    private List<Long> filterAvailable(List<Long> ids, LocalDate checkIn, LocalDate checkOut) {
+        Set<Long> available = new HashSet<>();
+        for (int from = 0; from < ids.size(); from += AVAILABILITY_CHECK_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(
+                    from, Math.min(from + AVAILABILITY_CHECK_CHUNK_SIZE, ids.size())
+            );
+            available.addAll(accommodationRepository.findAvailableIds(chunk, checkIn, checkOut));
+        }
+        return ids.stream()
+                .filter(available::contains)
+                .toList();
+    }
+
+    private void publishLocationChanged(Accommodation accommodation) {
+        eventPublisher.publishEvent(new AccommodationLocationChangedEvent(
+                accommodation.getId(),
+                accommodation.getLatitude(),
+                accommodation.getLongitude(),
+                accommodation.getType()
+        ));
+    }
+
+    private void validateStayDates(LocalDate checkIn, LocalDate checkOut) {
+        if ((checkIn == null) != (checkOut == null)) {
+            throw new InvalidRequestParameterException(
+                    "Both check-in and check-out dates must be provided"
+            );
+        }
+        if (checkIn != null && !checkOut.isAfter(checkIn)) {
+            throw new InvalidRequestParameterException(
+                    "Check-out date must be after check-in date"
+            );
+        }
+    }
 }
@@ -3,6 +3,8 @@ package com.daniil.bookingapp.service.impl;
 import com.daniil.bookingapp.dto.booking.BookingRequestDto;
 import com.daniil.bookingapp.dto.booking.BookingResponseDto;
 import com.daniil.bookingapp.dto.booking.BookingUpdateRequestDto;
+import com.daniil.bookingapp.event.BookingCancelledEvent;
+import com.daniil.bookingapp.event.BookingCreatedEvent;
 import com.daniil.bookingapp.exception.BookingException;
 import com.daniil.bookingapp.exception.BookingNotAvailableException;
 import com.daniil.bookingapp.exception.BookingOverlapException;
@@ -15,12 +17,15 @@ import com.daniil.bookingapp.model.User;
 import com.daniil.bookingapp.model.enums.BookingStatus;
 import com.daniil.bookingapp.model.enums.RoleName;
 import com.daniil.bookingapp.repository.BookingRepository;
+import com.daniil.bookingapp.repository.projection.BookingVersionView;
 import com.daniil.bookingapp.service.AccommodationService;
 import com.daniil.bookingapp.service.BookingService;
-import com.daniil.bookingapp.service.NotificationService;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -31,18 +36,19 @@ import org.springframework.transaction.annotation.Transactional;
 public class BookingServiceImpl implements BookingService {
     private final BookingRepository bookingRepository;
     private final AccommodationService accommodationService;
-    private final NotificationService notificationService;
+    private final ApplicationEventPublisher eventPublisher;
     private final BookingMapper bookingMapper;
+    private final MeterRegistry meterRegistry;
 
     @Override
     @Transactional
     public BookingResponseDto create(BookingRequestDto requestDto, User user) {
         long pendingBookings = bookingRepository.countPendingBookingsByUserId(user.getId());
         if (pendingBookings > 0) {
-            throw new PendingPaymentException(
+            throw rejected("pending_payment", new PendingPaymentException(
                     "Cannot create booking. You have " + pendingBookings
                             + " pending booking(s). Please complete payment first"
-            );
+            ));
         }
 
         validateDates(requestDto.getCheckInDate(), requestDto.getCheckOutDate());
@@ -51,10 +57,10 @@ public class BookingServiceImpl implements BookingService {
                 .getAccommodationById(requestDto.getAccommodationId());
 
         if (!accommodation.isAvailable()) {
-            throw new BookingNotAvailableException(
+            throw rejected("not_available", new BookingNotAvailableException(
                     "Accommodation is not available (current availability: "
                             + accommodation.getAvailability() + ")"
-            );
+            ));
         }
 
         List<Booking> overlapping = bookingRepository.findOverlappingBookings(
@@ -64,10 +70,10 @@ public class BookingServiceImpl implements BookingService {
         );
 
         if (!overlapping.isEmpty()) {
-            throw new BookingOverlapException(
+            throw rejected("overlap", new BookingOverlapException(
                     "Accommodation is already booked for the selected dates. "
                             + "Found " + overlapping.size() + " conflicting booking(s)"
-            );
+            ));
         }
 
         Booking booking = bookingMapper.toEntity(requestDto, user, accommodation);
@@ -75,7 +81,7 @@ public class BookingServiceImpl implements BookingService {
         accommodation.decreaseAvailability();
         Booking saved = bookingRepository.save(booking);
 
-        notificationService.sendBookingCreatedNotification(saved);
+        eventPublisher.publishEvent(new BookingCreatedEvent(saved.getId(), accommodation.getId()));
 
         return bookingMapper.toDto(saved);
     }
@@ -121,6 +127,21 @@ public class BookingServiceImpl implements BookingService {
         return bookingMapper.toDto(booking);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public LocalDateTime getLastModified(Long id, User user) {
+        BookingVersionView version = bookingRepository.findVersionById(id)
+                .orElseThrow(() -> new EntityNotFoundException(
+                        "Booking not found with id: " + id
+                ));
+
+        if (!hasAccess(version.getUserId(), user)) {
+            throw new BookingException("Access denied to this booking");
+        }
+
+        return version.getUpdatedAt();
+    }
+
     @Override
     @Transactional
     public BookingResponseDto update(Long id, BookingUpdateRequestDto requestDto, User user) {
@@ -150,9 +171,9 @@ public class BookingServiceImpl implements BookingService {
             overlapping.removeIf(b -> b.getId().equals(booking.getId()));
 
             if (!overlapping.isEmpty()) {
-                throw new BookingOverlapException(
+                throw rejected("overlap", new BookingOverlapException(
                         "Selected dates conflict with existing booking(s)"
-                );
+                ));
             }
         }
 
@@ -165,7 +186,7 @@ public class BookingServiceImpl implements BookingService {
     @Override
     @Transactional
     public void cancel(Long id, User user) {
-        Booking booking = getBookingById(id);
+        Booking booking = lockBookingById(id);
 
         if (!booking.getUser().getId().equals(user.getId())) {
             throw new BookingException("Only booking owner can cancel it");
@@ -178,11 +199,16 @@ public class BookingServiceImpl implements BookingService {
             );
         }
 
+        final boolean wasPaid = booking.getStatus() == BookingStatus.CONFIRMED;
         booking.cancel();
         booking.getAccommodation().increaseAvailability();
         bookingRepository.save(booking);
 
-        notificationService.sendBookingCancelledNotification(booking);
+        eventPublisher.publishEvent(new BookingCancelledEvent(
+                booking.getId(),
+                booking.getAccommodation().getId(),
+                wasPaid
+        ));
     }
 
     @Override
@@ -194,13 +220,24 @@ public class BookingServiceImpl implements BookingService {
                 ));
     }
 
+    @Override
+    @Transactional
+    public Booking lockBookingById(Long id) {
+        return bookingRepository.findByIdForUpdate(id)
+                .orElseThrow(() -> new EntityNotFoundException(
+                        "Booking not found with id: " + id
+                ));
+    }
+
     private void validateDates(LocalDate checkIn, LocalDate checkOut) {
         if (checkIn.isBefore(LocalDate.now())) {
-            throw new BookingException("Check-in date cannot be in the past");
+            throw rejected("check_in_in_past",
+                    new BookingException("Check-in date cannot be in the past"));
         }
 
         if (!checkOut.isAfter(checkIn)) {
-            throw new BookingException("Check-out date must be after check-in date");
+            throw rejected("invalid_date_range",
+                    new BookingException("Check-out date must be after check-in date"));
         }
     }
 
@@ -219,7 +256,11 @@ public class BookingServiceImpl implements BookingService {
     }
 
     private boolean hasAccessToBooking(Booking booking, User user) {
-        if (booking.getUser().getId().equals(user.getId())) {
+        return hasAccess(booking.getUser().getId(), user);
+    }
+
+    private boolean hasAccess(Long ownerId, User user) {
+        if (ownerId.equals(user.getId())) {
             return true;
         }
 
@@ -227,4 +268,9 @@ public class BookingServiceImpl implements BookingService {
                 .anyMatch(role -> role.getName() == RoleName.ROLE_ADMIN
                         || role.getName() == RoleName.ROLE_MANAGER);
     }
+
+    private <T extends RuntimeException> T rejected(String reason, T exception) {
+        meterRegistry.counter("bookings.rejected", "reason", reason).increment();
+        return exception;
+    }
 }
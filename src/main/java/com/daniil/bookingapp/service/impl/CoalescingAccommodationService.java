@@ -0,0 +1,146 @@
+package com.daniil.bookingapp.service.impl;
+
+import com.daniil.bookingapp.coalescing.RequestCoalescer;
+import com.daniil.bookingapp.dto.accommodation.AccommodationRequestDto;
+import com.daniil.bookingapp.dto.accommodation.AccommodationResponseDto;
+import com.daniil.bookingapp.dto.accommodation.AccommodationUpdateRequestDto;
+import com.daniil.bookingapp.mapper.AccommodationMapper;
+import com.daniil.bookingapp.model.Accommodation;
+import com.daniil.bookingapp.model.enums.AccommodationType;
+import com.daniil.bookingapp.service.AccommodationService;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+@Service
+@Primary
+@RequiredArgsConstructor
+public class CoalescingAccommodationService implements AccommodationService {
+    private final AccommodationServiceImpl delegate;
+    private final RequestCoalescer requestCoalescer;
+    private final AccommodationMapper accommodationMapper;
+
+    @Override
+    public AccommodationResponseDto create(AccommodationRequestDto requestDto) {
+        AccommodationResponseDto created = delegate.create(requestDto);
+        requestCoalescer.invalidateAll();
+        return created;
+    }
+
+    @Override
+    public Page<AccommodationResponseDto> findAll(Pageable pageable) {
+        return copy(requestCoalescer.execute(
+                key("findAll", pageKey(pageable)),
+                () -> delegate.findAll(pageable)
+        ));
+    }
+
+    @Override
+    public Page<AccommodationResponseDto> findByFilters(
+            String location,
+            AccommodationType type,
+            Pageable pageable
+    ) {
+        String normalizedLocation = location != null ? location.toLowerCase(Locale.ROOT) : null;
+        return copy(requestCoalescer.execute(
+                key("findByFilters", normalizedLocation, type, pageKey(pageable)),
+                () -> delegate.findByFilters(normalizedLocation, type, pageable)
+        ));
+    }
+
+    @Override
+    public Page<AccommodationResponseDto> findNearby(
+            double latitude,
+            double longitude,
+            double radiusKm,
+            AccommodationType type,
+            LocalDate checkIn,
+            LocalDate checkOut,
+            Pageable pageable
+    ) {
+        return copy(requestCoalescer.execute(
+                key("findNearby", latitude, longitude, radiusKm, type,
+                        checkIn, checkOut, pageKey(pageable)),
+                () -> delegate.findNearby(
+                        latitude, longitude, radiusKm, type, checkIn, checkOut, pageable
+                )
+        ));
+    }
+
+    @Override
+    public Page<AccommodationResponseDto> findWithinBounds(
+            double minLatitude,
+            double minLongitude,
+            double maxLatitude,
+            double maxLongitude,
+            AccommodationType type,
+            LocalDate checkIn,
+            LocalDate checkOut,
+            Pageable pageable
+    ) {
+        return copy(requestCoalescer.execute(
+                key("findWithinBounds", minLatitude, minLongitude, maxLatitude, maxLongitude,
+                        type, checkIn, checkOut, pageKey(pageable)),
+                () -> delegate.findWithinBounds(
+                        minLatitude, minLongitude, maxLatitude, maxLongitude,
+                        type, checkIn, checkOut, pageable
+                )
+        ));
+    }
+
+    @Override
+    public AccommodationResponseDto findById(Long id) {
+        return accommodationMapper.copy(
+                requestCoalescer.execute(key("findById", id), () -> delegate.findById(id))
+        );
+    }
+
+    @Override
+    public LocalDateTime getLastModified(Long id) {
+        return requestCoalescer.execute(
+                key("getLastModified", id),
+                () -> delegate.getLastModified(id)
+        );
+    }
+
+    @Override
+    public AccommodationResponseDto update(Long id, AccommodationUpdateRequestDto requestDto) {
+        AccommodationResponseDto updated = delegate.update(id, requestDto);
+        requestCoalescer.invalidateAll();
+        return updated;
+    }
+
+    @Override
+    public void delete(Long id) {
+        delegate.delete(id);
+        requestCoalescer.invalidateAll();
+    }
+
+    @Override
+    public Accommodation getAccommodationById(Long id) {
+        return delegate.getAccommodationById(id);
+    }
+
+    private Page<AccommodationResponseDto> copy(Page<AccommodationResponseDto> page) {
+        return page.map(accommodationMapper::copy);
+    }
+
+    private List<Object> key(Object... parts) {
+        return Arrays.asList(parts);
+    }
+
+    private String pageKey(Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return "unpaged";
+        }
+        return pageable.getPageNumber() + ":" + pageable.getPageSize() + ":"
+                + pageable.getSort();
+    }
+}
@@ -0,0 +1,170 @@
+package com.daniil.bookingapp.service.impl;
+
+import com.daniil.bookingapp.model.enums.BookingStatus;
+import com.daniil.bookingapp.model.enums.ExportFormat;
+import com.daniil.bookingapp.model.enums.PaymentStatus;
+import com.daniil.bookingapp.repository.BookingRepository;
+import com.daniil.bookingapp.repository.PaymentRepository;
+import com.daniil.bookingapp.repository.projection.BookingExportRow;
+import com.daniil.bookingapp.repository.projection.PaymentExportRow;
+import com.daniil.bookingapp.service.ExportService;
+import com.daniil.bookingapp.util.CsvUtil;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ExportServiceImpl implements ExportService {
+    private static final int FLUSH_INTERVAL = 1000;
+
+    private static final List<Column<BookingExportRow>> BOOKING_COLUMNS = List.of(
+            new Column<>("id", BookingExportRow::getId),
+            new Column<>("checkInDate", BookingExportRow::getCheckInDate),
+            new Column<>("checkOutDate", BookingExportRow::getCheckOutDate),
+            new Column<>("status", BookingExportRow::getStatus),
+            new Column<>("totalPrice", BookingExportRow::getTotalPrice),
+            new Column<>("accommodationId", BookingExportRow::getAccommodationId),
+            new Column<>("accommodationType", BookingExportRow::getAccommodationType),
+            new Column<>("accommodationLocation", BookingExportRow::getAccommodationLocation),
+            new Column<>("userId", BookingExportRow::getUserId),
+            new Column<>("userEmail", BookingExportRow::getUserEmail),
+            new Column<>("createdAt", BookingExportRow::getCreatedAt),
+            new Column<>("updatedAt", BookingExportRow::getUpdatedAt)
+    );
+
+    private static final List<Column<PaymentExportRow>> PAYMENT_COLUMNS = List.of(
+            new Column<>("id", PaymentExportRow::getId),
+            new Column<>("status", PaymentExportRow::getStatus),
+            new Column<>("bookingId", PaymentExportRow::getBookingId),
+            new Column<>("userId", PaymentExportRow::getUserId),
+            new Column<>("userEmail", PaymentExportRow::getUserEmail),
+            new Column<>("amountToPay", PaymentExportRow::getAmountToPay),
+            new Column<>("sessionId", PaymentExportRow::getSessionId),
+            new Column<>("stripePaymentIntentId", PaymentExportRow::getStripePaymentIntentId),
+            new Column<>("createdAt", PaymentExportRow::getCreatedAt),
+            new Column<>("expiresAt", PaymentExportRow::getExpiresAt),
+            new Column<>("paidAt", PaymentExportRow::getPaidAt)
+    );
+
+    private final BookingRepository bookingRepository;
+    private final PaymentRepository paymentRepository;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportBookings(
+            Long userId,
+            BookingStatus status,
+            ExportFormat format,
+            OutputStream outputStream
+    ) throws IOException {
+        try (Stream<BookingExportRow> rows = bookingRepository.streamForExport(userId, status)) {
+            long written = write(rows, BOOKING_COLUMNS, format, outputStream);
+            log.info("Exported {} bookings as {}", written, format);
+            return written;
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportPayments(
+            Long userId,
+            PaymentStatus status,
+            ExportFormat format,
+            OutputStream outputStream
+    ) throws IOException {
+        try (Stream<PaymentExportRow> rows = paymentRepository.streamForExport(userId, status)) {
+            long written = write(rows, PAYMENT_COLUMNS, format, outputStream);
+            log.info("Exported {} payments as {}", written, format);
+            return written;
+        }
+    }
+
+    private <T> long write(
+            Stream<T> rows,
+            List<Column<T>> columns,
+            ExportFormat format,
+            OutputStream outputStream
+    ) throws IOException {
+        return switch (format) {
+            case NDJSON -> writeNdjson(rows.iterator(), columns, outputStream);
+            case CSV -> writeCsv(rows.iterator(), columns, outputStream);
+        };
+    }
+
+    private <T> long writeNdjson(
+            Iterator<T> rows,
+            List<Column<T>> columns,
+            OutputStream outputStream
+    ) throws IOException {
+        long written = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            while (rows.hasNext()) {
+                T row = rows.next();
+                generator.writeStartObject();
+                for (Column<T> column : columns) {
+                    generator.writeObjectField(column.name(), column.value().apply(row));
+                }
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+                if (++written % FLUSH_INTERVAL == 0) {
+                    generator.flush();
+                }
+            }
+        }
+        return written;
+    }
+
+    private <T> long writeCsv(
+            Iterator<T> rows,
+            List<Column<T>> columns,
+            OutputStream outputStream
+    ) throws IOException {
+        long written = 0;
+        Writer writer = new BufferedWriter(
+                new OutputStreamWriter(outputStream, StandardCharsets.UTF_8)
+        );
+        writeCsvLine(writer, columns.stream().map(Column::name).toList());
+        while (rows.hasNext()) {
+            T row = rows.next();
+            writeCsvLine(writer, columns.stream()
+                    .map(column -> column.value().apply(row))
+                    .toList());
+            if (++written % FLUSH_INTERVAL == 0) {
+                writer.flush();
+            }
+        }
+        writer.flush();
+        return written;
+    }
+
+    private void writeCsvLine(Writer writer, List<?> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(CsvUtil.escape(values.get(i)));
+        }
+        writer.write("\r\n");
+    }
+
+    private record Column<T>(String name, Function<T, Object> value) {
+    }
+}
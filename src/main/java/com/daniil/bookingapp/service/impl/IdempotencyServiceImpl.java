@@ -0,0 +1,364 @@
+package com.daniil.bookingapp.service.impl;
+
+import com.daniil.bookingapp.exception.IdempotencyConflictException;
+import com.daniil.bookingapp.exception.IdempotencyKeyReuseException;
+import com.daniil.bookingapp.exception.InvalidRequestParameterException;
+import com.daniil.bookingapp.metrics.SchedulerMetrics;
+import com.daniil.bookingapp.model.IdempotencyRecord;
+import com.daniil.bookingapp.model.User;
+import com.daniil.bookingapp.repository.IdempotencyRecordRepository;
+import com.daniil.bookingapp.service.IdempotencyService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class IdempotencyServiceImpl implements IdempotencyService {
+    private static final int MAX_KEY_LENGTH = 100;
+    private static final String IN_PROGRESS =
+            "A request with this Idempotency-Key is still being processed";
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final SchedulerMetrics schedulerMetrics;
+    private final Map<String, InFlightRequest> inFlight = new ConcurrentHashMap<>();
+    private Map<String, StoredResponse> completed;
+
+    @Value("${app.idempotency.ttl-hours:24}")
+    private long ttlHours;
+
+    @Value("${app.idempotency.cache-size:10000}")
+    private int cacheSize;
+
+    @Value("${app.idempotency.claim-lease-seconds:120}")
+    private long claimLeaseSeconds;
+
+    @PostConstruct
+    public void init() {
+        completed = Collections.synchronizedMap(
+                new LinkedHashMap<>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(
+                            Map.Entry<String, StoredResponse> eldest
+                    ) {
+                        return size() > cacheSize;
+                    }
+                }
+        );
+    }
+
+    @Override
+    public <T> T execute(
+            User user,
+            String operation,
+            String idempotencyKey,
+            Object request,
+            Class<T> responseType,
+            Supplier<T> action
+    ) {
+        return run(user, operation, idempotencyKey, request, responseType, null, action);
+    }
+
+    @Override
+    public <T> T execute(
+            User user,
+            String operation,
+            String idempotencyKey,
+            Object request,
+            Class<T> responseType,
+            Supplier<Optional<T>> existingResult,
+            Supplier<T> action
+    ) {
+        return run(user, operation, idempotencyKey, request, responseType, existingResult,
+                action);
+    }
+
+    private <T> T run(
+            User user,
+            String operation,
+            String idempotencyKey,
+            Object request,
+            Class<T> responseType,
+            Supplier<Optional<T>> existingResult,
+            Supplier<T> action
+    ) {
+        validateKey(idempotencyKey);
+        String scope = user.getId() + ":" + operation + ":" + idempotencyKey;
+        String requestHash = hash(request);
+
+        StoredResponse cached = completed.get(scope);
+        if (cached != null && !cached.isExpired()) {
+            return replay(cached, requestHash, responseType);
+        }
+
+        CompletableFuture<StoredResponse> created = new CompletableFuture<>();
+        InFlightRequest current = new InFlightRequest(requestHash, created);
+        InFlightRequest existing = inFlight.putIfAbsent(scope, current);
+        if (existing != null) {
+            requireSameRequest(existing.requestHash(), requestHash);
+            return replay(await(existing.response()), requestHash, responseType);
+        }
+
+        try {
+            Claim claim = claim(user.getId(), operation, idempotencyKey, requestHash);
+            IdempotencyRecord record = claim.record();
+            if (record.isCompleted()) {
+                StoredResponse stored = toStoredResponse(record);
+                completed.put(scope, stored);
+                created.complete(stored);
+                return replay(stored, requestHash, responseType);
+            }
+
+            Completion<T> completion = existingResult == null
+                    ? runInTransaction(record, action)
+                    : runExternal(claim, existingResult, action);
+            completed.put(scope, completion.stored());
+            created.complete(completion.stored());
+            return completion.result();
+        } catch (RuntimeException e) {
+            created.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(scope, current);
+        }
+    }
+
+    @Override
+    @Transactional
+    @Scheduled(cron = "${app.idempotency.cleanup-cron:0 0 * * * *}")
+    public void deleteExpiredKeys() {
+        int deleted = idempotencyRecordRepository.deleteExpired(LocalDateTime.now());
+        schedulerMetrics.recordRows("idempotency-cleanup", deleted);
+        synchronized (completed) {
+            completed.values().removeIf(StoredResponse::isExpired);
+        }
+        if (deleted > 0) {
+            log.info("Deleted {} expired idempotency keys", deleted);
+        }
+    }
+
+    private <T> Completion<T> runInTransaction(IdempotencyRecord record, Supplier<T> action) {
+        try {
+            return transactionTemplate.execute(status -> {
+                T result = action.get();
+                return new Completion<>(result, complete(record, result));
+            });
+        } catch (RuntimeException e) {
+            releaseClaim(record);
+            throw e;
+        }
+    }
+
+    private <T> Completion<T> runExternal(
+            Claim claim,
+            Supplier<Optional<T>> existingResult,
+            Supplier<T> action
+    ) {
+        IdempotencyRecord record = claim.record();
+        T result;
+        try {
+            Optional<T> existing = claim.takenOver() ? existingResult.get() : Optional.empty();
+            if (existing.isPresent()) {
+                log.warn("Recovered result of idempotency claim {} for operation {} "
+                        + "from its side effect", record.getId(), record.getOperation());
+            }
+            result = existing.orElseGet(action);
+        } catch (RuntimeException e) {
+            releaseClaim(record);
+            throw e;
+        }
+        return new Completion<>(result, transactionTemplate.execute(status ->
+                complete(record, result)));
+    }
+
+    private StoredResponse complete(IdempotencyRecord record, Object result) {
+        String body = toJson(result);
+        int updated = idempotencyRecordRepository.complete(
+                record.getId(), record.getClaimedAt(), body
+        );
+        if (updated != 1) {
+            throw new IdempotencyConflictException(IN_PROGRESS);
+        }
+        return new StoredResponse(record.getRequestHash(), body, record.getExpiresAt());
+    }
+
+    private void releaseClaim(IdempotencyRecord record) {
+        transactionTemplate.executeWithoutResult(status ->
+                idempotencyRecordRepository.deleteClaim(record.getId(), record.getClaimedAt()));
+    }
+
+    private Claim claim(
+            Long userId,
+            String operation,
+            String idempotencyKey,
+            String requestHash
+    ) {
+        Optional<IdempotencyRecord> existing = transactionTemplate.execute(status ->
+                idempotencyRecordRepository.findByUserIdAndOperationAndIdempotencyKey(
+                        userId, operation, idempotencyKey
+                ));
+        if (existing != null && existing.isPresent()) {
+            IdempotencyRecord record = existing.get();
+            if (!record.isExpired()) {
+                requireSameRequest(record.getRequestHash(), requestHash);
+                return record.isCompleted()
+                        ? new Claim(record, false)
+                        : new Claim(takeOverIfStale(record), true);
+            }
+            transactionTemplate.executeWithoutResult(status ->
+                    idempotencyRecordRepository.deleteById(record.getId()));
+        }
+
+        IdempotencyRecord claim = IdempotencyRecord.builder()
+                .userId(userId)
+                .operation(operation)
+                .idempotencyKey(idempotencyKey)
+                .requestHash(requestHash)
+                .claimedAt(claimTime())
+                .expiresAt(LocalDateTime.now().plusHours(ttlHours))
+                .build();
+        try {
+            return new Claim(transactionTemplate.execute(status ->
+                    idempotencyRecordRepository.save(claim)), false);
+        } catch (DataIntegrityViolationException e) {
+            transactionTemplate.execute(status ->
+                    idempotencyRecordRepository.findByUserIdAndOperationAndIdempotencyKey(
+                            userId, operation, idempotencyKey
+                    )).ifPresent(record ->
+                    requireSameRequest(record.getRequestHash(), requestHash));
+            throw new IdempotencyConflictException(IN_PROGRESS);
+        }
+    }
+
+    private IdempotencyRecord takeOverIfStale(IdempotencyRecord record) {
+        LocalDateTime now = claimTime();
+        LocalDateTime staleBefore = now.minusSeconds(claimLeaseSeconds);
+        if (record.isClaimStale(staleBefore)) {
+            Integer updated = transactionTemplate.execute(status ->
+                    idempotencyRecordRepository.takeOverStaleClaim(
+                            record.getId(), staleBefore, now
+                    ));
+            if (updated != null && updated == 1) {
+                log.warn("Took over stale idempotency claim {} for operation {} claimed at {}",
+                        record.getId(), record.getOperation(), record.getClaimedAt());
+                record.setClaimedAt(now);
+                return record;
+            }
+        }
+        throw new IdempotencyConflictException(IN_PROGRESS);
+    }
+
+    private <T> T replay(StoredResponse stored, String requestHash, Class<T> responseType) {
+        requireSameRequest(stored.requestHash(), requestHash);
+        try {
+            return objectMapper.readValue(stored.body(), responseType);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored idempotent response cannot be read", e);
+        }
+    }
+
+    private void requireSameRequest(String storedHash, String requestHash) {
+        if (!storedHash.equals(requestHash)) {
+            throw new IdempotencyKeyReuseException(
+                    "Idempotency-Key was already used with a different request"
+            );
+        }
+    }
+
+    private StoredResponse await(CompletableFuture<StoredResponse> future) {
+        try {
+            return future.copy().orTimeout(claimLeaseSeconds, TimeUnit.SECONDS).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof TimeoutException) {
+                throw new IdempotencyConflictException(IN_PROGRESS);
+            }
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void validateKey(String idempotencyKey) {
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new InvalidRequestParameterException(
+                    "Idempotency-Key must be between 1 and " + MAX_KEY_LENGTH + " characters"
+            );
+        }
+    }
+
+    private String hash(Object request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(toJson(request).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Value cannot be serialized", e);
+        }
+    }
+
+    private LocalDateTime claimTime() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+    }
+
+    private StoredResponse toStoredResponse(IdempotencyRecord record) {
+        return new StoredResponse(
+                record.getRequestHash(),
+                record.getResponseBody(),
+                record.getExpiresAt()
+        );
+    }
+
+    private record Claim(IdempotencyRecord record, boolean takenOver) {
+    }
+
+    private record Completion<T>(T result, StoredResponse stored) {
+    }
+
+    private record InFlightRequest(
+            String requestHash,
+            CompletableFuture<StoredResponse> response
+    ) {
+    }
+
+    private record StoredResponse(String requestHash, String body, LocalDateTime expiresAt) {
+        private boolean isExpired() {
+            return LocalDateTime.now().isAfter(expiresAt);
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.daniil.bookingapp.service.impl;
+
+import com.daniil.bookingapp.dto.payment.PaymentReconciliationReportDto;
+import com.daniil.bookingapp.model.Accommodation;
+import com.daniil.bookingapp.model.Booking;
+import com.daniil.bookingapp.model.Payment;
+import com.daniil.bookingapp.notification.NotificationDispatcher;
+import com.daniil.bookingapp.notification.NotificationMessage;
+import com.daniil.bookingapp.notification.NotificationType;
+import com.daniil.bookingapp.service.NotificationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+public class NotificationServiceImpl implements NotificationService {
+    private final NotificationDispatcher notificationDispatcher;
+
+    @Override
+    public void sendBookingCreatedNotification(Booking booking) {
+        String message = String.format(
+                "*New Booking Created*\n\n"
+                        + "Booking ID: `%d`\n"
+                        + "User: %s (%s)\n"
+                        + "Accommodation: %s\n"
+                        + "Location: %s\n"
+                        + "Check-in: %s\n"
+                        + "Check-out: %s\n"
+                        + "Total Price: $%.2f\n"
+                        + "Status: %s",
+                booking.getId(),
+                booking.getUser().getFullName(),
+                booking.getUser().getEmail(),
+                booking.getAccommodation().getType(),
+                booking.getAccommodation().getLocation(),
+                booking.getCheckInDate(),
+                booking.getCheckOutDate(),
+                booking.getTotalPrice(),
+                booking.getStatus()
+        );
+
+        dispatch(NotificationType.BOOKING_CREATED, "New Booking Created", message);
+    }
+
+    @Override
+    public void sendBookingCancelledNotification(Booking booking) {
+        String message = String.format(
+                "*Booking Cancelled*\n\n"
+                        + "Booking ID: `%d`\n"
+                        + "User: %s\n"
+                        + "Accommodation: %s at %s\n"
+                        + "Dates: %s - %s\n"
+                        + "Amount: $%.2f\n\n"
+                        + "Accommodation availability increased",
+                booking.getId(),
+                booking.getUser().getFullName(),
+                booking.getAccommodation().getType(),
+                booking.getAccommodation().getLocation(),
+                booking.getCheckInDate(),
+                booking.getCheckOutDate(),
+                booking.getTotalPrice()
+        );
+
+        dispatch(NotificationType.BOOKING_CANCELLED, "Booking Cancelled", message);
+    }
+
+    @Override
+    public void sendAccommodationCreatedNotification(Accommodation accommodation) {
+        String message = String.format(
+                "*New Accommodation Added*\n\n"
+                        + "ID: `%d`\n"
+                        + "Type: %s\n"
+                        + "Location: %s\n"
+                        + "Size: %s\n"
+                        + "Daily Rate: $%.2f\n"
+                        + "Availability: %d units\n"
+                        + "Amenities: %s",
+                accommodation.getId(),
+                accommodation.getType(),
+                accommodation.getLocation(),
+                accommodation.getSize(),
+                accommodation.getDailyRate(),
+                accommodation.getAvailability(),
+                accommodation.getAmenities().isEmpty()
+                        ? "None" : accommodation.getAmenities()
+        );
+
+        dispatch(NotificationType.ACCOMMODATION_CREATED, "New Accommodation Added", message);
+    }
+
+    @Override
+    public void sendAccommodationReleasedNotification(Accommodation accommodation) {
+        String line = String.format(
+                "`%d` %s at %s, now %d units available",
+                accommodation.getId(),
+                accommodation.getType(),
+                accommodation.getLocation(),
+                accommodation.getAvailability()
+        );
+
+        dispatch(NotificationType.ACCOMMODATION_RELEASED, "Accommodations Released", line);
+    }
+
+    @Override
+    public void sendAccommodationsImportedNotification(long importedCount, long failedCount) {
+        String message = String.format(
+                "*Accommodations Imported*\n\n"
+                        + "Imported: %d accommodation%s\n"
+                        + "Rejected rows: %d",
+                importedCount,
+                importedCount == 1 ? "" : "s",
+                failedCount
+        );
+
+        dispatch(NotificationType.ACCOMMODATIONS_IMPORTED, "Accommodations Imported", message);
+    }
+
+    @Override
+    public void sendPaymentSuccessNotification(Payment payment) {
+        String message = String.format(
+                "*Payment Successful*\n\n"
+                        + "Payment ID: `%d`\n"
+                        + "Booking ID: `%d`\n"
+                        + "User: %s (%s)\n"
+                        + "Amount Paid: $%.2f\n"
+                        + "Paid At: %s\n"
+                        + "Booking Status: CONFIRMED",
+                payment.getId(),
+                payment.getBooking().getId(),
+                payment.getUser().getFullName(),
+                payment.getUser().getEmail(),
+                payment.getAmountToPay(),
+                payment.getPaidAt()
+        );
+
+        dispatch(NotificationType.PAYMENT_SUCCEEDED, "Payment Successful", message);
+    }
+
+    @Override
+    public void sendPaymentCreatedNotification(Payment payment) {
+        String message = String.format(
+                "*Payment Session Created*\n\n"
+                        + "Payment ID: `%d`\n"
+                        + "Booking ID: `%d`\n"
+                        + "User: %s\n"
+                        + "Amount: $%.2f\n"
+                        + "Expires At: %s\n"
+                        + "Status: PENDING",
+                payment.getId(),
+                payment.getBooking().getId(),
+                payment.getUser().getFullName(),
+                payment.getAmountToPay(),
+                payment.getExpiresAt()
+        );
+
+        dispatch(NotificationType.PAYMENT_CREATED, "Payment Session Created", message);
+    }
+
+    @Override
+    public void sendPaymentReconciliationNotification(PaymentReconciliationReportDto report) {
+        String message = String.format(
+                "*Payment Reconciliation Report*\n\n"
+                        + "Checked: %d payment%s in %d s\n"
+                        + "Marked as paid: %d\n"
+                        + "Marked as expired: %d\n"
+                        + "Conflicts: %d\n"
+                        + "Missing at provider: %d\n"
+                        + "Failed lookups: %d",
+                report.getScanned(),
+                report.getScanned() == 1 ? "" : "s",
+                report.getDurationMs() / 1000,
+                report.getMarkedPaid(),
+                report.getMarkedExpired(),
+                report.getConflicts(),
+                report.getMissing(),
+                report.getFailed()
+        );
+
+        dispatch(NotificationType.PAYMENT_RECONCILED, "Payment Reconciliation Report", message);
+    }
+
+    @Override
+    public void sendExpiredBookingsNotification(int count) {
+        String message = String.format(
+                "*Expired Bookings Report*\n\n"
+                        + "Found %d expired booking%s today.\n"
+                        + "All expired bookings have been marked as EXPIRED.",
+                count,
+                count == 1 ? "" : "s"
+        );
+
+        dispatch(NotificationType.EXPIRED_BOOKINGS, "Expired Bookings Report", message);
+    }
+
+    @Override
+    public void sendNoExpiredBookingsNotification() {
+        String message = "*No expired bookings today!*";
+        dispatch(NotificationType.EXPIRED_BOOKINGS, "No expired bookings today!", message);
+    }
+
+    private void dispatch(NotificationType type, String title, String text) {
+        notificationDispatcher.dispatch(new NotificationMessage(type, title, text));
+    }
+}
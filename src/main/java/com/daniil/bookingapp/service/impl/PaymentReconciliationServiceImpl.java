@@ -0,0 +1,301 @@
+package com.daniil.bookingapp.service.impl;
+
+import com.daniil.bookingapp.dto.payment.PaymentReconciliationReportDto;
+import com.daniil.bookingapp.event.PaymentSucceededEvent;
+import com.daniil.bookingapp.exception.CheckoutSessionNotFoundException;
+import com.daniil.bookingapp.exception.ReconciliationInProgressException;
+import com.daniil.bookingapp.gateway.CheckoutSession;
+import com.daniil.bookingapp.gateway.PaymentGateway;
+import com.daniil.bookingapp.metrics.SchedulerMetrics;
+import com.daniil.bookingapp.model.Booking;
+import com.daniil.bookingapp.model.Payment;
+import com.daniil.bookingapp.model.enums.BookingStatus;
+import com.daniil.bookingapp.model.enums.PaymentStatus;
+import com.daniil.bookingapp.repository.PaymentRepository;
+import com.daniil.bookingapp.repository.projection.PaymentReconciliationView;
+import com.daniil.bookingapp.resilience.TokenBucket;
+import com.daniil.bookingapp.service.BookingService;
+import com.daniil.bookingapp.service.NotificationService;
+import com.daniil.bookingapp.service.PaymentReconciliationService;
+import com.daniil.bookingapp.util.ThreadUtil;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PaymentReconciliationServiceImpl implements PaymentReconciliationService {
+    private static final Set<PaymentStatus> RECONCILED_STATUSES =
+            EnumSet.of(PaymentStatus.PENDING, PaymentStatus.EXPIRED);
+
+    private final PaymentRepository paymentRepository;
+    private final PaymentGateway paymentGateway;
+    private final BookingService bookingService;
+    private final NotificationService notificationService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final SchedulerMetrics schedulerMetrics;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Value("${app.reconciliation.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${app.reconciliation.concurrency:8}")
+    private int concurrency;
+
+    @Value("${app.reconciliation.max-calls-per-second:20}")
+    private int maxCallsPerSecond;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private ExecutorService executor;
+    private ExecutorService scheduledRunner;
+    private TokenBucket callBudget;
+
+    @PostConstruct
+    public void init() {
+        callBudget = new TokenBucket(maxCallsPerSecond, maxCallsPerSecond, Duration.ofSeconds(1));
+        executor = Executors.newFixedThreadPool(concurrency,
+                ThreadUtil.factory("reconcile-", virtualThreads));
+        scheduledRunner = Executors.newSingleThreadExecutor(
+                ThreadUtil.factory("reconcile-scheduled-", false));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduledRunner.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    @Override
+    @Scheduled(cron = "${app.reconciliation.cron:0 30 3 * * *}")
+    public void reconcileScheduled() {
+        runInBackground("scheduled");
+    }
+
+    @Override
+    public void submit() {
+        if (running.get()) {
+            throw new ReconciliationInProgressException(
+                    "Payment reconciliation is already running"
+            );
+        }
+        runInBackground("manual");
+    }
+
+    @Override
+    public PaymentReconciliationReportDto reconcile() {
+        if (!running.compareAndSet(false, true)) {
+            throw new ReconciliationInProgressException(
+                    "Payment reconciliation is already running"
+            );
+        }
+        try {
+            return run();
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private void runInBackground(String trigger) {
+        scheduledRunner.execute(() -> {
+            try {
+                notificationService.sendPaymentReconciliationNotification(reconcile());
+            } catch (ReconciliationInProgressException e) {
+                log.warn("Skipping {} payment reconciliation: {}", trigger, e.getMessage());
+            } catch (RuntimeException e) {
+                log.error("{} payment reconciliation failed", trigger, e);
+            }
+        });
+    }
+
+    private PaymentReconciliationReportDto run() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        long start = System.nanoTime();
+        Tally tally = new Tally();
+
+        Long afterId = 0L;
+        List<PaymentReconciliationView> chunk;
+        do {
+            chunk = paymentRepository.findReconciliationChunk(
+                    afterId,
+                    RECONCILED_STATUSES,
+                    PageRequest.of(0, chunkSize)
+            );
+            if (chunk.isEmpty()) {
+                break;
+            }
+            afterId = chunk.get(chunk.size() - 1).getId();
+            reconcileChunk(chunk, tally);
+        } while (chunk.size() == chunkSize);
+
+        PaymentReconciliationReportDto report = PaymentReconciliationReportDto.builder()
+                .startedAt(startedAt)
+                .finishedAt(LocalDateTime.now())
+                .durationMs(Duration.ofNanos(System.nanoTime() - start).toMillis())
+                .scanned(tally.scanned)
+                .matched(tally.matched)
+                .markedPaid(tally.markedPaid)
+                .markedExpired(tally.markedExpired)
+                .conflicts(tally.conflicts)
+                .missing(tally.missing)
+                .failed(tally.failed)
+                .build();
+
+        schedulerMetrics.recordRows("payment-reconciliation", tally.scanned);
+        log.info("Payment reconciliation finished: {}", report);
+        return report;
+    }
+
+    private void reconcileChunk(List<PaymentReconciliationView> chunk, Tally tally) {
+        List<CompletableFuture<Lookup>> futures = chunk.stream()
+                .map(payment -> CompletableFuture.supplyAsync(() -> lookup(payment), executor))
+                .toList();
+
+        List<Lookup> paid = new ArrayList<>();
+        List<PaymentReconciliationView> expired = new ArrayList<>();
+        for (CompletableFuture<Lookup> future : futures) {
+            Lookup lookup = future.join();
+            tally.scanned++;
+            switch (lookup.result()) {
+                case ERROR -> tally.failed++;
+                case MISSING -> tally.missing++;
+                default -> {
+                    CheckoutSession session = lookup.session();
+                    if (session.isPaid()) {
+                        paid.add(lookup);
+                    } else if (session.isExpired()
+                            && lookup.payment().getStatus() == PaymentStatus.PENDING) {
+                        expired.add(lookup.payment());
+                    } else {
+                        tally.matched++;
+                    }
+                }
+            }
+        }
+
+        if (!expired.isEmpty()) {
+            Integer updated = transactionTemplate.execute(status -> expired.stream()
+                    .mapToInt(payment -> paymentRepository.updateStatusByIdAndSessionId(
+                            payment.getId(),
+                            payment.getSessionId(),
+                            PaymentStatus.PENDING,
+                            PaymentStatus.EXPIRED
+                    ))
+                    .sum());
+            tally.markedExpired += updated;
+            tally.matched += expired.size() - updated;
+        }
+        for (Lookup lookup : paid) {
+            try {
+                switch (transactionTemplate.execute(status -> applyPaid(lookup))) {
+                    case MARKED_PAID -> tally.markedPaid++;
+                    case CONFLICT -> tally.conflicts++;
+                    default -> tally.matched++;
+                }
+            } catch (RuntimeException e) {
+                log.error("Failed to apply provider payment for payment {}",
+                        lookup.payment().getId(), e);
+                tally.failed++;
+            }
+        }
+    }
+
+    private Lookup lookup(PaymentReconciliationView payment) {
+        try {
+            callBudget.acquire();
+            CheckoutSession session = paymentGateway.retrieveCheckoutSession(
+                    payment.getSessionId()
+            );
+            return new Lookup(payment, session, LookupResult.FOUND);
+        } catch (CheckoutSessionNotFoundException e) {
+            log.warn("Session for payment {} not found at provider: {}",
+                    payment.getId(), e.getMessage());
+            return new Lookup(payment, null, LookupResult.MISSING);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new Lookup(payment, null, LookupResult.ERROR);
+        } catch (RuntimeException e) {
+            log.warn("Failed to look up session for payment {}: {}",
+                    payment.getId(), e.getMessage());
+            return new Lookup(payment, null, LookupResult.ERROR);
+        }
+    }
+
+    private PaidResult applyPaid(Lookup lookup) {
+        Booking booking = bookingService.lockBookingById(lookup.payment().getBookingId());
+        Payment payment = paymentRepository.findById(lookup.payment().getId()).orElseThrow();
+
+        if (payment.getStatus() == PaymentStatus.PAID
+                && lookup.session().id().equals(payment.getSessionId())) {
+            return PaidResult.MATCHED;
+        }
+        if (!lookup.session().id().equals(payment.getSessionId())
+                || !RECONCILED_STATUSES.contains(payment.getStatus())
+                || booking.getStatus() != BookingStatus.PENDING) {
+            log.warn("Provider reports session {} paid but payment {} is {} on session {} "
+                            + "and booking {} is {}",
+                    lookup.session().id(), payment.getId(), payment.getStatus(),
+                    payment.getSessionId(), booking.getId(), booking.getStatus());
+            return PaidResult.CONFLICT;
+        }
+
+        payment.markAsPaidByProvider(lookup.session().paymentIntentId());
+        booking.confirm();
+        paymentRepository.save(payment);
+        eventPublisher.publishEvent(new PaymentSucceededEvent(
+                payment.getId(),
+                booking.getId(),
+                booking.getAccommodation().getId()
+        ));
+        return PaidResult.MARKED_PAID;
+    }
+
+    private enum LookupResult {
+        FOUND,
+        MISSING,
+        ERROR
+    }
+
+    private enum PaidResult {
+        MATCHED,
+        MARKED_PAID,
+        CONFLICT
+    }
+
+    private record Lookup(
+            PaymentReconciliationView payment,
+            CheckoutSession session,
+            LookupResult result
+    ) {
+    }
+
+    private static final class Tally {
+        private long scanned;
+        private long matched;
+        private long markedPaid;
+        private long markedExpired;
+        private long conflicts;
+        private long missing;
+        private long failed;
+    }
+}
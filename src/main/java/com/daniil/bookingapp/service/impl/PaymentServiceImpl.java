@@ -4,9 +4,15 @@ import com.daniil.bookingapp.dto.payment.PaymentCancelResponseDto;
 import com.daniil.bookingapp.dto.payment.PaymentRequestDto;
 import com.daniil.bookingapp.dto.payment.PaymentResponseDto;
 import com.daniil.bookingapp.dto.payment.PaymentSuccessResponseDto;
+import com.daniil.bookingapp.event.PaymentCreatedEvent;
 import com.daniil.bookingapp.exception.BookingException;
 import com.daniil.bookingapp.exception.EntityNotFoundException;
+import com.daniil.bookingapp.exception.PaymentGatewayException;
+import com.daniil.bookingapp.gateway.CheckoutRequest;
+import com.daniil.bookingapp.gateway.CheckoutSession;
+import com.daniil.bookingapp.gateway.PaymentGateway;
 import com.daniil.bookingapp.mapper.PaymentMapper;
+import com.daniil.bookingapp.metrics.SchedulerMetrics;
 import com.daniil.bookingapp.model.Booking;
 import com.daniil.bookingapp.model.Payment;
 import com.daniil.bookingapp.model.User;
@@ -15,22 +21,24 @@ import com.daniil.bookingapp.model.enums.PaymentStatus;
 import com.daniil.bookingapp.model.enums.RoleName;
 import com.daniil.bookingapp.repository.PaymentRepository;
 import com.daniil.bookingapp.service.BookingService;
-import com.daniil.bookingapp.service.NotificationService;
 import com.daniil.bookingapp.service.PaymentService;
-import com.stripe.exception.StripeException;
-import com.stripe.model.checkout.Session;
-import com.stripe.param.checkout.SessionCreateParams;
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
 @Slf4j
@@ -40,11 +48,15 @@ public class PaymentServiceImpl implements PaymentService {
     private static final String PAYMENT_CURRENCY = "usd";
     private static final long SESSION_EXPIRATION_HOURS = 23;
     private static final int STRIPE_AMOUNT_MULTIPLIER = 100;
+    private static final Duration RESERVATION_TIMEOUT = Duration.ofMinutes(5);
 
     private final PaymentRepository paymentRepository;
     private final BookingService bookingService;
-    private final NotificationService notificationService;
+    private final ApplicationEventPublisher eventPublisher;
     private final PaymentMapper paymentMapper;
+    private final PaymentGateway paymentGateway;
+    private final TransactionTemplate transactionTemplate;
+    private final SchedulerMetrics schedulerMetrics;
 
     @Value("${app.base-url:http://localhost:8080}")
     private String baseUrl;
@@ -70,102 +82,55 @@ public class PaymentServiceImpl implements PaymentService {
     }
 
     @Override
-    @Transactional
     public PaymentResponseDto createPaymentSession(PaymentRequestDto requestDto, User user) {
-        Booking booking = bookingService.getBookingById(requestDto.getBookingId());
+        Reservation reservation = transactionTemplate.execute(status ->
+                reserveNewPayment(requestDto.getBookingId(), user));
 
-        if (!booking.getUser().getId().equals(user.getId())) {
-            throw new BookingException("You can only create payments for your own bookings");
-        }
+        CheckoutSession checkoutSession = createCheckoutSession(reservation);
 
-        if (booking.getStatus() != BookingStatus.PENDING) {
-            throw new BookingException(
-                    "Payment can only be created for pending bookings. "
-                            + "Current status: " + booking.getStatus()
-            );
-        }
-
-        if (booking.getPayment() != null) {
-            Payment existingPayment = booking.getPayment();
-            if (existingPayment.getStatus() == PaymentStatus.PAID) {
-                throw new BookingException("Booking already has a paid payment");
+        PaymentResponseDto response = transactionTemplate.execute(status -> {
+            Payment saved = attachSession(reservation, checkoutSession);
+            if (saved == null) {
+                return null;
             }
-            if (existingPayment.getStatus() == PaymentStatus.PENDING
-                    && !existingPayment.isExpired()) {
-                throw new BookingException(
-                        "Booking already has an active payment session. "
-                                + "Please use the existing session or wait for it to expire"
-                );
-            }
-        }
-
-        try {
-            Session stripeSession = createStripeSession(booking);
-
-            Payment payment = Payment.builder()
-                    .booking(booking)
-                    .user(user)
-                    .amountToPay(booking.getTotalPrice())
-                    .sessionUrl(stripeSession.getUrl())
-                    .sessionId(stripeSession.getId())
-                    .status(PaymentStatus.PENDING)
-                    .expiresAt(LocalDateTime.now().plusHours(SESSION_EXPIRATION_HOURS))
-                    .build();
-
-            Payment saved = paymentRepository.save(payment);
-
-            notificationService.sendPaymentCreatedNotification(saved);
-
+            eventPublisher.publishEvent(new PaymentCreatedEvent(
+                    saved.getId(),
+                    saved.getBooking().getId()
+            ));
             return paymentMapper.toDto(saved);
-        } catch (StripeException e) {
-            log.error("Failed to create Stripe session for booking {}: {}",
-                    booking.getId(), e.getMessage(), e);
-            throw new BookingException("Failed to create payment session: " + e.getMessage());
-        }
+        });
+        return requireAttached(response, reservation, checkoutSession);
     }
 
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
+    public Optional<PaymentResponseDto> findOpenPaymentSession(
+            PaymentRequestDto requestDto,
+            User user
+    ) {
+        Booking booking = bookingService.getBookingById(requestDto.getBookingId());
+        return Optional.ofNullable(booking.getPayment())
+                .filter(payment -> payment.getUser().getId().equals(user.getId()))
+                .filter(payment -> payment.isPending() && payment.getSessionId() != null)
+                .filter(payment -> !payment.isExpired())
+                .map(paymentMapper::toDto);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public PaymentSuccessResponseDto handleSuccessPayment(String sessionId) {
         Payment payment = paymentRepository.findBySessionId(sessionId)
                 .orElseThrow(() -> new EntityNotFoundException(
                         "Payment not found for session: " + sessionId
                 ));
 
-        if (payment.getStatus() == PaymentStatus.PAID) {
-            throw new BookingException("Payment already processed");
-        }
-
-        try {
-            Session session = Session.retrieve(sessionId);
-
-            if (!"complete".equals(session.getStatus())
-                    || !"paid".equals(session.getPaymentStatus())) {
-                throw new BookingException("Payment was not completed successfully");
-            }
-
-            payment.markAsPaid();
-            payment.setStripePaymentIntentId(session.getPaymentIntent());
-
-            Booking booking = payment.getBooking();
-            booking.confirm();
-
-            paymentRepository.save(payment);
-
-            notificationService.sendPaymentSuccessNotification(payment);
-
-            return PaymentSuccessResponseDto.builder()
-                    .paymentId(payment.getId())
-                    .bookingId(booking.getId())
-                    .amountPaid(payment.getAmountToPay())
-                    .paidAt(payment.getPaidAt())
-                    .build();
-
-        } catch (StripeException e) {
-            log.error("Failed to verify Stripe session {}: {}",
-                    sessionId, e.getMessage(), e);
-            throw new BookingException("Failed to verify payment: " + e.getMessage());
-        }
+        return PaymentSuccessResponseDto.builder()
+                .paymentId(payment.getId())
+                .bookingId(payment.getBooking().getId())
+                .status(payment.getStatus())
+                .amountPaid(payment.getAmountToPay())
+                .paidAt(payment.getPaidAt())
+                .build();
     }
 
     @Override
@@ -188,47 +153,17 @@ public class PaymentServiceImpl implements PaymentService {
     }
 
     @Override
-    @Transactional
     public PaymentResponseDto renewPaymentSession(Long paymentId, User user) {
-        Payment payment = getPaymentById(paymentId);
+        Reservation reservation = transactionTemplate.execute(status ->
+                reserveRenewal(paymentId, user));
 
-        if (!payment.getUser().getId().equals(user.getId())) {
-            throw new BookingException("You can only renew your own payments");
-        }
+        CheckoutSession checkoutSession = createCheckoutSession(reservation);
 
-        if (payment.getStatus() != PaymentStatus.EXPIRED
-                && payment.getStatus() != PaymentStatus.CANCELED) {
-            throw new BookingException(
-                    "Only expired or canceled payments can be renewed. Current status: "
-                            + payment.getStatus()
-            );
-        }
-
-        Booking booking = payment.getBooking();
-        if (booking.getStatus() != BookingStatus.PENDING) {
-            throw new BookingException(
-                    "Cannot renew payment for non-pending booking. Booking status: "
-                            + booking.getStatus()
-            );
-        }
-
-        try {
-            Session stripeSession = createStripeSession(booking);
-
-            payment.setSessionUrl(stripeSession.getUrl());
-            payment.setSessionId(stripeSession.getId());
-            payment.setStatus(PaymentStatus.PENDING);
-            payment.setExpiresAt(LocalDateTime.now().plusHours(SESSION_EXPIRATION_HOURS));
-
-            Payment renewed = paymentRepository.save(payment);
-
-            return paymentMapper.toDto(renewed);
-
-        } catch (StripeException e) {
-            log.error("Failed to renew Stripe session for payment {}: {}",
-                    paymentId, e.getMessage(), e);
-            throw new BookingException("Failed to renew payment session: " + e.getMessage());
-        }
+        PaymentResponseDto response = transactionTemplate.execute(status -> {
+            Payment saved = attachSession(reservation, checkoutSession);
+            return saved == null ? null : paymentMapper.toDto(saved);
+        });
+        return requireAttached(response, reservation, checkoutSession);
     }
 
     @Override
@@ -269,9 +204,156 @@ public class PaymentServiceImpl implements PaymentService {
                         payment.getId(), e.getMessage(), e);
             }
         }
+        schedulerMetrics.recordRows("expired-payment-sessions", expiredPayments.size());
     }
 
-    private Session createStripeSession(Booking booking) throws StripeException {
+    private Reservation reserveNewPayment(Long bookingId, User user) {
+        Booking booking = bookingService.lockBookingById(bookingId);
+
+        if (!booking.getUser().getId().equals(user.getId())) {
+            throw new BookingException("You can only create payments for your own bookings");
+        }
+
+        if (booking.getStatus() != BookingStatus.PENDING) {
+            throw new BookingException(
+                    "Payment can only be created for pending bookings. "
+                            + "Current status: " + booking.getStatus()
+            );
+        }
+
+        Payment payment = booking.getPayment();
+        if (payment != null) {
+            if (payment.getStatus() == PaymentStatus.PAID) {
+                throw new BookingException("Booking already has a paid payment");
+            }
+            if (payment.getStatus() == PaymentStatus.PENDING && !payment.isExpired()) {
+                throw new BookingException(
+                        "Booking already has an active payment session. "
+                                + "Please use the existing session or wait for it to expire"
+                );
+            }
+        } else {
+            payment = Payment.builder()
+                    .booking(booking)
+                    .user(user)
+                    .build();
+        }
+
+        payment.setAmountToPay(booking.getTotalPrice());
+        return reserve(payment, booking);
+    }
+
+    private Reservation reserveRenewal(Long paymentId, User user) {
+        Long bookingId = paymentRepository.findBookingIdById(paymentId)
+                .orElseThrow(() -> new EntityNotFoundException(
+                        "Payment not found with id: " + paymentId
+                ));
+        Booking booking = bookingService.lockBookingById(bookingId);
+        Payment payment = getPaymentById(paymentId);
+
+        if (!payment.getUser().getId().equals(user.getId())) {
+            throw new BookingException("You can only renew your own payments");
+        }
+
+        if (payment.getStatus() != PaymentStatus.EXPIRED
+                && payment.getStatus() != PaymentStatus.CANCELED
+                && payment.getStatus() != PaymentStatus.FAILED) {
+            throw new BookingException(
+                    "Only expired, canceled or failed payments can be renewed. "
+                            + "Current status: " + payment.getStatus()
+            );
+        }
+
+        if (booking.getStatus() != BookingStatus.PENDING) {
+            throw new BookingException(
+                    "Cannot renew payment for non-pending booking. Booking status: "
+                            + booking.getStatus()
+            );
+        }
+
+        return reserve(payment, booking);
+    }
+
+    private Reservation reserve(Payment payment, Booking booking) {
+        payment.setStatus(PaymentStatus.PENDING);
+        payment.setSessionId(null);
+        payment.setSessionUrl(null);
+        payment.setExpiresAt(LocalDateTime.now().plus(RESERVATION_TIMEOUT));
+
+        Payment reserved = paymentRepository.save(payment);
+
+        return new Reservation(reserved.getId(), booking.getId(), buildCheckoutRequest(booking));
+    }
+
+    private CheckoutSession createCheckoutSession(Reservation reservation) {
+        try {
+            return paymentGateway.createCheckoutSession(reservation.request());
+        } catch (PaymentGatewayException | BookingException e) {
+            log.error("Failed to create checkout session for payment {}: {}",
+                    reservation.paymentId(), e.getMessage());
+            transactionTemplate.executeWithoutResult(status ->
+                    releaseReservation(reservation.paymentId()));
+            throw e;
+        }
+    }
+
+    private Payment attachSession(Reservation reservation, CheckoutSession checkoutSession) {
+        Booking booking = bookingService.lockBookingById(reservation.bookingId());
+        Payment payment = getPaymentById(reservation.paymentId());
+
+        if (!isUnattachedReservation(payment) || booking.getStatus() != BookingStatus.PENDING) {
+            log.warn("Reservation for payment {} is no longer valid (payment {}, booking {}), "
+                            + "discarding checkout session {}", payment.getId(),
+                    payment.getStatus(), booking.getStatus(), checkoutSession.id());
+            if (payment.isPending() && payment.getSessionId() == null) {
+                payment.markAsFailed();
+                paymentRepository.save(payment);
+            }
+            return null;
+        }
+
+        payment.setSessionUrl(checkoutSession.url());
+        payment.setSessionId(checkoutSession.id());
+        payment.setStatus(PaymentStatus.PENDING);
+        payment.setExpiresAt(LocalDateTime.now().plusHours(SESSION_EXPIRATION_HOURS));
+
+        return paymentRepository.save(payment);
+    }
+
+    private boolean isUnattachedReservation(Payment payment) {
+        return payment.isPending() && payment.getSessionId() == null && !payment.isExpired();
+    }
+
+    private PaymentResponseDto requireAttached(
+            PaymentResponseDto response,
+            Reservation reservation,
+            CheckoutSession checkoutSession
+    ) {
+        if (response != null) {
+            return response;
+        }
+        try {
+            paymentGateway.expireCheckoutSession(checkoutSession.id());
+        } catch (RuntimeException e) {
+            log.error("Failed to expire discarded checkout session {} for payment {}: {}",
+                    checkoutSession.id(), reservation.paymentId(), e.getMessage());
+        }
+        throw new BookingException(
+                "Payment reservation is no longer valid because the booking or payment "
+                        + "changed while the checkout session was created. Please retry"
+        );
+    }
+
+    private void releaseReservation(Long paymentId) {
+        paymentRepository.findById(paymentId)
+                .filter(Payment::isPending)
+                .ifPresent(payment -> {
+                    payment.markAsFailed();
+                    paymentRepository.save(payment);
+                });
+    }
+
+    private CheckoutRequest buildCheckoutRequest(Booking booking) {
         String successUrl = UriComponentsBuilder.fromHttpUrl(baseUrl)
                 .path("/api/payments/success")
                 .queryParam("session_id", "{CHECKOUT_SESSION_ID}")
@@ -286,48 +368,33 @@ public class PaymentServiceImpl implements PaymentService {
                 .multiply(BigDecimal.valueOf(STRIPE_AMOUNT_MULTIPLIER))
                 .longValue();
 
-        SessionCreateParams params = SessionCreateParams.builder()
-                .setMode(SessionCreateParams.Mode.PAYMENT)
-                .setSuccessUrl(successUrl)
-                .setCancelUrl(cancelUrl)
-                .setExpiresAt(LocalDateTime.now()
+        return new CheckoutRequest(
+                successUrl,
+                cancelUrl,
+                LocalDateTime.now()
                         .plusHours(SESSION_EXPIRATION_HOURS)
-                        .toEpochSecond(java.time.ZoneOffset.UTC))
-                .addLineItem(
-                        SessionCreateParams.LineItem.builder()
-                                .setPriceData(
-                                        SessionCreateParams.LineItem.PriceData.builder()
-                                                .setCurrency(PAYMENT_CURRENCY)
-                                                .setUnitAmount(amountInCents)
-                                                .setProductData(
-                                                        SessionCreateParams.LineItem.PriceData
-                                                                .ProductData.builder()
-                                                                .setName(String.format(
-                                                                        "Booking #%d - %s",
-                                                                        booking.getId(),
-                                                                        booking.getAccommodation()
-                                                                                .getType()
-                                                                ))
-                                                                .setDescription(String.format(
-                                                                        "%s at %s (%d nights)",
-                                                                        booking.getAccommodation()
-                                                                                .getSize(),
-                                                                        booking.getAccommodation()
-                                                                                .getLocation(),
-                                                                        booking.getNumberOfDays()
-                                                                ))
-                                                                .build()
-                                                )
-                                                .build()
-                                )
-                                .setQuantity(1L)
-                                .build()
+                        .toEpochSecond(ZoneOffset.UTC),
+                PAYMENT_CURRENCY,
+                amountInCents,
+                String.format(
+                        "Booking #%d - %s",
+                        booking.getId(),
+                        booking.getAccommodation().getType()
+                ),
+                String.format(
+                        "%s at %s (%d nights)",
+                        booking.getAccommodation().getSize(),
+                        booking.getAccommodation().getLocation(),
+                        booking.getNumberOfDays()
+                ),
+                booking.getUser().getEmail(),
+                Map.of(
+                        "bookingId", booking.getId().toString(),
+                        "userId", booking.getUser().getId().toString()
                 )
-                .setCustomerEmail(booking.getUser().getEmail())
-                .putMetadata("bookingId", booking.getId().toString())
-                .putMetadata("userId", booking.getUser().getId().toString())
-                .build();
+        );
+    }
 
-        return Session.create(params);
+    private record Reservation(Long paymentId, Long bookingId, CheckoutRequest request) {
     }
 }
@@ -0,0 +1,127 @@
+package com.daniil.bookingapp.service.impl;
+
+import com.daniil.bookingapp.dto.report.AccommodationRevenueDto;
+import com.daniil.bookingapp.dto.report.DailyRevenueDto;
+import com.daniil.bookingapp.dto.report.NightlyOccupancyDto;
+import com.daniil.bookingapp.exception.InvalidRequestParameterException;
+import com.daniil.bookingapp.metrics.SchedulerMetrics;
+import com.daniil.bookingapp.model.Booking;
+import com.daniil.bookingapp.model.Payment;
+import com.daniil.bookingapp.repository.DailyRevenueRepository;
+import com.daniil.bookingapp.repository.NightlyOccupancyRepository;
+import com.daniil.bookingapp.service.ReportService;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReportServiceImpl implements ReportService {
+    static final long REBUILD_LOCK_KEY = 0x726f6c6c7570L;
+
+    private final DailyRevenueRepository dailyRevenueRepository;
+    private final NightlyOccupancyRepository nightlyOccupancyRepository;
+    private final SchedulerMetrics schedulerMetrics;
+
+    @Value("${app.reports.max-range-days:366}")
+    private long maxRangeDays;
+
+    @Override
+    @Transactional
+    public void recordPaidBooking(Payment payment) {
+        Booking booking = payment.getBooking();
+        Long accommodationId = booking.getAccommodation().getId();
+
+        dailyRevenueRepository.add(
+                payment.getPaidAt().toLocalDate(),
+                accommodationId,
+                payment.getAmountToPay(),
+                1
+        );
+        nightlyOccupancyRepository.add(
+                accommodationId,
+                booking.getCheckInDate(),
+                booking.getCheckOutDate(),
+                1
+        );
+    }
+
+    @Override
+    @Transactional
+    public void recordCancelledBooking(Booking booking) {
+        nightlyOccupancyRepository.add(
+                booking.getAccommodation().getId(),
+                booking.getCheckInDate(),
+                booking.getCheckOutDate(),
+                -1
+        );
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<DailyRevenueDto> getDailyRevenue(
+            LocalDate from,
+            LocalDate to,
+            Long accommodationId
+    ) {
+        validateRange(from, to);
+        return dailyRevenueRepository.findDaily(from, to, accommodationId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<AccommodationRevenueDto> getRevenueByAccommodation(LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        return dailyRevenueRepository.findPerAccommodation(from, to);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<NightlyOccupancyDto> getOccupancy(
+            LocalDate from,
+            LocalDate to,
+            Long accommodationId
+    ) {
+        validateRange(from, to);
+        return nightlyOccupancyRepository.findNightly(from, to, accommodationId);
+    }
+
+    @Override
+    @Transactional
+    @Scheduled(cron = "${app.reports.repair-cron:0 15 2 * * *}")
+    public void rebuildRollups() {
+        if (!dailyRevenueRepository.tryLockRebuild(REBUILD_LOCK_KEY)) {
+            log.info("Rollup rebuild is already running on another instance, skipping");
+            return;
+        }
+        log.info("Rebuilding revenue and occupancy rollups");
+
+        dailyRevenueRepository.lockRollups();
+        dailyRevenueRepository.deleteAllRows();
+        nightlyOccupancyRepository.deleteAllRows();
+        int revenueRows = dailyRevenueRepository.rebuildFromPayments();
+        int occupancyRows = nightlyOccupancyRepository.rebuildFromBookings();
+        schedulerMetrics.recordRows("rollup-rebuild", revenueRows + occupancyRows);
+
+        log.info("Rollups rebuilt: {} revenue rows, {} occupancy rows",
+                revenueRows, occupancyRows);
+    }
+
+    private void validateRange(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new InvalidRequestParameterException("'from' date must not be after 'to' date");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= maxRangeDays) {
+            throw new InvalidRequestParameterException(
+                    "Report range must not exceed " + maxRangeDays + " days"
+            );
+        }
+    }
+}
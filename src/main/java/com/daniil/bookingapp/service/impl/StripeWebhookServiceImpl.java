@@ -0,0 +1,243 @@
+package com.daniil.bookingapp.service.impl;
+
+import com.daniil.bookingapp.event.PaymentSucceededEvent;
+import com.daniil.bookingapp.exception.InvalidWebhookException;
+import com.daniil.bookingapp.metrics.SchedulerMetrics;
+import com.daniil.bookingapp.model.Booking;
+import com.daniil.bookingapp.model.Payment;
+import com.daniil.bookingapp.model.StripeEvent;
+import com.daniil.bookingapp.model.enums.BookingStatus;
+import com.daniil.bookingapp.model.enums.PaymentStatus;
+import com.daniil.bookingapp.model.enums.StripeEventStatus;
+import com.daniil.bookingapp.repository.PaymentRepository;
+import com.daniil.bookingapp.repository.StripeEventRepository;
+import com.daniil.bookingapp.service.BookingService;
+import com.daniil.bookingapp.service.StripeWebhookService;
+import com.stripe.exception.EventDataObjectDeserializationException;
+import com.stripe.exception.SignatureVerificationException;
+import com.stripe.model.Event;
+import com.stripe.model.EventDataObjectDeserializer;
+import com.stripe.model.StripeObject;
+import com.stripe.model.checkout.Session;
+import com.stripe.net.Webhook;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StripeWebhookServiceImpl implements StripeWebhookService {
+    private static final String SESSION_COMPLETED = "checkout.session.completed";
+    private static final String SESSION_ASYNC_SUCCEEDED =
+            "checkout.session.async_payment_succeeded";
+    private static final String SESSION_EXPIRED = "checkout.session.expired";
+    private static final Set<String> SUPPORTED_TYPES =
+            Set.of(SESSION_COMPLETED, SESSION_ASYNC_SUCCEEDED, SESSION_EXPIRED);
+    private static final String PAID = "paid";
+
+    private final StripeEventRepository stripeEventRepository;
+    private final PaymentRepository paymentRepository;
+    private final BookingService bookingService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final SchedulerMetrics schedulerMetrics;
+
+    @Value("${stripe.webhook.secret}")
+    private String webhookSecret;
+
+    @Value("${stripe.webhook.batch-size:100}")
+    private int batchSize;
+
+    @Value("${stripe.webhook.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${stripe.webhook.retry-backoff-ms:5000}")
+    private long retryBackoffMs;
+
+    @Value("${stripe.webhook.max-retry-backoff-ms:300000}")
+    private long maxRetryBackoffMs;
+
+    @Override
+    @Transactional
+    public void receive(String payload, String signatureHeader) {
+        Event event;
+        try {
+            event = Webhook.constructEvent(payload, signatureHeader, webhookSecret);
+        } catch (SignatureVerificationException e) {
+            throw new InvalidWebhookException("Invalid Stripe signature");
+        }
+
+        if (!SUPPORTED_TYPES.contains(event.getType())) {
+            log.debug("Ignoring Stripe event {} of type {}", event.getId(), event.getType());
+            return;
+        }
+
+        Session session = extractSession(event);
+        int inserted = stripeEventRepository.insertIfAbsent(
+                event.getId(),
+                event.getType(),
+                session.getId(),
+                session.getPaymentIntent(),
+                session.getPaymentStatus(),
+                LocalDateTime.now()
+        );
+
+        if (inserted == 0) {
+            log.debug("Duplicate Stripe event {} ignored", event.getId());
+        } else {
+            log.info("Queued Stripe event {} ({}) for session {}",
+                    event.getId(), event.getType(), session.getId());
+        }
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${stripe.webhook.poll-interval-ms:2000}")
+    public void processPendingEvents() {
+        int processed = 0;
+        while (processed < batchSize) {
+            AtomicReference<String> claimed = new AtomicReference<>();
+            try {
+                Boolean found = transactionTemplate.execute(status ->
+                        stripeEventRepository.lockNextDue(LocalDateTime.now())
+                                .map(event -> {
+                                    claimed.set(event.getId());
+                                    process(event);
+                                    return true;
+                                })
+                                .orElse(false));
+                if (!Boolean.TRUE.equals(found)) {
+                    break;
+                }
+                processed++;
+            } catch (RuntimeException e) {
+                if (claimed.get() == null) {
+                    throw e;
+                }
+                recordFailure(claimed.get(), e);
+                processed++;
+            }
+        }
+
+        if (processed > 0) {
+            log.info("Processed {} Stripe events", processed);
+        }
+        schedulerMetrics.recordRows("stripe-events", processed);
+    }
+
+    private void process(StripeEvent event) {
+        switch (event.getType()) {
+            case SESSION_COMPLETED, SESSION_ASYNC_SUCCEEDED -> confirm(event);
+            case SESSION_EXPIRED -> expire(event);
+            default -> event.complete(StripeEventStatus.IGNORED, "Unsupported event type");
+        }
+        stripeEventRepository.save(event);
+    }
+
+    private void recordFailure(String eventId, RuntimeException failure) {
+        transactionTemplate.executeWithoutResult(status ->
+                stripeEventRepository.lockReceivedById(eventId).ifPresent(event -> {
+                    event.recordFailure(failure.getClass().getSimpleName() + ": "
+                            + failure.getMessage(), maxAttempts, backoff(event.getAttempts()));
+                    stripeEventRepository.save(event);
+                    if (event.isFailed()) {
+                        log.error("Stripe event {} failed after {} attempts, giving up",
+                                eventId, event.getAttempts(), failure);
+                    } else {
+                        log.warn("Stripe event {} failed (attempt {} of {}), retrying at {}: {}",
+                                eventId, event.getAttempts(), maxAttempts,
+                                event.getNextAttemptAt(), failure.getMessage());
+                    }
+                }));
+    }
+
+    private Duration backoff(int previousAttempts) {
+        long delayMs = retryBackoffMs;
+        for (int i = 0; i < previousAttempts && delayMs < maxRetryBackoffMs; i++) {
+            delayMs *= 2;
+        }
+        return Duration.ofMillis(Math.min(delayMs, maxRetryBackoffMs));
+    }
+
+    private void confirm(StripeEvent event) {
+        if (!PAID.equals(event.getSessionPaymentStatus())) {
+            event.complete(StripeEventStatus.IGNORED, "Session is not paid yet");
+            return;
+        }
+
+        Optional<Long> bookingId = paymentRepository.findBookingIdBySessionId(event.getSessionId());
+        if (bookingId.isEmpty()) {
+            event.complete(StripeEventStatus.FAILED, "No payment found for session");
+            return;
+        }
+
+        Booking booking = bookingService.lockBookingById(bookingId.get());
+        Payment payment = paymentRepository.findBySessionId(event.getSessionId())
+                .orElseThrow(() -> new IllegalStateException(
+                        "Payment for session " + event.getSessionId() + " disappeared"));
+
+        if (payment.getStatus() == PaymentStatus.PAID) {
+            event.complete(StripeEventStatus.IGNORED, "Payment already processed");
+            return;
+        }
+        if (payment.getStatus() != PaymentStatus.PENDING
+                || booking.getStatus() != BookingStatus.PENDING) {
+            log.warn("Stripe reports session {} paid but payment {} is {} and booking {} is {}",
+                    event.getSessionId(), payment.getId(), payment.getStatus(),
+                    booking.getId(), booking.getStatus());
+            event.complete(StripeEventStatus.FAILED, "Payment is " + payment.getStatus()
+                    + ", booking is " + booking.getStatus());
+            return;
+        }
+
+        payment.markAsPaid();
+        payment.setStripePaymentIntentId(event.getPaymentIntentId());
+        booking.confirm();
+        paymentRepository.save(payment);
+        eventPublisher.publishEvent(new PaymentSucceededEvent(
+                payment.getId(),
+                booking.getId(),
+                booking.getAccommodation().getId()
+        ));
+        event.complete(StripeEventStatus.PROCESSED, null);
+    }
+
+    private void expire(StripeEvent event) {
+        Optional<Payment> payment = paymentRepository.findBySessionId(event.getSessionId());
+        if (payment.isEmpty() || !payment.get().isPending()) {
+            event.complete(StripeEventStatus.IGNORED, "No pending payment for session");
+            return;
+        }
+
+        payment.get().markAsExpired();
+        paymentRepository.save(payment.get());
+        event.complete(StripeEventStatus.PROCESSED, null);
+    }
+
+    private Session extractSession(Event event) {
+        EventDataObjectDeserializer deserializer = event.getDataObjectDeserializer();
+        StripeObject object;
+        try {
+            object = deserializer.getObject().isPresent()
+                    ? deserializer.getObject().get()
+                    : deserializer.deserializeUnsafe();
+        } catch (EventDataObjectDeserializationException e) {
+            throw new InvalidWebhookException("Unable to read Stripe event payload");
+        }
+
+        if (object instanceof Session session) {
+            return session;
+        }
+        throw new InvalidWebhookException("Stripe event does not contain a checkout session");
+    }
+}
@@ -1,24 +1,46 @@
 package com.daniil.bookingapp.service.impl;
 
-import com.daniil.bookingapp.model.Accommodation;
-import com.daniil.bookingapp.model.Booking;
-import com.daniil.bookingapp.model.Payment;
-import com.daniil.bookingapp.service.NotificationService;
-import jakarta.annotation.PostConstruct;
+import com.daniil.bookingapp.notification.NotificationChannel;
+import com.daniil.bookingapp.notification.NotificationMessage;
+import com.daniil.bookingapp.notification.NotificationOutbox;
+import com.daniil.bookingapp.notification.NotificationType;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.telegram.telegrambots.bots.TelegramLongPollingBot;
 import org.telegram.telegrambots.meta.TelegramBotsApi;
 import org.telegram.telegrambots.meta.api.methods.send.SendMessage;
 import org.telegram.telegrambots.meta.api.objects.Update;
 import org.telegram.telegrambots.meta.exceptions.TelegramApiException;
+import org.telegram.telegrambots.meta.generics.BotSession;
 import org.telegram.telegrambots.updatesreceivers.DefaultBotSession;
 
 @Slf4j
 @Service
+@ConditionalOnProperty(name = "telegram.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
 public class TelegramNotificationService extends TelegramLongPollingBot
-        implements NotificationService {
+        implements NotificationChannel {
+    private static final String CHANNEL_NAME = "telegram";
+
+    private final NotificationOutbox notificationOutbox;
+    private final MeterRegistry meterRegistry;
+    private final ScheduledExecutorService registrationExecutor =
+            Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "telegram-registration");
+                thread.setDaemon(true);
+                return thread;
+            });
 
     @Value("${telegram.bot.token}")
     private String botToken;
@@ -29,194 +51,108 @@ public class TelegramNotificationService extends TelegramLongPollingBot
     @Value("${telegram.chat.id}")
     private String chatId;
 
-    @PostConstruct
-    public void init() {
-        try {
-            TelegramBotsApi botsApi = new TelegramBotsApi(DefaultBotSession.class);
-            botsApi.registerBot(this);
-            log.info("Telegram bot successfully registered: {}", botUsername);
-        } catch (TelegramApiException e) {
-            log.error("Failed to register Telegram bot: {}", e.getMessage(), e);
-        }
-    }
+    @Value("${telegram.registration.initial-backoff-ms:1000}")
+    private long initialBackoffMs;
 
-    @Override
-    public String getBotUsername() {
-        return botUsername;
-    }
+    @Value("${telegram.registration.max-backoff-ms:300000}")
+    private long maxBackoffMs;
 
-    @Override
-    public String getBotToken() {
-        return botToken;
-    }
+    @Value("${app.notifications.flush-interval-ms:1000}")
+    private long flushIntervalMs;
 
-    @Override
-    public void onUpdateReceived(Update update) {
-        if (update.hasMessage() && update.getMessage().hasText()) {
-            String messageText = update.getMessage().getText();
-            Long userId = update.getMessage().getChatId();
+    private volatile BotSession botSession;
 
-            log.debug("Received message from user {}: {}", userId, messageText);
+    @EventListener(ApplicationReadyEvent.class)
+    public void registerInBackground() {
+        registrationExecutor.execute(() -> register(1, initialBackoffMs));
+    }
 
-            if ("/start".equals(messageText)) {
-                sendMessageToUser(userId, "Welcome to Booking App Notifications!\n\n"
-                        + "Your Chat ID: " + userId + "\n\n"
-                        + "Use this Chat ID in your .env file to receive notifications.");
-            }
+    @PreDestroy
+    public void shutdown() {
+        registrationExecutor.shutdownNow();
+        BotSession session = botSession;
+        if (session != null && session.isRunning()) {
+            session.stop();
         }
     }
 
-    @Override
-    public void sendBookingCreatedNotification(Booking booking) {
-        String message = String.format(
-                "*New Booking Created*\n\n"
-                        + "Booking ID: `%d`\n"
-                        + "User: %s (%s)\n"
-                        + "Accommodation: %s\n"
-                        + "Location: %s\n"
-                        + "Check-in: %s\n"
-                        + "Check-out: %s\n"
-                        + "Total Price: $%.2f\n"
-                        + "Status: %s",
-                booking.getId(),
-                booking.getUser().getFullName(),
-                booking.getUser().getEmail(),
-                booking.getAccommodation().getType(),
-                booking.getAccommodation().getLocation(),
-                booking.getCheckInDate(),
-                booking.getCheckOutDate(),
-                booking.getTotalPrice(),
-                booking.getStatus()
-        );
-
-        sendNotification(message);
+    public boolean isReady() {
+        return botSession != null;
     }
 
     @Override
-    public void sendBookingCancelledNotification(Booking booking) {
-        String message = String.format(
-                "*Booking Cancelled*\n\n"
-                        + "Booking ID: `%d`\n"
-                        + "User: %s\n"
-                        + "Accommodation: %s at %s\n"
-                        + "Dates: %s - %s\n"
-                        + "Amount: $%.2f\n\n"
-                        + "Accommodation availability increased",
-                booking.getId(),
-                booking.getUser().getFullName(),
-                booking.getAccommodation().getType(),
-                booking.getAccommodation().getLocation(),
-                booking.getCheckInDate(),
-                booking.getCheckOutDate(),
-                booking.getTotalPrice()
-        );
-
-        sendNotification(message);
+    public String getName() {
+        return CHANNEL_NAME;
     }
 
     @Override
-    public void sendAccommodationCreatedNotification(Accommodation accommodation) {
-        String message = String.format(
-                "*New Accommodation Added*\n\n"
-                        + "ID: `%d`\n"
-                        + "Type: %s\n"
-                        + "Location: %s\n"
-                        + "Size: %s\n"
-                        + "Daily Rate: $%.2f\n"
-                        + "Availability: %d units\n"
-                        + "Amenities: %s",
-                accommodation.getId(),
-                accommodation.getType(),
-                accommodation.getLocation(),
-                accommodation.getSize(),
-                accommodation.getDailyRate(),
-                accommodation.getAvailability(),
-                accommodation.getAmenities().isEmpty()
-                        ? "None" : accommodation.getAmenities()
-        );
-
-        sendNotification(message);
+    public void deliver(NotificationMessage message) {
+        if (message.type() == NotificationType.ACCOMMODATION_RELEASED) {
+            notificationOutbox.merge(message.type().name(), message.title(), message.text());
+        } else {
+            notificationOutbox.send(message.text());
+        }
+        flush();
     }
 
     @Override
-    public void sendAccommodationReleasedNotification(Accommodation accommodation) {
-        String message = String.format(
-                "*Accommodation Released*\n\n"
-                        + "ID: `%d`\n"
-                        + "Type: %s\n"
-                        + "Location: %s\n"
-                        + "New Availability: %d units\n\n"
-                        + "This accommodation is now available for booking!",
-                accommodation.getId(),
-                accommodation.getType(),
-                accommodation.getLocation(),
-                accommodation.getAvailability()
-        );
-
-        sendNotification(message);
+    public long getFlushIntervalMs() {
+        return flushIntervalMs;
     }
 
     @Override
-    public void sendPaymentSuccessNotification(Payment payment) {
-        String message = String.format(
-                "*Payment Successful*\n\n"
-                        + "Payment ID: `%d`\n"
-                        + "Booking ID: `%d`\n"
-                        + "User: %s (%s)\n"
-                        + "Amount Paid: $%.2f\n"
-                        + "Paid At: %s\n"
-                        + "Booking Status: CONFIRMED",
-                payment.getId(),
-                payment.getBooking().getId(),
-                payment.getUser().getFullName(),
-                payment.getUser().getEmail(),
-                payment.getAmountToPay(),
-                payment.getPaidAt()
-        );
-
-        sendNotification(message);
+    public void flush() {
+        if (!isReady()) {
+            return;
+        }
+        notificationOutbox.drain(this::sendNotification);
     }
 
     @Override
-    public void sendPaymentCreatedNotification(Payment payment) {
-        String message = String.format(
-                "*Payment Session Created*\n\n"
-                        + "Payment ID: `%d`\n"
-                        + "Booking ID: `%d`\n"
-                        + "User: %s\n"
-                        + "Amount: $%.2f\n"
-                        + "Expires At: %s\n"
-                        + "Status: PENDING",
-                payment.getId(),
-                payment.getBooking().getId(),
-                payment.getUser().getFullName(),
-                payment.getAmountToPay(),
-                payment.getExpiresAt()
-        );
-
-        sendNotification(message);
+    public String getBotUsername() {
+        return botUsername;
     }
 
     @Override
-    public void sendExpiredBookingsNotification(int count) {
-        String message = String.format(
-                "*Expired Bookings Report*\n\n"
-                        + "Found %d expired booking%s today.\n"
-                        + "All expired bookings have been marked as EXPIRED.",
-                count,
-                count == 1 ? "" : "s"
-        );
-
-        sendNotification(message);
+    public String getBotToken() {
+        return botToken;
     }
 
     @Override
-    public void sendNoExpiredBookingsNotification() {
-        String message = "*No expired bookings today!*";
-        sendNotification(message);
+    public void onUpdateReceived(Update update) {
+        if (update.hasMessage() && update.getMessage().hasText()) {
+            String messageText = update.getMessage().getText();
+            Long userId = update.getMessage().getChatId();
+
+            log.debug("Received message from user {}: {}", userId, messageText);
+
+            if ("/start".equals(messageText)) {
+                sendMessageToUser(userId, "Welcome to Booking App Notifications!\n\n"
+                        + "Your Chat ID: " + userId + "\n\n"
+                        + "Use this Chat ID in your .env file to receive notifications.");
+            }
+        }
+    }
+
+    private void register(int attempt, long backoffMs) {
+        try {
+            TelegramBotsApi botsApi = new TelegramBotsApi(DefaultBotSession.class);
+            botSession = botsApi.registerBot(this);
+            log.info("Telegram bot successfully registered: {}", botUsername);
+        } catch (TelegramApiException | RuntimeException e) {
+            long nextBackoffMs = Math.min(backoffMs * 2, maxBackoffMs);
+            log.warn("Failed to register Telegram bot (attempt {}), retrying in {} ms: {}",
+                    attempt, backoffMs, e.getMessage());
+            if (!registrationExecutor.isShutdown()) {
+                registrationExecutor.schedule(() -> register(attempt + 1, nextBackoffMs),
+                        backoffMs, TimeUnit.MILLISECONDS);
+            }
+        }
     }
 
-    private void sendNotification(String message) {
+    private boolean sendNotification(String message) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
         try {
             SendMessage sendMessage = new SendMessage();
             sendMessage.setChatId(chatId);
@@ -225,8 +161,13 @@ public class TelegramNotificationService extends TelegramLongPollingBot
 
             execute(sendMessage);
             log.debug("Notification sent successfully");
+            return true;
         } catch (TelegramApiException e) {
+            outcome = "failure";
             log.error("Failed to send Telegram notification: {}", e.getMessage(), e);
+            return false;
+        } finally {
+            sample.stop(meterRegistry.timer("telegram.api.calls", "outcome", outcome));
         }
     }
 
@@ -0,0 +1,82 @@
+package com.daniil.bookingapp.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class CsvUtil {
+    private static final char SEPARATOR = ',';
+    private static final char QUOTE = '"';
+
+    private CsvUtil() {
+    }
+
+    public static String escape(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value instanceof BigDecimal decimal
+                ? decimal.toPlainString()
+                : value.toString();
+        if (!needsQuoting(text)) {
+            return text;
+        }
+        return QUOTE + text.replace("\"", "\"\"") + QUOTE;
+    }
+
+    public static List<String> readRecord(BufferedReader reader) throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean read = false;
+        int next = reader.read();
+        while (next != -1) {
+            read = true;
+            char c = (char) next;
+            if (quoted) {
+                if (c == QUOTE) {
+                    reader.mark(1);
+                    int following = reader.read();
+                    if (following == QUOTE) {
+                        field.append(QUOTE);
+                    } else {
+                        quoted = false;
+                        reader.reset();
+                    }
+                } else {
+                    field.append(c);
+                }
+            } else if (c == QUOTE) {
+                quoted = true;
+            } else if (c == SEPARATOR) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                break;
+            } else if (c != '\r') {
+                field.append(c);
+            }
+            next = reader.read();
+        }
+        if (!read) {
+            return null;
+        }
+        if (quoted) {
+            throw new IOException("Unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static boolean needsQuoting(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == SEPARATOR || c == QUOTE || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,58 @@
+package com.daniil.bookingapp.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.function.Function;
+import org.springframework.data.domain.Page;
+import org.springframework.util.DigestUtils;
+
+public final class EtagUtil {
+    private static final long MICROS_PER_SECOND = 1_000_000L;
+    private static final int NANOS_PER_MICRO = 1_000;
+    private static final long UNKNOWN_LAST_MODIFIED = -1L;
+
+    private EtagUtil() {
+    }
+
+    public static String of(Long id, LocalDateTime updatedAt) {
+        return "\"" + id + "-" + version(updatedAt) + "\"";
+    }
+
+    public static <T> String ofPage(
+            Page<T> page,
+            Function<T, Long> idExtractor,
+            Function<T, LocalDateTime> updatedAtExtractor
+    ) {
+        StringBuilder versions = new StringBuilder()
+                .append(page.getNumber()).append(':')
+                .append(page.getSize()).append(':')
+                .append(page.getTotalElements()).append(':')
+                .append(page.getSort());
+        for (T item : page.getContent()) {
+            versions.append(';')
+                    .append(idExtractor.apply(item)).append('-')
+                    .append(version(updatedAtExtractor.apply(item)));
+        }
+        String hash = DigestUtils.md5DigestAsHex(
+                versions.toString().getBytes(StandardCharsets.UTF_8)
+        );
+        return "\"p-" + hash + "\"";
+    }
+
+    public static long toEpochMilli(LocalDateTime updatedAt) {
+        if (updatedAt == null) {
+            return UNKNOWN_LAST_MODIFIED;
+        }
+        return updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static long version(LocalDateTime updatedAt) {
+        if (updatedAt == null) {
+            return 0L;
+        }
+        return updatedAt.toEpochSecond(ZoneOffset.UTC) * MICROS_PER_SECOND
+                + updatedAt.getNano() / NANOS_PER_MICRO;
+    }
+}
@@ -0,0 +1,16 @@
+package com.daniil.bookingapp.util;
+
+import java.util.concurrent.ThreadFactory;
+
+public final class ThreadUtil {
+
+    private ThreadUtil() {
+    }
+
+    public static ThreadFactory factory(String namePrefix, boolean virtualThreads) {
+        if (virtualThreads) {
+            return Thread.ofVirtual().name(namePrefix, 1).factory();
+        }
+        return Thread.ofPlatform().name(namePrefix, 1).daemon(true).factory();
+    }
+}
@@ -0,0 +1,52 @@
+package com.daniil.bookingapp.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class AsyncConfigTest {
+    @Test
+    void fullEventQueueDropsListenersWithoutRunningThemOnThePublisher() throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        AsyncConfig config = new AsyncConfig();
+        ReflectionTestUtils.setField(config, "threads", 1);
+        ReflectionTestUtils.setField(config, "queueCapacity", 1);
+        ThreadPoolTaskExecutor executor =
+                (ThreadPoolTaskExecutor) config.eventExecutor(meterRegistry);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger ranOnPublisher = new AtomicInteger();
+        Thread publisher = Thread.currentThread();
+
+        try {
+            executor.execute(() -> await(release));
+            executor.execute(() -> await(release));
+            executor.execute(() -> {
+                if (Thread.currentThread() == publisher) {
+                    ranOnPublisher.incrementAndGet();
+                }
+            });
+
+            assertEquals(0, ranOnPublisher.get());
+            assertEquals(1.0, meterRegistry.find("events.dropped").counter().count());
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+        assertTrue(executor.getThreadPoolExecutor().awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.daniil.bookingapp.controller;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.daniil.bookingapp.dto.accommodation.AccommodationUpdateRequestDto;
+import com.daniil.bookingapp.model.Accommodation;
+import com.daniil.bookingapp.model.Booking;
+import com.daniil.bookingapp.model.User;
+import com.daniil.bookingapp.model.enums.AccommodationType;
+import com.daniil.bookingapp.repository.AccommodationRepository;
+import com.daniil.bookingapp.repository.BookingRepository;
+import com.daniil.bookingapp.repository.UserRepository;
+import com.daniil.bookingapp.service.AccommodationService;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ConditionalGetIntegrationTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AccommodationRepository accommodationRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccommodationService accommodationService;
+
+    @Test
+    void accommodationAnswersNotModifiedForCurrentEtag() throws Exception {
+        Accommodation accommodation = saveAccommodation(UUID.randomUUID().toString());
+        String url = "/api/accommodations/" + accommodation.getId();
+
+        String etag = mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+
+        mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+    }
+
+    @Test
+    void changedAccommodationGetsNewEtag() throws Exception {
+        Accommodation accommodation = saveAccommodation(UUID.randomUUID().toString());
+        String url = "/api/accommodations/" + accommodation.getId();
+        String etag = mockMvc.perform(get(url))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        changeRate(accommodation, "95.00");
+
+        String changedEtag = mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(etag, changedEtag);
+    }
+
+    @Test
+    void accommodationPageAnswersNotModifiedUntilContentChanges() throws Exception {
+        String location = UUID.randomUUID().toString();
+        Accommodation accommodation = saveAccommodation(location);
+
+        String etag = mockMvc.perform(get("/api/accommodations").param("location", location))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+
+        mockMvc.perform(get("/api/accommodations").param("location", location)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        changeRate(accommodation, "95.00");
+
+        mockMvc.perform(get("/api/accommodations").param("location", location)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void bookingAnswersNotModifiedOnlyToItsOwner() throws Exception {
+        User owner = saveUser();
+        User stranger = saveUser();
+        Booking booking = bookingRepository.save(Booking.builder()
+                .accommodation(saveAccommodation(UUID.randomUUID().toString()))
+                .user(owner)
+                .checkInDate(LocalDate.now().plusDays(10))
+                .checkOutDate(LocalDate.now().plusDays(12))
+                .totalPrice(new BigDecimal("160.00"))
+                .build());
+        String url = "/api/bookings/" + booking.getId();
+
+        String etag = mockMvc.perform(get(url).with(user(owner)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get(url).with(user(owner)).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get(url).with(user(stranger)).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isBadRequest());
+    }
+
+    private Accommodation saveAccommodation(String location) {
+        return accommodationRepository.save(Accommodation.builder()
+                .type(AccommodationType.APARTMENT)
+                .location(location)
+                .size("Studio")
+                .dailyRate(new BigDecimal("80.00"))
+                .availability(1)
+                .build());
+    }
+
+    private void changeRate(Accommodation accommodation, String dailyRate) {
+        accommodationService.update(accommodation.getId(), AccommodationUpdateRequestDto.builder()
+                .dailyRate(new BigDecimal(dailyRate))
+                .build());
+    }
+
+    private User saveUser() {
+        return userRepository.save(User.builder()
+                .email(UUID.randomUUID() + "@example.com")
+                .password("password")
+                .firstName("First")
+                .lastName("Last")
+                .build());
+    }
+}
@@ -0,0 +1,116 @@
+package com.daniil.bookingapp.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.daniil.bookingapp.model.Accommodation;
+import com.daniil.bookingapp.model.Booking;
+import com.daniil.bookingapp.model.User;
+import com.daniil.bookingapp.model.enums.AccommodationType;
+import com.daniil.bookingapp.repository.AccommodationRepository;
+import com.daniil.bookingapp.repository.BookingRepository;
+import com.daniil.bookingapp.repository.UserRepository;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ExportIntegrationTest {
+    private static final int BOOKINGS = 3;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AccommodationRepository accommodationRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void bookingsAreStreamedAsCsvAttachment() throws Exception {
+        User guest = seedBookings();
+
+        String body = mockMvc.perform(get("/api/bookings/export")
+                        .param("format", "CSV")
+                        .param("userId", guest.getId().toString())
+                        .with(user("admin").roles("ADMIN")))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "text/csv;charset=UTF-8"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"bookings.csv\""))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        List<String> lines = body.lines().toList();
+        assertEquals(BOOKINGS + 1, lines.size());
+        assertTrue(lines.get(0).startsWith("id,checkInDate,checkOutDate,status"));
+        assertTrue(lines.stream().skip(1).allMatch(line -> line.contains(guest.getEmail())));
+    }
+
+    @Test
+    void bookingsAreStreamedAsNdjson() throws Exception {
+        User guest = seedBookings();
+
+        String body = mockMvc.perform(get("/api/bookings/export")
+                        .param("userId", guest.getId().toString())
+                        .with(user("manager").roles("MANAGER")))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"bookings.ndjson\""))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        List<String> lines = body.lines().toList();
+        assertEquals(BOOKINGS, lines.size());
+        assertTrue(lines.stream().allMatch(line -> line.startsWith("{\"id\":")));
+    }
+
+    @Test
+    void customersCannotExport() throws Exception {
+        mockMvc.perform(get("/api/bookings/export").with(user("guest").roles("CUSTOMER")))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/payments/export").with(user("guest").roles("CUSTOMER")))
+                .andExpect(status().isForbidden());
+    }
+
+    private User seedBookings() {
+        User guest = userRepository.save(User.builder()
+                .email(UUID.randomUUID() + "@example.com")
+                .password("password")
+                .firstName("First")
+                .lastName("Last")
+                .build());
+        Accommodation accommodation = accommodationRepository.save(Accommodation.builder()
+                .type(AccommodationType.HOUSE)
+                .location("Lviv, Rynok")
+                .size("3 rooms")
+                .dailyRate(new BigDecimal("120.00"))
+                .availability(BOOKINGS)
+                .build());
+        for (int i = 0; i < BOOKINGS; i++) {
+            bookingRepository.save(Booking.builder()
+                    .accommodation(accommodation)
+                    .user(guest)
+                    .checkInDate(LocalDate.now().plusDays(10 + i * 3))
+                    .checkOutDate(LocalDate.now().plusDays(12 + i * 3))
+                    .totalPrice(new BigDecimal("240.00"))
+                    .build());
+        }
+        return guest;
+    }
+}
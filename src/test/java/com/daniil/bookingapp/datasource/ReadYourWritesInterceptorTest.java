@@ -0,0 +1,85 @@
+package com.daniil.bookingapp.datasource;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+class ReadYourWritesInterceptorTest {
+    private static final String USER = "guest@example.com";
+
+    private final ReadYourWritesTracker tracker = new ReadYourWritesTracker(60_000L);
+    private final ReadYourWritesInterceptor interceptor = new ReadYourWritesInterceptor(tracker);
+
+    @AfterEach
+    void tearDown() {
+        tracker.unpin();
+    }
+
+    @Test
+    void successfulWritePinsFollowingReadsToPrimary() {
+        complete(request("POST", USER), 201);
+
+        interceptor.preHandle(request("GET", USER), new MockHttpServletResponse(), null);
+
+        assertTrue(tracker.isPinned());
+    }
+
+    @Test
+    void pinIsClearedWhenRequestCompletes() {
+        complete(request("POST", USER), 201);
+        MockHttpServletRequest read = request("GET", USER);
+        interceptor.preHandle(read, new MockHttpServletResponse(), null);
+
+        complete(read, 200);
+
+        assertFalse(tracker.isPinned());
+    }
+
+    @Test
+    void readsAndFailedWritesDoNotPin() {
+        complete(request("GET", USER), 200);
+        complete(request("POST", USER), 409);
+
+        interceptor.preHandle(request("GET", USER), new MockHttpServletResponse(), null);
+
+        assertFalse(tracker.isPinned());
+    }
+
+    @Test
+    void writesOnlyPinTheWritingUser() {
+        complete(request("DELETE", USER), 204);
+
+        interceptor.preHandle(request("GET", "other@example.com"),
+                new MockHttpServletResponse(), null);
+
+        assertFalse(tracker.isPinned());
+    }
+
+    @Test
+    void anonymousRequestsAreIgnored() {
+        complete(request("POST", null), 201);
+
+        interceptor.preHandle(request("GET", null), new MockHttpServletResponse(), null);
+
+        assertFalse(tracker.isPinned());
+    }
+
+    private void complete(MockHttpServletRequest request, int status) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.setStatus(status);
+        interceptor.afterCompletion(request, response, null, null);
+    }
+
+    private MockHttpServletRequest request(String method, String user) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/api/bookings");
+        if (user != null) {
+            request.setUserPrincipal(new UsernamePasswordAuthenticationToken(user, null));
+        }
+        return request;
+    }
+}
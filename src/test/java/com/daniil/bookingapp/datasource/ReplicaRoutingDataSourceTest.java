@@ -0,0 +1,141 @@
+package com.daniil.bookingapp.datasource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class ReplicaRoutingDataSourceTest {
+    private static final long MAX_LAG_MS = 5_000L;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final DataSource lagDataSource = mock(DataSource.class);
+    private final DataSource primary = mock(DataSource.class);
+    private final DataSource replica = mock(DataSource.class);
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection replicaConnection = mock(Connection.class);
+    private final ReplicaLagMonitor lagMonitor =
+            new ReplicaLagMonitor(lagDataSource, MAX_LAG_MS, 1_000L, 1, meterRegistry);
+    private ReadYourWritesTracker tracker = new ReadYourWritesTracker(60_000L);
+
+    @AfterEach
+    void tearDown() {
+        tracker.unpin();
+    }
+
+    @Test
+    void readsGoToReplicaWithinLagBudget() throws SQLException {
+        reportLag(120L);
+
+        assertTrue(lagMonitor.isUsable());
+        assertSame(replicaConnection, routing().getConnection());
+        assertEquals(120.0, meterRegistry.get("datasource.replica.lag").gauge().value());
+    }
+
+    @Test
+    void laggingReplicaFallsBackToPrimary() throws SQLException {
+        reportLag(MAX_LAG_MS + 1);
+
+        assertFalse(lagMonitor.isUsable());
+        assertSame(primaryConnection, routing().getConnection());
+        assertEquals(0.0, meterRegistry.get("datasource.replica.usable").gauge().value());
+    }
+
+    @Test
+    void unreachableReplicaFallsBackToPrimary() throws SQLException {
+        reportLag(0L);
+        when(lagDataSource.getConnection()).thenThrow(new SQLException("Connection refused"));
+        lagMonitor.check();
+
+        assertFalse(lagMonitor.isUsable());
+        assertSame(primaryConnection, routing().getConnection());
+        assertEquals(-1.0, meterRegistry.get("datasource.replica.lag").gauge().value());
+    }
+
+    @Test
+    void replicaIsUsedAgainOnceLagRecovers() throws SQLException {
+        reportLag(MAX_LAG_MS + 1);
+        reportLag(10L);
+
+        assertSame(replicaConnection, routing().getConnection());
+    }
+
+    @Test
+    void sessionWithRecentWriteReadsFromPrimary() throws SQLException {
+        reportLag(10L);
+        ReplicaRoutingDataSource routing = routing();
+        tracker.recordWrite("guest@example.com");
+
+        tracker.pin("other@example.com");
+        assertSame(replicaConnection, routing.getConnection());
+
+        tracker.pin("guest@example.com");
+        assertSame(primaryConnection, routing.getConnection());
+
+        tracker.unpin();
+        assertSame(replicaConnection, routing.getConnection());
+    }
+
+    @Test
+    void stickinessEndsAfterWindow() throws SQLException {
+        reportLag(10L);
+        tracker = new ReadYourWritesTracker(0L);
+        ReplicaRoutingDataSource routing = routing();
+        tracker.recordWrite("guest@example.com");
+
+        tracker.pin("guest@example.com");
+
+        assertSame(replicaConnection, routing.getConnection());
+    }
+
+    @Test
+    void expiredWritesAreEvicted() throws InterruptedException {
+        tracker = new ReadYourWritesTracker(1L);
+        tracker.recordWrite("guest@example.com");
+        assertEquals(1, tracker.trackedSessions());
+
+        Thread.sleep(5);
+        tracker.evictExpired();
+
+        assertEquals(0, tracker.trackedSessions());
+    }
+
+    private ReplicaRoutingDataSource routing() throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        ReplicaRoutingDataSource routing =
+                new ReplicaRoutingDataSource(primary, replica, lagMonitor, tracker);
+        routing.afterPropertiesSet();
+        return routing;
+    }
+
+    private void reportLag(long lagMs) throws SQLException {
+        ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+        when(metaData.getColumnCount()).thenReturn(1);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.next()).thenReturn(true, false);
+        when(resultSet.getMetaData()).thenReturn(metaData);
+        when(resultSet.getDouble(1)).thenReturn((double) lagMs);
+        when(resultSet.getObject(1)).thenReturn((double) lagMs);
+        Statement statement = mock(Statement.class);
+        when(statement.executeQuery(anyString())).thenReturn(resultSet);
+        Connection connection = mock(Connection.class);
+        when(connection.createStatement()).thenReturn(statement);
+        when(lagDataSource.getConnection()).thenReturn(connection);
+
+        lagMonitor.check();
+    }
+}
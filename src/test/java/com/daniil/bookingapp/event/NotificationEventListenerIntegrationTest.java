@@ -0,0 +1,43 @@
+package com.daniil.bookingapp.event;
+
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import com.daniil.bookingapp.service.NotificationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest
+class NotificationEventListenerIntegrationTest {
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @MockitoBean
+    private NotificationService notificationService;
+
+    @Test
+    void notificationIsSentAfterCommit() {
+        transactionTemplate.executeWithoutResult(status ->
+                eventPublisher.publishEvent(new ExpiredBookingsSweptEvent(3)));
+
+        verify(notificationService, timeout(5000)).sendExpiredBookingsNotification(3);
+    }
+
+    @Test
+    void rolledBackTransactionSendsNothing() {
+        transactionTemplate.executeWithoutResult(status -> {
+            eventPublisher.publishEvent(new ExpiredBookingsSweptEvent(7));
+            status.setRollbackOnly();
+        });
+
+        verify(notificationService, after(500).never()).sendExpiredBookingsNotification(7);
+    }
+}
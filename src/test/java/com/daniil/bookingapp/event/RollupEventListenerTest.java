@@ -0,0 +1,50 @@
+package com.daniil.bookingapp.event;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.daniil.bookingapp.model.Booking;
+import com.daniil.bookingapp.model.Payment;
+import com.daniil.bookingapp.repository.BookingRepository;
+import com.daniil.bookingapp.repository.PaymentRepository;
+import com.daniil.bookingapp.service.ReportService;
+import org.junit.jupiter.api.Test;
+
+class RollupEventListenerTest {
+    private final PaymentRepository paymentRepository = mock(PaymentRepository.class);
+    private final BookingRepository bookingRepository = mock(BookingRepository.class);
+    private final ReportService reportService = mock(ReportService.class);
+    private final RollupEventListener listener =
+            new RollupEventListener(paymentRepository, bookingRepository, reportService);
+
+    @Test
+    void succeededPaymentIsRecorded() {
+        Payment payment = Payment.builder().id(10L).build();
+        when(paymentRepository.getReferenceById(10L)).thenReturn(payment);
+
+        listener.onPaymentSucceeded(new PaymentSucceededEvent(10L, 1L, 3L));
+
+        verify(reportService).recordPaidBooking(payment);
+    }
+
+    @Test
+    void cancelledPaidBookingReleasesOccupancy() {
+        Booking booking = Booking.builder().id(1L).build();
+        when(bookingRepository.getReferenceById(1L)).thenReturn(booking);
+
+        listener.onBookingCancelled(new BookingCancelledEvent(1L, 3L, true));
+
+        verify(reportService).recordCancelledBooking(booking);
+    }
+
+    @Test
+    void cancelledUnpaidBookingLeavesRollupsUntouched() {
+        listener.onBookingCancelled(new BookingCancelledEvent(1L, 3L, false));
+
+        verify(reportService, never()).recordCancelledBooking(any());
+        verify(bookingRepository, never()).getReferenceById(any());
+    }
+}
@@ -0,0 +1,132 @@
+package com.daniil.bookingapp.gateway;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.daniil.bookingapp.exception.CheckoutSessionNotFoundException;
+import com.daniil.bookingapp.exception.PaymentGatewayException;
+import com.daniil.bookingapp.gateway.GatewayGuard.Lane;
+import com.daniil.bookingapp.resilience.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class FakePaymentGatewayTest {
+    private static final int MINIMUM_CALLS = 4;
+
+    private GatewayGuard gatewayGuard;
+    private FakePaymentGateway gateway;
+
+    @BeforeEach
+    void setUp() {
+        gatewayGuard = new GatewayGuard(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(gatewayGuard, "maxConcurrentCalls", 2);
+        ReflectionTestUtils.setField(gatewayGuard, "bulkheadWaitMs", 10L);
+        ReflectionTestUtils.setField(gatewayGuard, "reconciliationMaxConcurrentCalls", 2);
+        ReflectionTestUtils.setField(gatewayGuard, "reconciliationBulkheadWaitMs", 10L);
+        ReflectionTestUtils.setField(gatewayGuard, "failureRateThreshold", 50.0);
+        ReflectionTestUtils.setField(gatewayGuard, "windowSize", MINIMUM_CALLS);
+        ReflectionTestUtils.setField(gatewayGuard, "minimumCalls", MINIMUM_CALLS);
+        ReflectionTestUtils.setField(gatewayGuard, "openDurationMs", 60_000L);
+        ReflectionTestUtils.setField(gatewayGuard, "callTimeoutMs", 1_000L);
+        gatewayGuard.init();
+
+        gateway = new FakePaymentGateway(gatewayGuard);
+        ReflectionTestUtils.setField(gateway, "latencyMs", 0L);
+        ReflectionTestUtils.setField(gateway, "jitterMs", 0L);
+        ReflectionTestUtils.setField(gateway, "errorRate", 0.0);
+        ReflectionTestUtils.setField(gateway, "readTimeoutMs", 1_000L);
+        ReflectionTestUtils.setField(gateway, "baseUrl", "http://localhost:8080");
+    }
+
+    @Test
+    void createdSessionCanBeRetrieved() {
+        CheckoutSession created = gateway.createCheckoutSession(checkoutRequest());
+
+        CheckoutSession retrieved = gateway.retrieveCheckoutSession(created.id());
+
+        assertEquals(created, retrieved);
+        assertTrue(created.id().startsWith("cs_fake_"));
+        assertEquals("http://localhost:8080/fake-checkout/" + created.id(), created.url());
+        assertFalse(retrieved.isPaid());
+        assertEquals(1, gatewayGuard.getStats(Lane.CHECKOUT).successes());
+        assertEquals(1, gatewayGuard.getStats(Lane.RECONCILIATION).successes());
+    }
+
+    @Test
+    void unknownSessionIsDeclinedWithoutOpeningCircuit() {
+        for (int i = 0; i < MINIMUM_CALLS * 2; i++) {
+            assertThrows(CheckoutSessionNotFoundException.class,
+                    () -> gateway.retrieveCheckoutSession("cs_fake_missing"));
+        }
+
+        GatewayStats stats = gatewayGuard.getStats(Lane.RECONCILIATION);
+        assertEquals(CircuitBreaker.State.CLOSED, stats.circuitState());
+        assertEquals(0, stats.failures());
+    }
+
+    @Test
+    void providerErrorsOpenCircuitAndRejectFurtherCalls() {
+        ReflectionTestUtils.setField(gateway, "errorRate", 1.0);
+        for (int i = 0; i < MINIMUM_CALLS; i++) {
+            assertThrows(PaymentGatewayException.class,
+                    () -> gateway.createCheckoutSession(checkoutRequest()));
+        }
+
+        PaymentGatewayException rejected = assertThrows(PaymentGatewayException.class,
+                () -> gateway.createCheckoutSession(checkoutRequest()));
+
+        GatewayStats stats = gatewayGuard.getStats(Lane.CHECKOUT);
+        assertTrue(rejected.getMessage().contains("temporarily unavailable"));
+        assertEquals(CircuitBreaker.State.OPEN, stats.circuitState());
+        assertEquals(MINIMUM_CALLS, stats.failures());
+        assertEquals(1, stats.circuitRejections());
+        assertEquals(CircuitBreaker.State.CLOSED,
+                gatewayGuard.getStats(Lane.RECONCILIATION).circuitState());
+    }
+
+    @Test
+    void latencyAboveReadTimeoutIsReportedAsProviderFailure() {
+        ReflectionTestUtils.setField(gateway, "latencyMs", 20L);
+        ReflectionTestUtils.setField(gateway, "readTimeoutMs", 5L);
+
+        PaymentGatewayException thrown = assertThrows(PaymentGatewayException.class,
+                () -> gateway.createCheckoutSession(checkoutRequest()));
+
+        assertTrue(thrown.getMessage().contains("timed out"));
+        assertEquals(1, gatewayGuard.getStats(Lane.CHECKOUT).failures());
+    }
+
+    @Test
+    void unexpectedExceptionsCountAsFailures() {
+        for (int i = 0; i < MINIMUM_CALLS; i++) {
+            assertThrows(IllegalStateException.class,
+                    () -> gatewayGuard.call(Lane.RECONCILIATION, "test", () -> {
+                        throw new IllegalStateException("Unexpected response");
+                    }));
+        }
+
+        assertEquals(CircuitBreaker.State.OPEN,
+                gatewayGuard.getStats(Lane.RECONCILIATION).circuitState());
+        assertEquals(CircuitBreaker.State.CLOSED,
+                gatewayGuard.getStats(Lane.CHECKOUT).circuitState());
+    }
+
+    private CheckoutRequest checkoutRequest() {
+        return new CheckoutRequest(
+                "http://localhost:8080/success",
+                "http://localhost:8080/cancel",
+                0L,
+                "usd",
+                10_000L,
+                "Booking",
+                "Two nights",
+                "guest@example.com",
+                Map.of("bookingId", "1")
+        );
+    }
+}
@@ -0,0 +1,95 @@
+package com.daniil.bookingapp.gateway;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.daniil.bookingapp.exception.PaymentDeclinedException;
+import com.daniil.bookingapp.exception.PaymentGatewayException;
+import com.daniil.bookingapp.exception.PaymentGatewayTimeoutException;
+import com.daniil.bookingapp.gateway.GatewayGuard.Lane;
+import com.daniil.bookingapp.resilience.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class GatewayGuardTest {
+    private static final long CALL_TIMEOUT_MS = 200;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch never = new CountDownLatch(1);
+    private GatewayGuard guard;
+
+    @BeforeEach
+    void setUp() {
+        guard = new GatewayGuard(meterRegistry);
+        ReflectionTestUtils.setField(guard, "maxConcurrentCalls", 1);
+        ReflectionTestUtils.setField(guard, "bulkheadWaitMs", 0L);
+        ReflectionTestUtils.setField(guard, "reconciliationMaxConcurrentCalls", 1);
+        ReflectionTestUtils.setField(guard, "reconciliationBulkheadWaitMs", 0L);
+        ReflectionTestUtils.setField(guard, "failureRateThreshold", 50.0);
+        ReflectionTestUtils.setField(guard, "windowSize", 2);
+        ReflectionTestUtils.setField(guard, "minimumCalls", 2);
+        ReflectionTestUtils.setField(guard, "openDurationMs", 60_000L);
+        ReflectionTestUtils.setField(guard, "callTimeoutMs", CALL_TIMEOUT_MS);
+        guard.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        never.countDown();
+        guard.shutdown();
+    }
+
+    @Test
+    void slowCallFailsAtDeadlineAndFreesItsPermit() {
+        long start = System.nanoTime();
+
+        assertThrows(PaymentGatewayTimeoutException.class,
+                () -> guard.call(Lane.CHECKOUT, "createCheckoutSession", this::hang));
+
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertTrue(elapsedMs < CALL_TIMEOUT_MS + 500, "took " + elapsedMs + " ms");
+        assertEquals(0, guard.getStats(Lane.CHECKOUT).activeCalls());
+        assertEquals("ok", guard.call(Lane.CHECKOUT, "createCheckoutSession", () -> "ok"));
+        assertEquals(1, meterRegistry.find("payment.gateway.calls")
+                .tag("outcome", "timeout")
+                .timer()
+                .count());
+    }
+
+    @Test
+    void timeoutsOpenTheCircuit() {
+        assertThrows(PaymentGatewayTimeoutException.class,
+                () -> guard.call(Lane.CHECKOUT, "createCheckoutSession", this::hang));
+        assertThrows(PaymentGatewayTimeoutException.class,
+                () -> guard.call(Lane.CHECKOUT, "createCheckoutSession", this::hang));
+
+        assertEquals(CircuitBreaker.State.OPEN, guard.getStats(Lane.CHECKOUT).circuitState());
+        assertThrows(PaymentGatewayException.class,
+                () -> guard.call(Lane.CHECKOUT, "createCheckoutSession", () -> "ok"));
+    }
+
+    @Test
+    void callerSeesTheOriginalException() {
+        assertThrows(PaymentDeclinedException.class,
+                () -> guard.call(Lane.CHECKOUT, "createCheckoutSession", () -> {
+                    throw new PaymentDeclinedException("card declined");
+                }));
+
+        assertEquals(CircuitBreaker.State.CLOSED, guard.getStats(Lane.CHECKOUT).circuitState());
+    }
+
+    private String hang() {
+        try {
+            never.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "late";
+    }
+}
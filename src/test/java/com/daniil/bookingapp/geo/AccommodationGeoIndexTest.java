@@ -0,0 +1,70 @@
+package com.daniil.bookingapp.geo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+
+import com.daniil.bookingapp.exception.InvalidRequestParameterException;
+import com.daniil.bookingapp.model.enums.AccommodationType;
+import com.daniil.bookingapp.repository.AccommodationRepository;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class AccommodationGeoIndexTest {
+    private AccommodationGeoIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new AccommodationGeoIndex(mock(AccommodationRepository.class));
+        ReflectionTestUtils.setField(index, "cellSizeDegrees", 0.1);
+        ReflectionTestUtils.setField(index, "maxRadiusKm", 100.0);
+    }
+
+    @Test
+    void radiusSearchReturnsMatchesOrderedByDistance() {
+        index.index(1L, 50.4501, 30.5234, AccommodationType.HOUSE);
+        index.index(2L, 50.4400, 30.5200, AccommodationType.APARTMENT);
+        index.index(3L, 50.4502, 30.5235, AccommodationType.HOUSE);
+        index.index(4L, 49.8397, 24.0297, AccommodationType.HOUSE);
+
+        assertEquals(List.of(3L, 1L, 2L), index.findWithinRadius(50.4503, 30.5236, 5, null));
+        assertEquals(List.of(3L, 1L),
+                index.findWithinRadius(50.4503, 30.5236, 5, AccommodationType.HOUSE));
+    }
+
+    @Test
+    void boundsSearchHandlesAntimeridian() {
+        index.index(1L, -17.7, 178.0, AccommodationType.HOUSE);
+        index.index(2L, -17.7, -179.5, AccommodationType.HOUSE);
+        index.index(3L, -17.7, 170.0, AccommodationType.HOUSE);
+
+        assertEquals(List.of(1L, 2L),
+                index.findWithinBounds(-18.0, 177.0, -17.0, -179.0, null));
+    }
+
+    @Test
+    void reindexingMovesEntryAndRemovingCoordinatesDropsIt() {
+        index.index(1L, 50.45, 30.52, AccommodationType.HOUSE);
+        index.index(1L, 49.84, 24.03, AccommodationType.HOUSE);
+
+        assertEquals(List.of(), index.findWithinRadius(50.45, 30.52, 5, null));
+        assertEquals(List.of(1L), index.findWithinRadius(49.84, 24.03, 5, null));
+
+        index.index(1L, null, null, AccommodationType.HOUSE);
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void invalidParametersAreRejected() {
+        assertThrows(InvalidRequestParameterException.class,
+                () -> index.findWithinRadius(50.0, 30.0, 0, null));
+        assertThrows(InvalidRequestParameterException.class,
+                () -> index.findWithinRadius(50.0, 30.0, 101, null));
+        assertThrows(InvalidRequestParameterException.class,
+                () -> index.findWithinRadius(91.0, 30.0, 5, null));
+        assertThrows(InvalidRequestParameterException.class,
+                () -> index.findWithinBounds(10.0, 0.0, 5.0, 1.0, null));
+    }
+}
@@ -0,0 +1,80 @@
+package com.daniil.bookingapp.geo;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.daniil.bookingapp.dto.accommodation.AccommodationRequestDto;
+import com.daniil.bookingapp.dto.accommodation.AccommodationResponseDto;
+import com.daniil.bookingapp.model.enums.AccommodationType;
+import com.daniil.bookingapp.service.AccommodationService;
+import java.math.BigDecimal;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class AccommodationGeoSearchIntegrationTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AccommodationService accommodationService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void nearbyReturnsCommittedAccommodationsWithinRadius() throws Exception {
+        AccommodationResponseDto near = accommodationService.create(request(48.8566, 2.3522));
+        accommodationService.create(request(48.9566, 2.3522));
+
+        mockMvc.perform(get("/api/accommodations/nearby")
+                        .param("latitude", "48.8570")
+                        .param("longitude", "2.3525")
+                        .param("radiusKm", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].id").value(near.getId()));
+    }
+
+    @Test
+    void rolledBackCreateIsNotIndexed() throws Exception {
+        transactionTemplate.executeWithoutResult(status -> {
+            accommodationService.create(request(-33.8688, 151.2093));
+            status.setRollbackOnly();
+        });
+
+        mockMvc.perform(get("/api/accommodations/nearby")
+                        .param("latitude", "-33.8688")
+                        .param("longitude", "151.2093")
+                        .param("radiusKm", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(0));
+    }
+
+    @Test
+    void invalidRadiusIsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/accommodations/nearby")
+                        .param("latitude", "48.8566")
+                        .param("longitude", "2.3522")
+                        .param("radiusKm", "-1"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private AccommodationRequestDto request(double latitude, double longitude) {
+        return AccommodationRequestDto.builder()
+                .type(AccommodationType.APARTMENT)
+                .location("Test location")
+                .size("Studio")
+                .dailyRate(new BigDecimal("80.00"))
+                .availability(1)
+                .latitude(latitude)
+                .longitude(longitude)
+                .build();
+    }
+}
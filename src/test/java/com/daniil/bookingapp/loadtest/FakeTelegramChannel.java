@@ -0,0 +1,31 @@
+package com.daniil.bookingapp.loadtest;
+
+import com.daniil.bookingapp.notification.NotificationChannel;
+import com.daniil.bookingapp.notification.NotificationMessage;
+import java.util.concurrent.atomic.LongAdder;
+
+public class FakeTelegramChannel implements NotificationChannel {
+    private final long latencyMs;
+    private final LongAdder delivered = new LongAdder();
+
+    public FakeTelegramChannel(long latencyMs) {
+        this.latencyMs = latencyMs;
+    }
+
+    @Override
+    public String getName() {
+        return "telegram";
+    }
+
+    @Override
+    public void deliver(NotificationMessage message) throws InterruptedException {
+        if (latencyMs > 0) {
+            Thread.sleep(latencyMs);
+        }
+        delivered.increment();
+    }
+
+    public long getDelivered() {
+        return delivered.sum();
+    }
+}
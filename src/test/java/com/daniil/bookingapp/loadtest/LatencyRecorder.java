@@ -0,0 +1,80 @@
+package com.daniil.bookingapp.loadtest;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+public class LatencyRecorder {
+    private final Map<String, EndpointSamples> endpoints = new ConcurrentHashMap<>();
+
+    public void record(String endpoint, long durationNanos, boolean success) {
+        endpoints.computeIfAbsent(endpoint, key -> new EndpointSamples())
+                .add(durationNanos, success);
+    }
+
+    public void reset() {
+        endpoints.clear();
+    }
+
+    public List<EndpointReport> report(long elapsedNanos) {
+        double elapsedSeconds = elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1);
+        return endpoints.entrySet().stream()
+                .map(entry -> entry.getValue().toReport(entry.getKey(), elapsedSeconds))
+                .sorted((left, right) -> Long.compare(right.requests(), left.requests()))
+                .toList();
+    }
+
+    public record EndpointReport(
+            String endpoint,
+            long requests,
+            long errors,
+            double throughput,
+            double p50Ms,
+            double p99Ms,
+            double p999Ms,
+            double maxMs
+    ) {
+    }
+
+    private static final class EndpointSamples {
+        private long[] samples = new long[1024];
+        private int size;
+        private long errors;
+
+        synchronized void add(long durationNanos, boolean success) {
+            if (size == samples.length) {
+                samples = Arrays.copyOf(samples, size * 2);
+            }
+            samples[size++] = durationNanos;
+            if (!success) {
+                errors++;
+            }
+        }
+
+        synchronized EndpointReport toReport(String endpoint, double elapsedSeconds) {
+            long[] sorted = Arrays.copyOf(samples, size);
+            Arrays.sort(sorted);
+            return new EndpointReport(
+                    endpoint,
+                    size,
+                    errors,
+                    elapsedSeconds > 0 ? size / elapsedSeconds : 0,
+                    percentile(sorted, 0.50),
+                    percentile(sorted, 0.99),
+                    percentile(sorted, 0.999),
+                    percentile(sorted, 1.0)
+            );
+        }
+
+        private static double percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(quantile * sorted.length) - 1;
+            long nanos = sorted[Math.min(Math.max(index, 0), sorted.length - 1)];
+            return nanos / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package com.daniil.bookingapp.loadtest;
+
+import com.daniil.bookingapp.model.enums.BookingStatus;
+import com.daniil.bookingapp.stripe.StripeWebhookStub;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public class LoadTestClient implements Runnable {
+    private static final String PASSWORD = "LoadTest123";
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final Duration CONFIRMATION_TIMEOUT = Duration.ofSeconds(15);
+    private static final long CONFIRMATION_POLL_MS = 200;
+    private static final double CENTER_LATITUDE = 50.45;
+    private static final double CENTER_LONGITUDE = 30.52;
+    private static final AtomicLong USER_SEQUENCE = new AtomicLong();
+
+    private final HttpClient httpClient;
+    private final URI baseUri;
+    private final ObjectMapper objectMapper;
+    private final LoadTestSettings settings;
+    private final List<Long> accommodationIds;
+    private final LatencyRecorder recorder;
+    private final StripeWebhookStub webhookStub;
+    private final AtomicBoolean running;
+    private final Random random;
+    private final List<WeightedAction> actions;
+
+    private String email;
+    private String token;
+    private long scheduledStart;
+
+    public LoadTestClient(
+            HttpClient httpClient,
+            URI baseUri,
+            ObjectMapper objectMapper,
+            LoadTestSettings settings,
+            List<Long> accommodationIds,
+            LatencyRecorder recorder,
+            AtomicBoolean running,
+            long seed
+    ) {
+        this.httpClient = httpClient;
+        this.baseUri = baseUri;
+        this.objectMapper = objectMapper;
+        this.settings = settings;
+        this.accommodationIds = accommodationIds;
+        this.recorder = recorder;
+        this.webhookStub = new StripeWebhookStub(settings.webhookSecret());
+        this.running = running;
+        this.random = new Random(seed);
+        this.actions = List.of(
+                new WeightedAction(settings.searchWeight(), this::search),
+                new WeightedAction(settings.nearbyWeight(), this::searchNearby),
+                new WeightedAction(settings.viewWeight(), this::viewAccommodation),
+                new WeightedAction(settings.myBookingsWeight(), this::myBookings),
+                new WeightedAction(settings.loginWeight(), this::login),
+                new WeightedAction(settings.registerWeight(), this::registerAndLogin),
+                new WeightedAction(settings.bookWeight(), this::bookAndPay)
+        );
+    }
+
+    @Override
+    public void run() {
+        try {
+            registerAndLogin();
+            long interval = settings.arrivalIntervalNanos();
+            long next = System.nanoTime() + random.nextLong(interval + 1);
+            while (running.get() && !Thread.currentThread().isInterrupted()) {
+                long wait = next - System.nanoTime();
+                if (wait > 0) {
+                    TimeUnit.NANOSECONDS.sleep(wait);
+                }
+                scheduledStart = next;
+                runNextAction();
+                next += interval;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.error("Load test client {} stopped: {}", email, e.getMessage(), e);
+        }
+    }
+
+    private void runNextAction() throws InterruptedException {
+        int roll = random.nextInt(settings.totalWeight());
+        for (WeightedAction action : actions) {
+            roll -= action.weight();
+            if (roll < 0) {
+                action.action().run();
+                return;
+            }
+        }
+    }
+
+    private void myBookings() throws InterruptedException {
+        send("GET /api/bookings/my", request("/api/bookings/my").GET());
+    }
+
+    private void registerAndLogin() throws InterruptedException {
+        email = "loadtest-" + USER_SEQUENCE.incrementAndGet() + "-" + System.nanoTime()
+                + "@example.com";
+        token = null;
+        send("POST /api/auth/register", request("/api/auth/register").POST(json(Map.of(
+                "email", email,
+                "password", PASSWORD,
+                "firstName", "Load",
+                "lastName", "Tester"
+        ))));
+        login();
+    }
+
+    private void login() throws InterruptedException {
+        HttpResponse<String> response = send("POST /api/auth/login",
+                request("/api/auth/login").POST(json(Map.of(
+                        "email", email,
+                        "password", PASSWORD
+                ))));
+        if (isSuccess(response)) {
+            token = readTree(response).path("token").asText();
+        }
+    }
+
+    private void search() throws InterruptedException {
+        String query = "?page=" + random.nextInt(5) + "&size=20"
+                + (random.nextBoolean() ? "&type=APARTMENT" : "");
+        send("GET /api/accommodations", request("/api/accommodations" + query).GET());
+    }
+
+    private void searchNearby() throws InterruptedException {
+        double latitude = CENTER_LATITUDE + (random.nextDouble() - 0.5) * 0.3;
+        double longitude = CENTER_LONGITUDE + (random.nextDouble() - 0.5) * 0.3;
+        send("GET /api/accommodations/nearby", request("/api/accommodations/nearby"
+                + "?latitude=" + latitude + "&longitude=" + longitude + "&radiusKm=5").GET());
+    }
+
+    private void viewAccommodation() throws InterruptedException {
+        send("GET /api/accommodations/{id}",
+                request("/api/accommodations/" + randomAccommodationId()).GET());
+    }
+
+    private void bookAndPay() throws InterruptedException {
+        LocalDate checkIn = LocalDate.now().plusDays(1 + random.nextInt(365));
+        LocalDate checkOut = checkIn.plusDays(1 + random.nextInt(7));
+        HttpResponse<String> booking = send("POST /api/bookings",
+                request("/api/bookings").POST(json(Map.of(
+                        "accommodationId", randomAccommodationId(),
+                        "checkInDate", checkIn.toString(),
+                        "checkOutDate", checkOut.toString()
+                ))));
+        if (!isSuccess(booking)) {
+            return;
+        }
+        long bookingId = readTree(booking).path("id").asLong();
+
+        HttpResponse<String> payment = send("POST /api/payments",
+                request("/api/payments").POST(json(Map.of("bookingId", bookingId))));
+        if (isSuccess(payment) && settings.confirmPayments()
+                && random.nextDouble() < settings.confirmRatio()
+                && confirmPayment(bookingId, readTree(payment).path("sessionId").asText())) {
+            return;
+        }
+        send("DELETE /api/bookings/{id}", request("/api/bookings/" + bookingId).DELETE());
+    }
+
+    private boolean confirmPayment(long bookingId, String sessionId)
+            throws InterruptedException {
+        StripeWebhookStub.SignedEvent event =
+                webhookStub.sessionCompleted(sessionId, "pi_loadtest_" + bookingId);
+        long start = System.nanoTime();
+        HttpResponse<String> accepted = send("POST /api/payments/webhook",
+                request("/api/payments/webhook")
+                        .header("Stripe-Signature", event.signatureHeader())
+                        .POST(HttpRequest.BodyPublishers.ofString(event.payload())));
+        if (!isSuccess(accepted)) {
+            return false;
+        }
+
+        long deadline = start + CONFIRMATION_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            HttpResponse<String> booking = send("GET /api/bookings/{id}",
+                    request("/api/bookings/" + bookingId).GET());
+            if (isSuccess(booking) && BookingStatus.CONFIRMED.name()
+                    .equals(readTree(booking).path("status").asText())) {
+                recorder.record("payment confirmation (webhook to CONFIRMED)",
+                        System.nanoTime() - start, true);
+                return true;
+            }
+            TimeUnit.MILLISECONDS.sleep(CONFIRMATION_POLL_MS);
+        }
+        recorder.record("payment confirmation (webhook to CONFIRMED)",
+                System.nanoTime() - start, false);
+        return true;
+    }
+
+    private HttpResponse<String> send(String endpoint, HttpRequest.Builder builder)
+            throws InterruptedException {
+        long start = scheduledStart != 0 ? scheduledStart : System.nanoTime();
+        scheduledStart = 0;
+        try {
+            HttpResponse<String> response =
+                    httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+            recorder.record(endpoint, System.nanoTime() - start, isSuccess(response));
+            return response;
+        } catch (IOException e) {
+            recorder.record(endpoint, System.nanoTime() - start, false);
+            log.debug("{} failed: {}", endpoint, e.getMessage());
+            return null;
+        }
+    }
+
+    private HttpRequest.Builder request(String path) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(baseUri.resolve(path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json");
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private HttpRequest.BodyPublisher json(Object body) {
+        try {
+            return HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to serialize load test request", e);
+        }
+    }
+
+    private JsonNode readTree(HttpResponse<String> response) {
+        try {
+            return objectMapper.readTree(response.body());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to parse load test response", e);
+        }
+    }
+
+    private boolean isSuccess(HttpResponse<String> response) {
+        return response != null && response.statusCode() < 400;
+    }
+
+    private long randomAccommodationId() {
+        return accommodationIds.get(random.nextInt(accommodationIds.size()));
+    }
+
+    @FunctionalInterface
+    private interface Action {
+        void run() throws InterruptedException;
+    }
+
+    private record WeightedAction(int weight, Action action) {
+    }
+}
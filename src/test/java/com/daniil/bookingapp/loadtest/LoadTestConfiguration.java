@@ -0,0 +1,16 @@
+package com.daniil.bookingapp.loadtest;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+@TestConfiguration(proxyBeanMethods = false)
+public class LoadTestConfiguration {
+
+    @Bean
+    public FakeTelegramChannel fakeTelegramChannel(
+            @Value("${loadtest.telegram.latency-ms:300}") long latencyMs
+    ) {
+        return new FakeTelegramChannel(latencyMs);
+    }
+}
@@ -0,0 +1,132 @@
+package com.daniil.bookingapp.loadtest;
+
+import com.daniil.bookingapp.BookingAppApplication;
+import com.daniil.bookingapp.geo.AccommodationGeoIndex;
+import com.daniil.bookingapp.model.Accommodation;
+import com.daniil.bookingapp.model.Role;
+import com.daniil.bookingapp.model.enums.AccommodationType;
+import com.daniil.bookingapp.model.enums.RoleName;
+import com.daniil.bookingapp.repository.AccommodationRepository;
+import com.daniil.bookingapp.repository.RoleRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+@Slf4j
+public final class LoadTestRunner {
+    private static final AccommodationType[] TYPES = AccommodationType.values();
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(
+                BookingAppApplication.class, LoadTestConfiguration.class)
+                .profiles("loadtest")
+                .run(args)) {
+            run(context);
+        }
+    }
+
+    private static void run(ConfigurableApplicationContext context) throws InterruptedException {
+        LoadTestSettings settings = LoadTestSettings.from(context.getEnvironment());
+        List<Long> accommodationIds = seed(context, settings);
+        URI baseUri = URI.create("http://localhost:"
+                + context.getEnvironment().getRequiredProperty("local.server.port"));
+        ObjectMapper objectMapper = context.getBean(ObjectMapper.class);
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        LatencyRecorder recorder = new LatencyRecorder();
+        AtomicBoolean running = new AtomicBoolean(true);
+
+        log.info("Starting load test: {} clients, {} s warm-up, {} s measurement against {}"
+                        + " ({} threads)",
+                settings.clients(), settings.warmup().toSeconds(),
+                settings.duration().toSeconds(), baseUri,
+                context.getEnvironment().getProperty("spring.threads.virtual.enabled",
+                        Boolean.class, false) ? "virtual" : "platform");
+        ExecutorService clients = Executors.newFixedThreadPool(settings.clients());
+        for (int i = 0; i < settings.clients(); i++) {
+            clients.execute(new LoadTestClient(httpClient, baseUri, objectMapper, settings,
+                    accommodationIds, recorder, running, i));
+        }
+
+        TimeUnit.MILLISECONDS.sleep(settings.warmup().toMillis());
+        recorder.reset();
+        long start = System.nanoTime();
+        TimeUnit.MILLISECONDS.sleep(settings.duration().toMillis());
+        final List<LatencyRecorder.EndpointReport> report =
+                recorder.report(System.nanoTime() - start);
+
+        running.set(false);
+        clients.shutdown();
+        if (!clients.awaitTermination(30, TimeUnit.SECONDS)) {
+            clients.shutdownNow();
+        }
+        print(report, context.getBean(FakeTelegramChannel.class));
+    }
+
+    private static List<Long> seed(
+            ConfigurableApplicationContext context,
+            LoadTestSettings settings
+    ) {
+        RoleRepository roleRepository = context.getBean(RoleRepository.class);
+        for (RoleName roleName : RoleName.values()) {
+            if (roleRepository.findByName(roleName).isEmpty()) {
+                roleRepository.save(Role.builder().name(roleName).build());
+            }
+        }
+
+        Random random = new Random(42);
+        List<Accommodation> accommodations = IntStream.range(0, settings.accommodations())
+                .mapToObj(i -> Accommodation.builder()
+                        .type(TYPES[i % TYPES.length])
+                        .location("Load test street " + i)
+                        .size(1 + i % 4 + " rooms")
+                        .amenities("WiFi,Kitchen")
+                        .dailyRate(BigDecimal.valueOf(40 + random.nextInt(160)))
+                        .availability(1_000)
+                        .latitude(50.45 + (random.nextDouble() - 0.5) * 0.3)
+                        .longitude(30.52 + (random.nextDouble() - 0.5) * 0.3)
+                        .build())
+                .toList();
+        List<Long> ids = context.getBean(AccommodationRepository.class)
+                .saveAll(accommodations).stream()
+                .map(Accommodation::getId)
+                .toList();
+        context.getBean(AccommodationGeoIndex.class).rebuild();
+        log.info("Seeded {} accommodations", ids.size());
+        return ids;
+    }
+
+    private static void print(
+            List<LatencyRecorder.EndpointReport> report,
+            FakeTelegramChannel telegram
+    ) {
+        StringBuilder table = new StringBuilder(String.format(
+                "%n%-45s %9s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p999 ms",
+                "max ms"));
+        for (LatencyRecorder.EndpointReport row : report) {
+            table.append(String.format("%-45s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    row.endpoint(), row.requests(), row.errors(), row.throughput(),
+                    row.p50Ms(), row.p99Ms(), row.p999Ms(), row.maxMs()));
+        }
+        table.append("Telegram notifications delivered: ").append(telegram.getDelivered());
+        log.info("Load test results:{}", table);
+    }
+}
@@ -0,0 +1,56 @@
+package com.daniil.bookingapp.loadtest;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.springframework.core.env.Environment;
+
+public record LoadTestSettings(
+        int clients,
+        Duration warmup,
+        Duration duration,
+        int accommodations,
+        double arrivalRate,
+        int searchWeight,
+        int nearbyWeight,
+        int viewWeight,
+        int myBookingsWeight,
+        int loginWeight,
+        int registerWeight,
+        int bookWeight,
+        boolean confirmPayments,
+        double confirmRatio,
+        String webhookSecret
+) {
+    private static final String PREFIX = "loadtest.";
+
+    public static LoadTestSettings from(Environment environment) {
+        return new LoadTestSettings(
+                environment.getProperty(PREFIX + "clients", Integer.class, 50),
+                Duration.ofSeconds(
+                        environment.getProperty(PREFIX + "warmup-seconds", Long.class, 10L)),
+                Duration.ofSeconds(
+                        environment.getProperty(PREFIX + "duration-seconds", Long.class, 60L)),
+                environment.getProperty(PREFIX + "accommodations", Integer.class, 500),
+                environment.getProperty(PREFIX + "arrival-rate", Double.class, 500.0),
+                environment.getProperty(PREFIX + "mix.search", Integer.class, 40),
+                environment.getProperty(PREFIX + "mix.nearby", Integer.class, 20),
+                environment.getProperty(PREFIX + "mix.view", Integer.class, 20),
+                environment.getProperty(PREFIX + "mix.my-bookings", Integer.class, 5),
+                environment.getProperty(PREFIX + "mix.login", Integer.class, 5),
+                environment.getProperty(PREFIX + "mix.register", Integer.class, 2),
+                environment.getProperty(PREFIX + "mix.book", Integer.class, 8),
+                environment.getProperty(PREFIX + "confirm-payments", Boolean.class, false),
+                environment.getProperty(PREFIX + "confirm-ratio", Double.class, 0.5),
+                environment.getRequiredProperty("stripe.webhook.secret")
+        );
+    }
+
+    public long arrivalIntervalNanos() {
+        return (long) (clients * TimeUnit.SECONDS.toNanos(1) / arrivalRate);
+    }
+
+    public int totalWeight() {
+        return searchWeight + nearbyWeight + viewWeight + myBookingsWeight + loginWeight
+                + registerWeight + bookWeight;
+    }
+}
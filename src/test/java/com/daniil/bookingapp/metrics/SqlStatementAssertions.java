@@ -0,0 +1,34 @@
+package com.daniil.bookingapp.metrics;
+
+import java.util.function.Supplier;
+
+public final class SqlStatementAssertions {
+
+    private SqlStatementAssertions() {
+    }
+
+    public static <T> T assertMaxStatements(int maxStatements, Supplier<T> call) {
+        SqlStatementCounter.start();
+        T result;
+        try {
+            result = call.get();
+        } finally {
+            verify(maxStatements, SqlStatementCounter.stop());
+        }
+        return result;
+    }
+
+    public static void assertMaxStatements(int maxStatements, Runnable call) {
+        assertMaxStatements(maxStatements, () -> {
+            call.run();
+            return null;
+        });
+    }
+
+    private static void verify(int maxStatements, SqlStatementStats stats) {
+        if (stats.statements() > maxStatements) {
+            throw new AssertionError("Expected at most " + maxStatements
+                    + " SQL statements but " + stats.statements() + " were issued");
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.daniil.bookingapp.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+class SqlStatementAssertionsTest {
+
+    @Test
+    void callWithinBudgetReturnsResult() {
+        String result = SqlStatementAssertions.assertMaxStatements(2, () -> {
+            SqlStatementCounter.record(1_000);
+            SqlStatementCounter.record(1_000);
+            return "ok";
+        });
+
+        assertEquals("ok", result);
+    }
+
+    @Test
+    void callOverBudgetFails() {
+        assertThrows(AssertionError.class, () ->
+                SqlStatementAssertions.assertMaxStatements(1, () -> {
+                    SqlStatementCounter.record(1_000);
+                    SqlStatementCounter.record(1_000);
+                }));
+    }
+
+    @Test
+    void nestedCountersBothSeeInnerStatements() {
+        SqlStatementCounter.start();
+        SqlStatementAssertions.assertMaxStatements(1, () -> SqlStatementCounter.record(5_000));
+        SqlStatementCounter.record(5_000);
+        SqlStatementStats outer = SqlStatementCounter.stop();
+
+        assertEquals(2, outer.statements());
+        assertEquals(10_000, outer.jdbcNanos());
+    }
+}
@@ -0,0 +1,143 @@
+package com.daniil.bookingapp.metrics;
+
+import static com.daniil.bookingapp.metrics.SqlStatementAssertions.assertMaxStatements;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.daniil.bookingapp.model.Role;
+import com.daniil.bookingapp.model.User;
+import com.daniil.bookingapp.model.enums.RoleName;
+import com.daniil.bookingapp.repository.RoleRepository;
+import com.daniil.bookingapp.repository.UserRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class SqlStatementCountingIntegrationTest {
+    private static final int USERS = 4;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void listenerCountsStatementsIssuedByHibernate() {
+        SqlStatementCounter.start();
+        transactionTemplate.executeWithoutResult(status -> userRepository.count());
+        SqlStatementStats stats = SqlStatementCounter.stop();
+
+        assertEquals(1, stats.statements());
+    }
+
+    @Test
+    void interceptorRecordsStatementsPerRequest() throws Exception {
+        String location = UUID.randomUUID().toString();
+
+        mockMvc.perform(get("/api/accommodations").param("location", location))
+                .andExpect(status().isOk());
+
+        DistributionSummary summary = meterRegistry.find("http.server.sql.statements")
+                .tag("method", "GET")
+                .tag("uri", "/api/accommodations")
+                .summary();
+        assertNotNull(summary);
+        assertTrue(summary.count() >= 1);
+        assertTrue(summary.totalAmount() >= 1);
+    }
+
+    @Test
+    void lazyRoleAccessPerUserIsDetectedAsNPlusOne() {
+        String domain = seedUsers();
+
+        assertThrows(AssertionError.class, () -> assertMaxStatements(2, () ->
+                transactionTemplate.executeWithoutResult(status -> entityManager
+                        .createQuery("SELECT u FROM User u WHERE u.email LIKE :domain",
+                                User.class)
+                        .setParameter("domain", "%@" + domain)
+                        .getResultList()
+                        .forEach(user -> user.getRoles().size()))));
+    }
+
+    @Test
+    void fetchJoinLoadsUsersWithRolesInOneStatement() {
+        String domain = seedUsers();
+
+        List<User> users = assertMaxStatements(1, () ->
+                transactionTemplate.execute(status -> {
+                    List<User> loaded = entityManager.createQuery(
+                                    "SELECT DISTINCT u FROM User u LEFT JOIN FETCH u.roles "
+                                            + "WHERE u.email LIKE :domain", User.class)
+                            .setParameter("domain", "%@" + domain)
+                            .getResultList();
+                    loaded.forEach(user -> user.getRoles().size());
+                    return loaded;
+                }));
+
+        assertEquals(USERS, users.size());
+    }
+
+    @Test
+    void findByEmailWithRolesStaysWithinBudget() {
+        String domain = seedUsers();
+
+        User user = assertMaxStatements(1, () ->
+                transactionTemplate.execute(status -> {
+                    User loaded = userRepository.findByEmailWithRoles("user0@" + domain)
+                            .orElseThrow();
+                    loaded.getRoles().size();
+                    return loaded;
+                }));
+
+        assertEquals(1, user.getRoles().size());
+    }
+
+    private String seedUsers() {
+        String domain = UUID.randomUUID() + ".test";
+        transactionTemplate.executeWithoutResult(status -> {
+            Role role = roleRepository.findByName(RoleName.ROLE_CUSTOMER)
+                    .orElseGet(() -> roleRepository.save(Role.builder()
+                            .name(RoleName.ROLE_CUSTOMER)
+                            .build()));
+            for (int i = 0; i < USERS; i++) {
+                userRepository.save(User.builder()
+                        .email("user" + i + "@" + domain)
+                        .password("password" + i)
+                        .firstName("First")
+                        .lastName("Last")
+                        .roles(new HashSet<>(Set.of(role)))
+                        .build());
+            }
+        });
+        return domain;
+    }
+}
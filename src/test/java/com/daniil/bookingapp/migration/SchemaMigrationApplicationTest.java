@@ -0,0 +1,38 @@
+package com.daniil.bookingapp.migration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import org.junit.jupiter.api.Test;
+
+class SchemaMigrationApplicationTest {
+    private static final String URL = "jdbc:h2:mem:migration;DB_CLOSE_DELAY=-1";
+
+    @Test
+    void mainAppliesChangelogAndExits() throws SQLException {
+        SchemaMigrationApplication.main(new String[] {
+                "--spring.datasource.url=" + URL,
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.liquibase.change-log=classpath:db/changelog/migration-test-changelog.yaml"
+        });
+
+        try (Connection connection = DriverManager.getConnection(URL, "sa", "");
+                Statement statement = connection.createStatement()) {
+            assertEquals(1, count(statement, "SELECT COUNT(*) FROM databasechangelog"));
+            assertEquals(0, count(statement, "SELECT COUNT(*) FROM migration_probe"));
+        }
+    }
+
+    private int count(Statement statement, String sql) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getInt(1);
+        }
+    }
+}
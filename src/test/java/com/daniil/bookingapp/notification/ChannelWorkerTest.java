@@ -0,0 +1,140 @@
+package com.daniil.bookingapp.notification;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class ChannelWorkerTest {
+    private static final long TIMEOUT_MS = 5_000L;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final BlockingChannel channel = new BlockingChannel("test");
+    private ChannelWorker worker;
+
+    @AfterEach
+    void tearDown() {
+        channel.release.countDown();
+        if (worker != null) {
+            worker.shutdown(TIMEOUT_MS);
+        }
+    }
+
+    @Test
+    void dropNewestKeepsQueuedMessages() throws Exception {
+        worker = new ChannelWorker(channel, 1, 1, OverflowPolicy.DROP_NEWEST, false,
+                meterRegistry);
+
+        fillQueue();
+        worker.submit(message("third"));
+        channel.release.countDown();
+        worker.shutdown(TIMEOUT_MS);
+
+        assertEquals(List.of("first", "second"), channel.delivered);
+        assertEquals(1, worker.getStats().dropped());
+        assertEquals(1.0, meterRegistry.get("notifications.dropped")
+                .tag("channel", "test").counter().count());
+    }
+
+    @Test
+    void dropOldestReplacesQueuedMessage() throws Exception {
+        worker = new ChannelWorker(channel, 1, 1, OverflowPolicy.DROP_OLDEST, false,
+                meterRegistry);
+
+        fillQueue();
+        worker.submit(message("third"));
+        channel.release.countDown();
+        worker.shutdown(TIMEOUT_MS);
+
+        assertEquals(List.of("first", "third"), channel.delivered);
+        assertEquals(1, worker.getStats().dropped());
+        assertEquals(3, worker.getStats().submitted());
+    }
+
+    @Test
+    void failedDeliveryIsCountedAndWorkerKeepsRunning() {
+        FailingChannel failing = new FailingChannel();
+        worker = new ChannelWorker(failing, 1, 10, OverflowPolicy.DROP_NEWEST, false,
+                meterRegistry);
+
+        worker.submit(message("fail"));
+        worker.submit(message("ok"));
+        worker.shutdown(TIMEOUT_MS);
+
+        ChannelStats stats = worker.getStats();
+        assertEquals(1, stats.failed());
+        assertEquals(1, stats.delivered());
+        assertEquals(1, meterRegistry.get("notifications.delivery")
+                .tag("channel", "failing").tag("outcome", "failure").timer().count());
+    }
+
+    @Test
+    void slowChannelDoesNotDelayOtherChannels() throws Exception {
+        BlockingChannel fast = new BlockingChannel("fast");
+        fast.release.countDown();
+        worker = new ChannelWorker(channel, 1, 10, OverflowPolicy.DROP_NEWEST, false,
+                meterRegistry);
+        ChannelWorker fastWorker = new ChannelWorker(fast, 1, 10, OverflowPolicy.DROP_NEWEST,
+                false, meterRegistry);
+
+        worker.submit(message("slow"));
+        fastWorker.submit(message("fast"));
+        fastWorker.shutdown(TIMEOUT_MS);
+
+        assertEquals(List.of("fast"), fast.delivered);
+        assertTrue(channel.delivered.isEmpty());
+    }
+
+    private void fillQueue() throws InterruptedException {
+        worker.submit(message("first"));
+        assertTrue(channel.started.await(TIMEOUT_MS, TimeUnit.MILLISECONDS));
+        worker.submit(message("second"));
+    }
+
+    private static NotificationMessage message(String text) {
+        return new NotificationMessage(NotificationType.BOOKING_CREATED, "Title", text);
+    }
+
+    private static final class BlockingChannel implements NotificationChannel {
+        private final String name;
+        private final CountDownLatch started = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final List<String> delivered = new CopyOnWriteArrayList<>();
+
+        private BlockingChannel(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public void deliver(NotificationMessage message) throws InterruptedException {
+            started.countDown();
+            release.await();
+            delivered.add(message.text());
+        }
+    }
+
+    private static final class FailingChannel implements NotificationChannel {
+        @Override
+        public String getName() {
+            return "failing";
+        }
+
+        @Override
+        public void deliver(NotificationMessage message) {
+            if ("fail".equals(message.text())) {
+                throw new IllegalStateException("Channel is down");
+            }
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.daniil.bookingapp.notification;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class NotificationOutboxTest {
+    private NotificationOutbox outbox;
+
+    @BeforeEach
+    void setUp() {
+        outbox = outbox(60_000L, 20L);
+    }
+
+    @Test
+    void deliveredMessagesLeaveTheOutboxInOrder() {
+        List<String> sent = new ArrayList<>();
+        outbox.send("first");
+        outbox.send("second");
+
+        outbox.drain(sent::add);
+
+        assertEquals(List.of("first", "second"), sent);
+        assertEquals(0, outbox.getStats().pendingMessages());
+        assertEquals(2, outbox.getStats().delivered());
+    }
+
+    @Test
+    void failedSendKeepsMessageForNextDrain() {
+        final List<String> sent = new ArrayList<>();
+        outbox.send("first");
+        outbox.send("second");
+
+        outbox.drain(message -> false);
+
+        assertEquals(2, outbox.getStats().pendingMessages());
+        assertEquals(0, outbox.getStats().delivered());
+
+        outbox.drain(sent::add);
+
+        assertEquals(List.of("first", "second"), sent);
+        assertEquals(0, outbox.getStats().pendingMessages());
+    }
+
+    @Test
+    void messageIsDroppedAfterMaxSendAttempts() {
+        List<String> sent = new ArrayList<>();
+        outbox.send("poison");
+        outbox.send("next");
+
+        for (int i = 0; i < 4; i++) {
+            outbox.drain(message -> !"poison".equals(message) && sent.add(message));
+        }
+
+        assertEquals(List.of("next"), sent);
+        assertEquals(1, outbox.getStats().dropped());
+        assertEquals(0, outbox.getStats().pendingMessages());
+    }
+
+    @Test
+    void rateLimitHoldsBackMessagesWithoutLosingThem() {
+        outbox = outbox(60_000L, 1L);
+        List<String> sent = new ArrayList<>();
+        outbox.send("first");
+        outbox.send("second");
+
+        outbox.drain(sent::add);
+
+        assertEquals(List.of("first"), sent);
+        assertEquals(1, outbox.getStats().pendingMessages());
+        assertEquals(1, outbox.getStats().rateLimited());
+    }
+
+    @Test
+    void fullOutboxDropsNewMessages() {
+        ReflectionTestUtils.setField(outbox, "maxPendingMessages", 1);
+        outbox.send("first");
+        outbox.send("second");
+
+        assertEquals(1, outbox.getStats().pendingMessages());
+        assertEquals(1, outbox.getStats().dropped());
+    }
+
+    @Test
+    void mergedLinesAreHeldUntilTheDigestWindowCloses() {
+        List<String> sent = new ArrayList<>();
+        outbox.merge("RELEASED", "Released", "room 1");
+        outbox.merge("RELEASED", "Released", "room 2");
+
+        outbox.drain(sent::add);
+
+        assertTrue(sent.isEmpty());
+        assertEquals(1, outbox.getStats().pendingDigests());
+        assertEquals(1, outbox.getStats().merged());
+    }
+
+    @Test
+    void dueDigestIsRenderedAsOneMessage() {
+        outbox = outbox(0L, 20L);
+        ReflectionTestUtils.setField(outbox, "maxDigestLines", 2);
+        List<String> sent = new ArrayList<>();
+        outbox.merge("RELEASED", "Released", "room 1");
+        outbox.merge("RELEASED", "Released", "room 2");
+        outbox.merge("RELEASED", "Released", "room 3");
+
+        outbox.drain(sent::add);
+
+        assertEquals(List.of("*Released* (3)\n\nroom 1\nroom 2\n...and 1 more"), sent);
+        assertEquals(0, outbox.getStats().pendingDigests());
+    }
+
+    private NotificationOutbox outbox(long digestWindowMs, long rateCapacity) {
+        NotificationOutbox created = new NotificationOutbox(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(created, "digestWindowMs", digestWindowMs);
+        ReflectionTestUtils.setField(created, "maxDigestLines", 20);
+        ReflectionTestUtils.setField(created, "maxPendingMessages", 500);
+        ReflectionTestUtils.setField(created, "rateCapacity", rateCapacity);
+        ReflectionTestUtils.setField(created, "ratePerMinute", 1L);
+        ReflectionTestUtils.setField(created, "maxSendAttempts", 3);
+        created.init();
+        return created;
+    }
+}
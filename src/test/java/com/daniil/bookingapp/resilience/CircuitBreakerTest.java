@@ -0,0 +1,161 @@
+package com.daniil.bookingapp.resilience;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+class CircuitBreakerTest {
+    @Test
+    void staysClosedUntilMinimumCallsAreRecorded() {
+        CircuitBreaker breaker = new CircuitBreaker(10, 4, 50, Duration.ofMinutes(1));
+
+        fail(breaker);
+        fail(breaker);
+        fail(breaker);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+
+        fail(breaker);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    void opensWhenFailureRateReachesThreshold() {
+        CircuitBreaker breaker = new CircuitBreaker(4, 4, 50, Duration.ofMinutes(1));
+
+        succeed(breaker);
+        succeed(breaker);
+        fail(breaker);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+
+        fail(breaker);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    void slidingWindowForgetsOldOutcomes() {
+        CircuitBreaker breaker = new CircuitBreaker(4, 4, 75, Duration.ofMinutes(1));
+
+        fail(breaker);
+        fail(breaker);
+        succeed(breaker);
+        succeed(breaker);
+        succeed(breaker);
+        succeed(breaker);
+        fail(breaker);
+        fail(breaker);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+
+        fail(breaker);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    void rejectsCallsWhileOpen() {
+        CircuitBreaker breaker = openBreaker(Duration.ofMinutes(1));
+
+        assertTrue(breaker.tryAcquirePermission().isEmpty());
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    void halfOpenAllowsSingleTrialAndClosesOnSuccess() {
+        CircuitBreaker breaker = openBreaker(Duration.ZERO);
+
+        CircuitBreaker.Permit trial = breaker.tryAcquirePermission().orElseThrow();
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertTrue(breaker.tryAcquirePermission().isEmpty());
+
+        breaker.onSuccess(trial);
+        breaker.releasePermission(trial);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.tryAcquirePermission().isPresent());
+    }
+
+    @Test
+    void halfOpenReopensOnFailure() {
+        CircuitBreaker breaker = openBreaker(Duration.ofMillis(50));
+        sleep(60);
+
+        CircuitBreaker.Permit trial = breaker.tryAcquirePermission().orElseThrow();
+        breaker.onFailure(trial);
+        breaker.releasePermission(trial);
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertTrue(breaker.tryAcquirePermission().isEmpty());
+    }
+
+    @Test
+    void halfOpenTrialIsReleasedWhenCallEndsWithoutOutcome() {
+        CircuitBreaker breaker = openBreaker(Duration.ZERO);
+
+        breaker.releasePermission(breaker.tryAcquirePermission().orElseThrow());
+
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertTrue(breaker.tryAcquirePermission().isPresent());
+    }
+
+    @Test
+    void lateCallCannotReleaseHalfOpenTrial() {
+        CircuitBreaker breaker = new CircuitBreaker(2, 2, 50, Duration.ZERO);
+        final CircuitBreaker.Permit late = breaker.tryAcquirePermission().orElseThrow();
+        fail(breaker);
+        fail(breaker);
+
+        breaker.tryAcquirePermission().orElseThrow();
+        breaker.releasePermission(late);
+
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertTrue(breaker.tryAcquirePermission().isEmpty());
+    }
+
+    @Test
+    void lateOutcomeDoesNotDecideHalfOpenTrial() {
+        CircuitBreaker breaker = new CircuitBreaker(2, 2, 50, Duration.ZERO);
+        CircuitBreaker.Permit late = breaker.tryAcquirePermission().orElseThrow();
+        fail(breaker);
+        fail(breaker);
+        CircuitBreaker.Permit trial = breaker.tryAcquirePermission().orElseThrow();
+
+        breaker.onSuccess(late);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+
+        breaker.onFailure(trial);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    void rejectsInvalidConfiguration() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new CircuitBreaker(4, 5, 50, Duration.ofMinutes(1)));
+        assertThrows(IllegalArgumentException.class,
+                () -> new CircuitBreaker(0, 0, 50, Duration.ofMinutes(1)));
+    }
+
+    private CircuitBreaker openBreaker(Duration openDuration) {
+        CircuitBreaker breaker = new CircuitBreaker(2, 2, 50, openDuration);
+        fail(breaker);
+        fail(breaker);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        return breaker;
+    }
+
+    private void fail(CircuitBreaker breaker) {
+        breaker.onFailure(breaker.tryAcquirePermission().orElseThrow());
+    }
+
+    private void succeed(CircuitBreaker breaker) {
+        breaker.onSuccess(breaker.tryAcquirePermission().orElseThrow());
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.daniil.bookingapp.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.daniil.bookingapp.coalescing.RequestCoalescer;
+import com.daniil.bookingapp.dto.accommodation.AccommodationImportErrorDto;
+import com.daniil.bookingapp.dto.accommodation.AccommodationImportResultDto;
+import com.daniil.bookingapp.event.AccommodationCreatedEvent;
+import com.daniil.bookingapp.event.AccommodationLocationChangedEvent;
+import com.daniil.bookingapp.mapper.AccommodationMapperImpl;
+import com.daniil.bookingapp.model.Accommodation;
+import com.daniil.bookingapp.model.enums.AccommodationType;
+import com.daniil.bookingapp.model.enums.ExportFormat;
+import com.daniil.bookingapp.repository.AccommodationRepository;
+import com.daniil.bookingapp.service.NotificationService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class AccommodationImportServiceImplTest {
+    private static final String CSV_HEADER =
+            "type,location,size,amenities,dailyRate,availability,latitude,longitude\n";
+    private static final String DUPLICATE = "Duplicate";
+
+    private final AccommodationRepository accommodationRepository =
+            mock(AccommodationRepository.class);
+    private final NotificationService notificationService = mock(NotificationService.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private final AtomicLong ids = new AtomicLong();
+    private final List<Integer> chunkSizes = new ArrayList<>();
+    private final List<Accommodation> saved = new ArrayList<>();
+
+    private AccommodationImportServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new AccommodationImportServiceImpl(
+                accommodationRepository,
+                new AccommodationMapperImpl(),
+                notificationService,
+                eventPublisher,
+                mock(RequestCoalescer.class),
+                new ObjectMapper(),
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                new TransactionTemplate(mock(PlatformTransactionManager.class))
+        );
+        ReflectionTestUtils.setField(service, "chunkSize", 2);
+        ReflectionTestUtils.setField(service, "maxReportedErrors", 10);
+        ReflectionTestUtils.setField(service, "maxAttempts", 3);
+
+        when(accommodationRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Accommodation> chunk = invocation.getArgument(0);
+            chunkSizes.add(chunk.size());
+            if (chunk.stream().anyMatch(row -> DUPLICATE.equals(row.getLocation()))) {
+                throw new DataIntegrityViolationException("duplicate location");
+            }
+            chunk.forEach(this::store);
+            return chunk;
+        });
+        when(accommodationRepository.save(any(Accommodation.class))).thenAnswer(invocation -> {
+            Accommodation accommodation = invocation.getArgument(0);
+            if (DUPLICATE.equals(accommodation.getLocation())) {
+                throw new DataIntegrityViolationException("duplicate location");
+            }
+            return store(accommodation);
+        });
+    }
+
+    @Test
+    void csvRowsAreParsedIntoAccommodations() throws IOException {
+        AccommodationImportResultDto result = importCsv(CSV_HEADER
+                + "house,\"Kyiv, Podil\",3 rooms,wifi; parking,120.50,2,50.45,30.52\n");
+
+        assertEquals(1, result.getImportedCount());
+        Accommodation accommodation = saved.get(0);
+        assertEquals(AccommodationType.HOUSE, accommodation.getType());
+        assertEquals("Kyiv, Podil", accommodation.getLocation());
+        assertEquals("wifi,parking", accommodation.getAmenities());
+        assertEquals(new BigDecimal("120.50"), accommodation.getDailyRate());
+        assertEquals(2, accommodation.getAvailability());
+        assertEquals(50.45, accommodation.getLatitude());
+        verify(notificationService).sendAccommodationsImportedNotification(1, 0);
+    }
+
+    @Test
+    void ndjsonRowsAreParsedAndBlankLinesSkipped() throws IOException {
+        AccommodationImportResultDto result = importNdjson(
+                json("Lviv") + "\n\n" + json("Odesa") + "\n");
+
+        assertEquals(2, result.getTotalRows());
+        assertEquals(2, result.getImportedCount());
+        assertEquals(List.of("Lviv", "Odesa"),
+                saved.stream().map(Accommodation::getLocation).toList());
+    }
+
+    @Test
+    void rowsAreWrittenInChunksOfConfiguredSize() throws IOException {
+        importNdjson(json("A") + "\n" + json("B") + "\n" + json("C") + "\n"
+                + json("D") + "\n" + json("E") + "\n");
+
+        assertEquals(List.of(2, 2, 1), chunkSizes);
+        assertEquals(5, saved.size());
+    }
+
+    @Test
+    void invalidRowsAreRejectedWithTheirRowNumbers() throws IOException {
+        AccommodationImportResultDto result = importCsv(CSV_HEADER
+                + "house,Kyiv,3 rooms,,120,2,,\n"
+                + "castle,Kyiv,3 rooms,,120,2,,\n"
+                + "house,,3 rooms,,120,2,,\n"
+                + "house,Kyiv,3 rooms,,120\n"
+                + "house,Kyiv,3 rooms,,abc,2,,\n");
+
+        assertEquals(5, result.getTotalRows());
+        assertEquals(1, result.getImportedCount());
+        assertEquals(4, result.getFailedCount());
+        assertEquals(List.of(3L, 4L, 5L, 6L),
+                result.getErrors().stream().map(AccommodationImportErrorDto::getRow).toList());
+        assertTrue(result.getErrors().get(0).getMessage().contains("type"));
+        assertTrue(result.getErrors().get(1).getMessage().contains("location"));
+        assertTrue(result.getErrors().get(2).getMessage().contains("Expected 8 columns"));
+        assertTrue(result.getErrors().get(3).getMessage().contains("dailyRate"));
+    }
+
+    @Test
+    void malformedJsonIsRejectedWithoutStoppingImport() throws IOException {
+        AccommodationImportResultDto result = importNdjson(
+                "{not json\n" + json("Lviv") + "\n");
+
+        assertEquals(1, result.getImportedCount());
+        assertEquals(1L, result.getErrors().get(0).getRow());
+        assertTrue(result.getErrors().get(0).getMessage().startsWith("Malformed JSON"));
+    }
+
+    @Test
+    void constraintViolationInChunkFallsBackToRowByRow() throws IOException {
+        AccommodationImportResultDto result = importNdjson(
+                json("Lviv") + "\n" + json(DUPLICATE) + "\n" + json("Odesa") + "\n");
+
+        assertEquals(2, result.getImportedCount());
+        assertEquals(1, result.getFailedCount());
+        assertEquals(2L, result.getErrors().get(0).getRow());
+        assertTrue(result.getErrors().get(0).getMessage().startsWith("Could not be saved"));
+        assertEquals(List.of("Lviv", "Odesa"),
+                saved.stream().map(Accommodation::getLocation).toList());
+    }
+
+    @Test
+    void importedAccommodationsArePublishedAsEvents() throws IOException {
+        importNdjson(json("Lviv") + "\n");
+
+        Long id = saved.get(0).getId();
+        verify(eventPublisher).publishEvent(new AccommodationCreatedEvent(id, true));
+        verify(eventPublisher).publishEvent(new AccommodationLocationChangedEvent(
+                id, 49.84, 24.03, AccommodationType.APARTMENT));
+        verify(eventPublisher, times(2)).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void errorReportIsTruncated() throws IOException {
+        ReflectionTestUtils.setField(service, "maxReportedErrors", 1);
+
+        AccommodationImportResultDto result = importNdjson("{bad\n{bad\n");
+
+        assertEquals(2, result.getFailedCount());
+        assertEquals(1, result.getErrors().size());
+        assertTrue(result.isErrorsTruncated());
+        assertTrue(saved.isEmpty());
+    }
+
+    private Accommodation store(Accommodation accommodation) {
+        accommodation.setId(ids.incrementAndGet());
+        saved.add(accommodation);
+        return accommodation;
+    }
+
+    private AccommodationImportResultDto importCsv(String content) throws IOException {
+        return service.importAccommodations(stream(content), ExportFormat.CSV);
+    }
+
+    private AccommodationImportResultDto importNdjson(String content) throws IOException {
+        return service.importAccommodations(stream(content), ExportFormat.NDJSON);
+    }
+
+    private ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String json(String location) {
+        return "{\"type\":\"APARTMENT\",\"location\":\"" + location + "\",\"size\":\"Studio\","
+                + "\"dailyRate\":80,\"availability\":1,\"latitude\":49.84,\"longitude\":24.03}";
+    }
+}
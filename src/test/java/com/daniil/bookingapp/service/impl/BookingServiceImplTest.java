@@ -0,0 +1,85 @@
+package com.daniil.bookingapp.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.daniil.bookingapp.event.BookingCancelledEvent;
+import com.daniil.bookingapp.exception.BookingException;
+import com.daniil.bookingapp.mapper.BookingMapper;
+import com.daniil.bookingapp.model.Accommodation;
+import com.daniil.bookingapp.model.Booking;
+import com.daniil.bookingapp.model.User;
+import com.daniil.bookingapp.model.enums.BookingStatus;
+import com.daniil.bookingapp.repository.BookingRepository;
+import com.daniil.bookingapp.service.AccommodationService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDate;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+class BookingServiceImplTest {
+    private static final Long BOOKING_ID = 1L;
+
+    private final BookingRepository bookingRepository = mock(BookingRepository.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+
+    private BookingServiceImpl service;
+    private User user;
+    private Booking booking;
+
+    @BeforeEach
+    void setUp() {
+        service = new BookingServiceImpl(
+                bookingRepository,
+                mock(AccommodationService.class),
+                eventPublisher,
+                mock(BookingMapper.class),
+                new SimpleMeterRegistry()
+        );
+        user = User.builder().id(5L).build();
+        booking = Booking.builder()
+                .id(BOOKING_ID)
+                .user(user)
+                .accommodation(Accommodation.builder().id(3L).availability(0).build())
+                .checkInDate(LocalDate.now().plusDays(10))
+                .checkOutDate(LocalDate.now().plusDays(12))
+                .build();
+        when(bookingRepository.findByIdForUpdate(BOOKING_ID)).thenReturn(Optional.of(booking));
+    }
+
+    @Test
+    void cancelConfirmedBookingLocksRowAndReportsItWasPaid() {
+        booking.confirm();
+
+        service.cancel(BOOKING_ID, user);
+
+        verify(bookingRepository).findByIdForUpdate(BOOKING_ID);
+        verify(bookingRepository, never()).findById(any());
+        assertEquals(BookingStatus.CANCELED, booking.getStatus());
+        assertEquals(1, booking.getAccommodation().getAvailability());
+        verify(eventPublisher).publishEvent(new BookingCancelledEvent(BOOKING_ID, 3L, true));
+    }
+
+    @Test
+    void cancelPendingBookingReportsItWasNotPaid() {
+        service.cancel(BOOKING_ID, user);
+
+        verify(eventPublisher).publishEvent(new BookingCancelledEvent(BOOKING_ID, 3L, false));
+    }
+
+    @Test
+    void cancelByAnotherUserIsRejected() {
+        assertThrows(BookingException.class,
+                () -> service.cancel(BOOKING_ID, User.builder().id(6L).build()));
+
+        verify(eventPublisher, never()).publishEvent(any());
+        assertEquals(BookingStatus.PENDING, booking.getStatus());
+    }
+}
@@ -0,0 +1,147 @@
+package com.daniil.bookingapp.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.daniil.bookingapp.model.enums.BookingStatus;
+import com.daniil.bookingapp.model.enums.ExportFormat;
+import com.daniil.bookingapp.model.enums.PaymentStatus;
+import com.daniil.bookingapp.repository.BookingRepository;
+import com.daniil.bookingapp.repository.PaymentRepository;
+import com.daniil.bookingapp.repository.projection.BookingExportRow;
+import com.daniil.bookingapp.repository.projection.PaymentExportRow;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+
+class ExportServiceImplTest {
+    private final BookingRepository bookingRepository = mock(BookingRepository.class);
+    private final PaymentRepository paymentRepository = mock(PaymentRepository.class);
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule());
+    private final ExportServiceImpl service =
+            new ExportServiceImpl(bookingRepository, paymentRepository, objectMapper);
+
+    @Test
+    void bookingsAreWrittenAsCsvWithHeaderAndEscaping() throws IOException {
+        BookingExportRow row = booking(7L);
+        when(row.getAccommodationLocation()).thenReturn("Kyiv, \"Podil\"");
+        when(bookingRepository.streamForExport(null, null)).thenReturn(Stream.of(row));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        long written = service.exportBookings(null, null, ExportFormat.CSV, output);
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertEquals(1, written);
+        assertEquals(2, lines.length);
+        assertEquals("id,checkInDate,checkOutDate,status,totalPrice,accommodationId,"
+                + "accommodationType,accommodationLocation,userId,userEmail,createdAt,updatedAt",
+                lines[0]);
+        assertEquals("7,2030-01-10,2030-01-12,CONFIRMED,160.00,0,,\"Kyiv, \"\"Podil\"\"\",0,,,",
+                lines[1]);
+    }
+
+    @Test
+    void paymentsAreWrittenAsOneJsonObjectPerLine() throws IOException {
+        PaymentExportRow first = payment(1L);
+        PaymentExportRow second = payment(2L);
+        when(paymentRepository.streamForExport(5L, PaymentStatus.PAID))
+                .thenReturn(Stream.of(first, second));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        long written = service.exportPayments(5L, PaymentStatus.PAID, ExportFormat.NDJSON, output);
+
+        List<String> lines = output.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(2, written);
+        assertEquals(2, lines.size());
+        JsonNode json = objectMapper.readTree(lines.get(1));
+        assertEquals(2L, json.get("id").asLong());
+        assertEquals("PAID", json.get("status").asText());
+        assertTrue(lines.get(1).contains("\"amountToPay\":80.00"));
+        assertTrue(json.get("paidAt").isNull());
+    }
+
+    @Test
+    void rowsAreFlushedWhileTheResultIsStillBeingRead() throws IOException {
+        FlushRecordingStream output = new FlushRecordingStream();
+        List<Integer> bytesWrittenAtRow = new ArrayList<>();
+        Stream<BookingExportRow> rows = LongStream.rangeClosed(1, 2_500)
+                .mapToObj(id -> {
+                    if (id == 1_001 || id == 2_001) {
+                        bytesWrittenAtRow.add(output.flushedBytes);
+                    }
+                    return booking(id);
+                });
+        when(bookingRepository.streamForExport(null, BookingStatus.CONFIRMED)).thenReturn(rows);
+
+        long written = service.exportBookings(null, BookingStatus.CONFIRMED, ExportFormat.NDJSON,
+                output);
+
+        assertEquals(2_500, written);
+        assertEquals(2_500, output.toString(StandardCharsets.UTF_8).lines().count());
+        assertTrue(bytesWrittenAtRow.get(0) > 0);
+        assertTrue(bytesWrittenAtRow.get(1) > bytesWrittenAtRow.get(0));
+    }
+
+    @Test
+    void resultStreamIsClosedAfterExport() throws IOException {
+        AtomicBoolean closed = new AtomicBoolean();
+        Stream<BookingExportRow> rows = Stream.of(booking(1L)).onClose(() -> closed.set(true));
+        when(bookingRepository.streamForExport(null, null)).thenReturn(rows);
+
+        service.exportBookings(null, null, ExportFormat.CSV, new ByteArrayOutputStream());
+
+        assertTrue(closed.get());
+    }
+
+    @Test
+    void emptyCsvExportStillHasHeader() throws IOException {
+        when(paymentRepository.streamForExport(null, null)).thenReturn(Stream.empty());
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        long written = service.exportPayments(null, null, ExportFormat.CSV, output);
+
+        assertEquals(0, written);
+        assertTrue(output.toString(StandardCharsets.UTF_8).startsWith("id,status,bookingId"));
+    }
+
+    private BookingExportRow booking(long id) {
+        BookingExportRow row = mock(BookingExportRow.class);
+        when(row.getId()).thenReturn(id);
+        when(row.getCheckInDate()).thenReturn(LocalDate.of(2030, 1, 10));
+        when(row.getCheckOutDate()).thenReturn(LocalDate.of(2030, 1, 12));
+        when(row.getStatus()).thenReturn(BookingStatus.CONFIRMED);
+        when(row.getTotalPrice()).thenReturn(new BigDecimal("160.00"));
+        return row;
+    }
+
+    private PaymentExportRow payment(long id) {
+        PaymentExportRow row = mock(PaymentExportRow.class);
+        when(row.getId()).thenReturn(id);
+        when(row.getStatus()).thenReturn(PaymentStatus.PAID);
+        when(row.getAmountToPay()).thenReturn(new BigDecimal("80.00"));
+        return row;
+    }
+
+    private static final class FlushRecordingStream extends ByteArrayOutputStream {
+        private int flushedBytes;
+
+        @Override
+        public void flush() {
+            flushedBytes = size();
+        }
+    }
+}
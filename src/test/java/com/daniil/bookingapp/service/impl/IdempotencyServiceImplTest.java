@@ -0,0 +1,291 @@
+package com.daniil.bookingapp.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.daniil.bookingapp.exception.IdempotencyConflictException;
+import com.daniil.bookingapp.exception.IdempotencyKeyReuseException;
+import com.daniil.bookingapp.metrics.SchedulerMetrics;
+import com.daniil.bookingapp.model.IdempotencyRecord;
+import com.daniil.bookingapp.model.User;
+import com.daniil.bookingapp.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class IdempotencyServiceImplTest {
+    private static final String OPERATION = "create-booking";
+    private static final String KEY = "key-1";
+    private static final Map<String, Object> REQUEST = Map.of("bookingId", 1);
+
+    private final IdempotencyRecordRepository repository = mock(IdempotencyRecordRepository.class);
+    private final User user = User.builder().id(5L).build();
+    private final AtomicInteger actions = new AtomicInteger();
+
+    private volatile IdempotencyRecord stored;
+
+    @BeforeEach
+    void setUp() {
+        when(repository.findByUserIdAndOperationAndIdempotencyKey(anyLong(), anyString(),
+                anyString())).thenAnswer(invocation -> Optional.ofNullable(copy(stored)));
+        when(repository.save(any(IdempotencyRecord.class))).thenAnswer(invocation -> {
+            IdempotencyRecord record = invocation.getArgument(0);
+            record.setId(1L);
+            stored = copy(record);
+            return record;
+        });
+        when(repository.complete(anyLong(), any(), anyString())).thenAnswer(invocation -> {
+            if (stored == null || stored.isCompleted()
+                    || !stored.getClaimedAt().equals(invocation.getArgument(1))) {
+                return 0;
+            }
+            stored.setResponseBody(invocation.getArgument(2));
+            return 1;
+        });
+        when(repository.deleteClaim(anyLong(), any())).thenAnswer(invocation -> {
+            if (stored == null || stored.isCompleted()
+                    || !stored.getClaimedAt().equals(invocation.getArgument(1))) {
+                return 0;
+            }
+            stored = null;
+            return 1;
+        });
+        when(repository.takeOverStaleClaim(anyLong(), any(), any())).thenAnswer(invocation -> {
+            LocalDateTime staleBefore = invocation.getArgument(1);
+            if (stored == null || !stored.isClaimStale(staleBefore)) {
+                return 0;
+            }
+            stored.setClaimedAt(invocation.getArgument(2));
+            return 1;
+        });
+    }
+
+    @Test
+    void completedRequestIsReplayedWithoutRunningTheActionAgain() {
+        IdempotencyServiceImpl service = service(120);
+
+        Result first = execute(service, REQUEST, () -> action("booking-1"));
+        Result second = execute(service, REQUEST, () -> action("booking-2"));
+        Result afterRestart = execute(service(120), REQUEST, () -> action("booking-3"));
+
+        assertEquals(new Result("booking-1"), first);
+        assertEquals(first, second);
+        assertEquals(first, afterRestart);
+        assertEquals(1, actions.get());
+    }
+
+    @Test
+    void sameKeyWithDifferentRequestIsRejected() {
+        IdempotencyServiceImpl service = service(120);
+        execute(service, REQUEST, () -> action("booking-1"));
+
+        assertThrows(IdempotencyKeyReuseException.class,
+                () -> execute(service, Map.of("bookingId", 2), () -> action("booking-2")));
+        assertThrows(IdempotencyKeyReuseException.class,
+                () -> execute(service(120), Map.of("bookingId", 2), () -> action("booking-2")));
+        assertEquals(1, actions.get());
+    }
+
+    @Test
+    void concurrentRequestWaitsForTheFirstAndReplaysIt() throws Exception {
+        IdempotencyServiceImpl service = service(120);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<Result> first = CompletableFuture.supplyAsync(() ->
+                execute(service, REQUEST, () -> {
+                    started.countDown();
+                    await(release);
+                    return action("booking-1");
+                }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Result> second = CompletableFuture.supplyAsync(() ->
+                execute(service, REQUEST, () -> action("booking-2")));
+        release.countDown();
+
+        assertEquals(new Result("booking-1"), first.get(5, TimeUnit.SECONDS));
+        assertEquals(new Result("booking-1"), second.get(5, TimeUnit.SECONDS));
+        assertEquals(1, actions.get());
+    }
+
+    @Test
+    void waiterGivesUpAfterTheClaimLease() throws Exception {
+        IdempotencyServiceImpl service = service(1);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        final CompletableFuture<Result> first = CompletableFuture.supplyAsync(() ->
+                execute(service, REQUEST, () -> {
+                    started.countDown();
+                    await(release);
+                    return action("booking-1");
+                }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        assertThrows(IdempotencyConflictException.class,
+                () -> execute(service, REQUEST, () -> action("booking-2")));
+        release.countDown();
+        assertEquals(new Result("booking-1"), first.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void freshClaimFromAnotherInstanceIsReportedAsInProgress() throws Exception {
+        stored = claim(LocalDateTime.now());
+
+        assertThrows(IdempotencyConflictException.class,
+                () -> execute(service(120), REQUEST, () -> action("booking-1")));
+        assertEquals(0, actions.get());
+    }
+
+    @Test
+    void staleClaimIsTakenOverAndRunsTheAction() throws Exception {
+        stored = claim(LocalDateTime.now().minusMinutes(10));
+
+        Result result = execute(service(120), REQUEST, () -> action("booking-1"));
+
+        assertEquals(new Result("booking-1"), result);
+        assertNotNull(stored.getResponseBody());
+        assertEquals(1, actions.get());
+    }
+
+    @Test
+    void staleClaimReusesSideEffectLeftByTheCrashedRequest() throws Exception {
+        stored = claim(LocalDateTime.now().minusMinutes(10));
+
+        Result result = service(120).execute(user, OPERATION, KEY, REQUEST, Result.class,
+                () -> Optional.of(new Result("session-1")), () -> action("session-2"));
+
+        assertEquals(new Result("session-1"), result);
+        assertTrue(stored.getResponseBody().contains("session-1"));
+        assertEquals(0, actions.get());
+    }
+
+    @Test
+    void sideEffectIsNotLookedUpForAFreshClaim() {
+        Result result = service(120).execute(user, OPERATION, KEY, REQUEST, Result.class,
+                () -> Optional.of(new Result("session-1")), () -> action("session-2"));
+
+        assertEquals(new Result("session-2"), result);
+        assertEquals(1, actions.get());
+    }
+
+    @Test
+    void requestOvertakenByStaleTakeoverCannotStoreItsResponse() {
+        IdempotencyServiceImpl service = service(120);
+
+        assertThrows(IdempotencyConflictException.class, () -> execute(service, REQUEST, () -> {
+            stored.setClaimedAt(LocalDateTime.now().plusSeconds(1));
+            return action("booking-1");
+        }));
+        assertNotNull(stored);
+        assertNull(stored.getResponseBody());
+    }
+
+    @Test
+    void failedActionReleasesTheClaim() {
+        IdempotencyServiceImpl service = service(120);
+
+        assertThrows(IllegalStateException.class, () -> execute(service, REQUEST, () -> {
+            throw new IllegalStateException("boom");
+        }));
+
+        assertNull(stored);
+        assertEquals(new Result("booking-1"),
+                execute(service, REQUEST, () -> action("booking-1")));
+    }
+
+    private IdempotencyServiceImpl service(long leaseSeconds) {
+        IdempotencyServiceImpl service = new IdempotencyServiceImpl(
+                repository,
+                new ObjectMapper(),
+                new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                new SchedulerMetrics(new SimpleMeterRegistry())
+        );
+        ReflectionTestUtils.setField(service, "ttlHours", 24L);
+        ReflectionTestUtils.setField(service, "cacheSize", 100);
+        ReflectionTestUtils.setField(service, "claimLeaseSeconds", leaseSeconds);
+        service.init();
+        return service;
+    }
+
+    private Result execute(
+            IdempotencyServiceImpl service,
+            Object request,
+            Supplier<Result> action
+    ) {
+        return service.execute(user, OPERATION, KEY, request, Result.class, action);
+    }
+
+    private Result action(String value) {
+        actions.incrementAndGet();
+        return new Result(value);
+    }
+
+    private IdempotencyRecord claim(LocalDateTime claimedAt) throws Exception {
+        IdempotencyRecord record = IdempotencyRecord.builder()
+                .userId(user.getId())
+                .operation(OPERATION)
+                .idempotencyKey(KEY)
+                .requestHash(requestHash())
+                .claimedAt(claimedAt.truncatedTo(ChronoUnit.MILLIS))
+                .expiresAt(LocalDateTime.now().plusHours(24))
+                .build();
+        record.setId(1L);
+        return record;
+    }
+
+    private static String requestHash() throws Exception {
+        byte[] json = new ObjectMapper().writeValueAsBytes(REQUEST);
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(json));
+    }
+
+    private static IdempotencyRecord copy(IdempotencyRecord record) {
+        if (record == null) {
+            return null;
+        }
+        return IdempotencyRecord.builder()
+                .id(record.getId())
+                .userId(record.getUserId())
+                .operation(record.getOperation())
+                .idempotencyKey(record.getIdempotencyKey())
+                .requestHash(record.getRequestHash())
+                .responseBody(record.getResponseBody())
+                .claimedAt(record.getClaimedAt())
+                .expiresAt(record.getExpiresAt())
+                .build();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    record Result(String value) {
+    }
+}
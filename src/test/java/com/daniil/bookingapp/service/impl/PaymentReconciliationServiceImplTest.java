@@ -0,0 +1,156 @@
+package com.daniil.bookingapp.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.daniil.bookingapp.dto.payment.PaymentReconciliationReportDto;
+import com.daniil.bookingapp.event.PaymentSucceededEvent;
+import com.daniil.bookingapp.gateway.CheckoutSession;
+import com.daniil.bookingapp.gateway.PaymentGateway;
+import com.daniil.bookingapp.metrics.SchedulerMetrics;
+import com.daniil.bookingapp.model.Accommodation;
+import com.daniil.bookingapp.model.Booking;
+import com.daniil.bookingapp.model.Payment;
+import com.daniil.bookingapp.model.enums.BookingStatus;
+import com.daniil.bookingapp.model.enums.PaymentStatus;
+import com.daniil.bookingapp.repository.PaymentRepository;
+import com.daniil.bookingapp.repository.projection.PaymentReconciliationView;
+import com.daniil.bookingapp.service.BookingService;
+import com.daniil.bookingapp.service.NotificationService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class PaymentReconciliationServiceImplTest {
+    private static final Long PAYMENT_ID = 10L;
+    private static final Long BOOKING_ID = 1L;
+
+    private final PaymentRepository paymentRepository = mock(PaymentRepository.class);
+    private final PaymentGateway paymentGateway = mock(PaymentGateway.class);
+    private final BookingService bookingService = mock(BookingService.class);
+    private final NotificationService notificationService = mock(NotificationService.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+
+    private PaymentReconciliationServiceImpl service;
+    private Booking booking;
+    private Payment payment;
+
+    @BeforeEach
+    void setUp() {
+        service = new PaymentReconciliationServiceImpl(
+                paymentRepository,
+                paymentGateway,
+                bookingService,
+                notificationService,
+                eventPublisher,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                new SchedulerMetrics(new SimpleMeterRegistry())
+        );
+        ReflectionTestUtils.setField(service, "chunkSize", 100);
+        ReflectionTestUtils.setField(service, "concurrency", 2);
+        ReflectionTestUtils.setField(service, "maxCallsPerSecond", 100);
+        service.init();
+
+        booking = Booking.builder()
+                .id(BOOKING_ID)
+                .accommodation(Accommodation.builder().id(3L).build())
+                .build();
+        payment = Payment.builder()
+                .id(PAYMENT_ID)
+                .booking(booking)
+                .sessionId("cs_old")
+                .amountToPay(new BigDecimal("160.00"))
+                .build();
+        when(bookingService.lockBookingById(BOOKING_ID)).thenReturn(booking);
+        when(paymentRepository.findById(PAYMENT_ID)).thenReturn(Optional.of(payment));
+        List<PaymentReconciliationView> chunk = List.of(view("cs_old", PaymentStatus.PENDING));
+        when(paymentRepository.findReconciliationChunk(eq(0L), any(), any())).thenReturn(chunk);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void paidSessionConfirmsBooking() {
+        when(paymentGateway.retrieveCheckoutSession("cs_old")).thenReturn(paid("cs_old"));
+
+        PaymentReconciliationReportDto report = service.reconcile();
+
+        assertEquals(1, report.getMarkedPaid());
+        assertEquals(PaymentStatus.PAID, payment.getStatus());
+        assertEquals("pi_1", payment.getStripePaymentIntentId());
+        assertEquals(BookingStatus.CONFIRMED, booking.getStatus());
+        verify(eventPublisher).publishEvent(new PaymentSucceededEvent(PAYMENT_ID, BOOKING_ID, 3L));
+    }
+
+    @Test
+    void paidOldSessionAfterRenewalIsAConflict() {
+        when(paymentGateway.retrieveCheckoutSession("cs_old")).thenAnswer(invocation -> {
+            payment.setSessionId("cs_new");
+            return paid("cs_old");
+        });
+
+        PaymentReconciliationReportDto report = service.reconcile();
+
+        assertEquals(1, report.getConflicts());
+        assertEquals(PaymentStatus.PENDING, payment.getStatus());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void expiredSessionIsAppliedOnlyToTheSameSession() {
+        when(paymentGateway.retrieveCheckoutSession("cs_old")).thenReturn(
+                new CheckoutSession("cs_old", null, "expired", "unpaid", null));
+        when(paymentRepository.updateStatusByIdAndSessionId(
+                PAYMENT_ID, "cs_old", PaymentStatus.PENDING, PaymentStatus.EXPIRED))
+                .thenReturn(0);
+
+        PaymentReconciliationReportDto report = service.reconcile();
+
+        assertEquals(0, report.getMarkedExpired());
+        assertEquals(1, report.getMatched());
+        verify(paymentRepository).updateStatusByIdAndSessionId(
+                PAYMENT_ID, "cs_old", PaymentStatus.PENDING, PaymentStatus.EXPIRED);
+    }
+
+    @Test
+    void submitRunsInBackgroundAndNotifies() {
+        when(paymentRepository.findReconciliationChunk(anyLong(), any(), any()))
+                .thenReturn(List.of());
+
+        service.submit();
+
+        verify(notificationService, timeout(5000))
+                .sendPaymentReconciliationNotification(any(PaymentReconciliationReportDto.class));
+    }
+
+    private CheckoutSession paid(String sessionId) {
+        return new CheckoutSession(sessionId, null, "complete", "paid", "pi_1");
+    }
+
+    private PaymentReconciliationView view(String sessionId, PaymentStatus status) {
+        PaymentReconciliationView view = mock(PaymentReconciliationView.class);
+        when(view.getId()).thenReturn(PAYMENT_ID);
+        when(view.getBookingId()).thenReturn(BOOKING_ID);
+        when(view.getSessionId()).thenReturn(sessionId);
+        when(view.getStatus()).thenReturn(status);
+        return view;
+    }
+}
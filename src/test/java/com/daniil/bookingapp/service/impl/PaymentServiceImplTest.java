@@ -0,0 +1,183 @@
+package com.daniil.bookingapp.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.daniil.bookingapp.dto.payment.PaymentRequestDto;
+import com.daniil.bookingapp.dto.payment.PaymentResponseDto;
+import com.daniil.bookingapp.event.PaymentCreatedEvent;
+import com.daniil.bookingapp.exception.BookingException;
+import com.daniil.bookingapp.exception.PaymentGatewayException;
+import com.daniil.bookingapp.gateway.CheckoutSession;
+import com.daniil.bookingapp.gateway.PaymentGateway;
+import com.daniil.bookingapp.mapper.PaymentMapper;
+import com.daniil.bookingapp.metrics.SchedulerMetrics;
+import com.daniil.bookingapp.model.Accommodation;
+import com.daniil.bookingapp.model.Booking;
+import com.daniil.bookingapp.model.Payment;
+import com.daniil.bookingapp.model.User;
+import com.daniil.bookingapp.model.enums.AccommodationType;
+import com.daniil.bookingapp.model.enums.BookingStatus;
+import com.daniil.bookingapp.model.enums.PaymentStatus;
+import com.daniil.bookingapp.repository.PaymentRepository;
+import com.daniil.bookingapp.service.BookingService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class PaymentServiceImplTest {
+    private static final Long BOOKING_ID = 1L;
+    private static final Long PAYMENT_ID = 10L;
+    private static final CheckoutSession SESSION =
+            new CheckoutSession("cs_1", "https://checkout.test/cs_1", "open", "unpaid", null);
+
+    private final PaymentRepository paymentRepository = mock(PaymentRepository.class);
+    private final BookingService bookingService = mock(BookingService.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private final PaymentMapper paymentMapper = mock(PaymentMapper.class);
+    private final PaymentGateway paymentGateway = mock(PaymentGateway.class);
+
+    private PaymentServiceImpl service;
+    private User user;
+    private Booking booking;
+    private Payment stored;
+
+    @BeforeEach
+    void setUp() {
+        service = new PaymentServiceImpl(
+                paymentRepository,
+                bookingService,
+                eventPublisher,
+                paymentMapper,
+                paymentGateway,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                new SchedulerMetrics(new SimpleMeterRegistry())
+        );
+        ReflectionTestUtils.setField(service, "baseUrl", "http://localhost:8080");
+
+        user = User.builder().id(5L).email("guest@example.com").build();
+        booking = Booking.builder()
+                .id(BOOKING_ID)
+                .user(user)
+                .accommodation(Accommodation.builder()
+                        .id(3L)
+                        .type(AccommodationType.APARTMENT)
+                        .location("Kyiv")
+                        .size("Studio")
+                        .dailyRate(new BigDecimal("80.00"))
+                        .availability(1)
+                        .build())
+                .checkInDate(LocalDate.now().plusDays(10))
+                .checkOutDate(LocalDate.now().plusDays(12))
+                .totalPrice(new BigDecimal("160.00"))
+                .build();
+
+        when(bookingService.lockBookingById(BOOKING_ID)).thenReturn(booking);
+        when(paymentRepository.save(any(Payment.class))).thenAnswer(invocation -> {
+            Payment payment = invocation.getArgument(0);
+            if (payment.getId() == null) {
+                payment.setId(PAYMENT_ID);
+            }
+            stored = payment;
+            return payment;
+        });
+        when(paymentRepository.findById(PAYMENT_ID))
+                .thenAnswer(invocation -> Optional.ofNullable(stored));
+        when(paymentMapper.toDto(any(Payment.class))).thenReturn(new PaymentResponseDto());
+    }
+
+    @Test
+    void createPaymentSessionAttachesSessionToReservation() {
+        when(paymentGateway.createCheckoutSession(any())).thenReturn(SESSION);
+
+        assertNotNull(service.createPaymentSession(request(), user));
+
+        assertEquals(PaymentStatus.PENDING, stored.getStatus());
+        assertEquals("cs_1", stored.getSessionId());
+        assertEquals(new BigDecimal("160.00"), stored.getAmountToPay());
+        verify(eventPublisher).publishEvent(any(PaymentCreatedEvent.class));
+        verify(paymentGateway, never()).expireCheckoutSession(any());
+    }
+
+    @Test
+    void bookingCancelledDuringCheckoutExpiresSessionAndFailsPayment() {
+        when(paymentGateway.createCheckoutSession(any())).thenAnswer(invocation -> {
+            booking.setStatus(BookingStatus.CANCELED);
+            return SESSION;
+        });
+
+        assertThrows(BookingException.class, () -> service.createPaymentSession(request(), user));
+
+        assertEquals(PaymentStatus.FAILED, stored.getStatus());
+        assertNull(stored.getSessionId());
+        verify(paymentGateway).expireCheckoutSession("cs_1");
+        verify(eventPublisher, never()).publishEvent(any(PaymentCreatedEvent.class));
+    }
+
+    @Test
+    void expiredReservationIsNotRevived() {
+        when(paymentGateway.createCheckoutSession(any())).thenAnswer(invocation -> {
+            stored.markAsExpired();
+            return SESSION;
+        });
+
+        assertThrows(BookingException.class, () -> service.createPaymentSession(request(), user));
+
+        assertEquals(PaymentStatus.EXPIRED, stored.getStatus());
+        assertNull(stored.getSessionId());
+        verify(paymentGateway).expireCheckoutSession("cs_1");
+    }
+
+    @Test
+    void failureToExpireDiscardedSessionStillRejectsRequest() {
+        when(paymentGateway.createCheckoutSession(any())).thenAnswer(invocation -> {
+            booking.setStatus(BookingStatus.CANCELED);
+            return SESSION;
+        });
+        when(paymentGateway.expireCheckoutSession("cs_1"))
+                .thenThrow(new PaymentGatewayException("Payment provider is unavailable"));
+
+        assertThrows(BookingException.class, () -> service.createPaymentSession(request(), user));
+
+        assertEquals(PaymentStatus.FAILED, stored.getStatus());
+    }
+
+    @Test
+    void gatewayFailureReleasesReservation() {
+        when(paymentGateway.createCheckoutSession(any()))
+                .thenThrow(new PaymentGatewayException("Payment provider is unavailable"));
+
+        assertThrows(PaymentGatewayException.class,
+                () -> service.createPaymentSession(request(), user));
+
+        assertEquals(PaymentStatus.FAILED, stored.getStatus());
+        verify(eventPublisher, never()).publishEvent(any(PaymentCreatedEvent.class));
+    }
+
+    @Test
+    void activeSessionBlocksSecondReservation() {
+        when(paymentGateway.createCheckoutSession(any())).thenReturn(SESSION);
+        service.createPaymentSession(request(), user);
+        booking.setPayment(stored);
+
+        assertThrows(BookingException.class, () -> service.createPaymentSession(request(), user));
+    }
+
+    private PaymentRequestDto request() {
+        return PaymentRequestDto.builder().bookingId(BOOKING_ID).build();
+    }
+}
@@ -0,0 +1,112 @@
+package com.daniil.bookingapp.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.daniil.bookingapp.metrics.SchedulerMetrics;
+import com.daniil.bookingapp.model.Accommodation;
+import com.daniil.bookingapp.model.Booking;
+import com.daniil.bookingapp.model.Payment;
+import com.daniil.bookingapp.repository.DailyRevenueRepository;
+import com.daniil.bookingapp.repository.NightlyOccupancyRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+class ReportServiceImplTest {
+    private static final Long ACCOMMODATION_ID = 3L;
+    private static final LocalDate CHECK_IN = LocalDate.of(2026, 7, 1);
+    private static final LocalDate CHECK_OUT = LocalDate.of(2026, 7, 4);
+
+    private final DailyRevenueRepository dailyRevenueRepository =
+            mock(DailyRevenueRepository.class);
+    private final NightlyOccupancyRepository nightlyOccupancyRepository =
+            mock(NightlyOccupancyRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ReportServiceImpl service;
+    private Booking booking;
+
+    @BeforeEach
+    void setUp() {
+        service = new ReportServiceImpl(
+                dailyRevenueRepository,
+                nightlyOccupancyRepository,
+                new SchedulerMetrics(meterRegistry)
+        );
+        booking = Booking.builder()
+                .id(1L)
+                .accommodation(Accommodation.builder().id(ACCOMMODATION_ID).build())
+                .checkInDate(CHECK_IN)
+                .checkOutDate(CHECK_OUT)
+                .build();
+    }
+
+    @Test
+    void paidBookingAddsRevenueForPaymentDayAndOccupiesNights() {
+        Payment payment = Payment.builder()
+                .booking(booking)
+                .amountToPay(new BigDecimal("240.00"))
+                .paidAt(LocalDateTime.of(2026, 6, 15, 23, 59))
+                .build();
+
+        service.recordPaidBooking(payment);
+
+        verify(dailyRevenueRepository).add(
+                LocalDate.of(2026, 6, 15), ACCOMMODATION_ID, new BigDecimal("240.00"), 1);
+        verify(nightlyOccupancyRepository).add(ACCOMMODATION_ID, CHECK_IN, CHECK_OUT, 1);
+    }
+
+    @Test
+    void cancelledBookingReleasesNightsAndKeepsRevenue() {
+        service.recordCancelledBooking(booking);
+
+        verify(nightlyOccupancyRepository).add(ACCOMMODATION_ID, CHECK_IN, CHECK_OUT, -1);
+        verify(dailyRevenueRepository, never()).add(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void rebuildReplacesRollupsWhileHoldingLocks() {
+        when(dailyRevenueRepository.tryLockRebuild(ReportServiceImpl.REBUILD_LOCK_KEY))
+                .thenReturn(true);
+        when(dailyRevenueRepository.rebuildFromPayments()).thenReturn(4);
+        when(nightlyOccupancyRepository.rebuildFromBookings()).thenReturn(9);
+
+        service.rebuildRollups();
+
+        InOrder order = inOrder(dailyRevenueRepository, nightlyOccupancyRepository);
+        order.verify(dailyRevenueRepository).tryLockRebuild(ReportServiceImpl.REBUILD_LOCK_KEY);
+        order.verify(dailyRevenueRepository).lockRollups();
+        order.verify(dailyRevenueRepository).deleteAllRows();
+        order.verify(nightlyOccupancyRepository).deleteAllRows();
+        order.verify(dailyRevenueRepository).rebuildFromPayments();
+        order.verify(nightlyOccupancyRepository).rebuildFromBookings();
+        assertEquals(13, meterRegistry.find("scheduler.rows.processed")
+                .tag("task", "rollup-rebuild")
+                .counter()
+                .count());
+    }
+
+    @Test
+    void rebuildIsSkippedWhileAnotherInstanceHoldsTheLock() {
+        when(dailyRevenueRepository.tryLockRebuild(anyLong())).thenReturn(false);
+
+        service.rebuildRollups();
+
+        verify(dailyRevenueRepository, never()).lockRollups();
+        verify(dailyRevenueRepository, never()).deleteAllRows();
+        verify(nightlyOccupancyRepository, never()).deleteAllRows();
+        verify(dailyRevenueRepository, never()).rebuildFromPayments();
+    }
+}
@@ -0,0 +1,204 @@
+package com.daniil.bookingapp.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.daniil.bookingapp.event.PaymentSucceededEvent;
+import com.daniil.bookingapp.exception.InvalidWebhookException;
+import com.daniil.bookingapp.metrics.SchedulerMetrics;
+import com.daniil.bookingapp.model.Accommodation;
+import com.daniil.bookingapp.model.Booking;
+import com.daniil.bookingapp.model.Payment;
+import com.daniil.bookingapp.model.StripeEvent;
+import com.daniil.bookingapp.model.enums.BookingStatus;
+import com.daniil.bookingapp.model.enums.PaymentStatus;
+import com.daniil.bookingapp.model.enums.StripeEventStatus;
+import com.daniil.bookingapp.repository.PaymentRepository;
+import com.daniil.bookingapp.repository.StripeEventRepository;
+import com.daniil.bookingapp.service.BookingService;
+import com.daniil.bookingapp.stripe.StripeWebhookStub;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class StripeWebhookServiceImplTest {
+    private static final String SECRET = "whsec_test_secret";
+
+    private final StripeEventRepository stripeEventRepository = mock(StripeEventRepository.class);
+    private final PaymentRepository paymentRepository = mock(PaymentRepository.class);
+    private final BookingService bookingService = mock(BookingService.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private final StripeWebhookStub stub = new StripeWebhookStub(SECRET);
+
+    private StripeWebhookServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new StripeWebhookServiceImpl(
+                stripeEventRepository,
+                paymentRepository,
+                bookingService,
+                eventPublisher,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                new SchedulerMetrics(new SimpleMeterRegistry())
+        );
+        ReflectionTestUtils.setField(service, "webhookSecret", SECRET);
+        ReflectionTestUtils.setField(service, "batchSize", 100);
+        ReflectionTestUtils.setField(service, "maxAttempts", 2);
+        ReflectionTestUtils.setField(service, "retryBackoffMs", 5_000L);
+        ReflectionTestUtils.setField(service, "maxRetryBackoffMs", 300_000L);
+    }
+
+    @Test
+    void receiveQueuesEventAndToleratesDuplicateDelivery() {
+        when(stripeEventRepository.insertIfAbsent(any(), any(), any(), any(), any(), any()))
+                .thenReturn(1, 0);
+        StripeWebhookStub.SignedEvent signed = stub.sessionCompleted("cs_1", "pi_1");
+
+        service.receive(signed.payload(), signed.signatureHeader());
+        service.receive(signed.payload(), signed.signatureHeader());
+
+        ArgumentCaptor<String> eventIds = ArgumentCaptor.forClass(String.class);
+        verify(stripeEventRepository, times(2)).insertIfAbsent(eventIds.capture(),
+                eq("checkout.session.completed"), eq("cs_1"), eq("pi_1"), eq("paid"), any());
+        assertEquals(eventIds.getAllValues().get(0), eventIds.getAllValues().get(1));
+    }
+
+    @Test
+    void receiveRejectsInvalidSignature() {
+        StripeWebhookStub.SignedEvent signed = new StripeWebhookStub("whsec_other")
+                .sessionCompleted("cs_1", "pi_1");
+
+        assertThrows(InvalidWebhookException.class,
+                () -> service.receive(signed.payload(), signed.signatureHeader()));
+        verify(stripeEventRepository, never())
+                .insertIfAbsent(any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void processConfirmsPaymentAndIgnoresDuplicateEventForSameSession() {
+        StripeEvent first = completedEvent("evt_1", "cs_1");
+        StripeEvent duplicate = completedEvent("evt_2", "cs_1");
+        Booking booking = pendingBooking(10L);
+        Payment payment = pendingPayment(20L, "cs_1");
+        when(stripeEventRepository.lockNextDue(any()))
+                .thenReturn(Optional.of(first), Optional.of(duplicate), Optional.empty());
+        when(paymentRepository.findBookingIdBySessionId("cs_1")).thenReturn(Optional.of(10L));
+        when(bookingService.lockBookingById(10L)).thenReturn(booking);
+        when(paymentRepository.findBySessionId("cs_1")).thenReturn(Optional.of(payment));
+
+        service.processPendingEvents();
+
+        assertEquals(StripeEventStatus.PROCESSED, first.getStatus());
+        assertEquals(StripeEventStatus.IGNORED, duplicate.getStatus());
+        assertEquals(PaymentStatus.PAID, payment.getStatus());
+        assertEquals(BookingStatus.CONFIRMED, booking.getStatus());
+        verify(eventPublisher, times(1)).publishEvent(any(PaymentSucceededEvent.class));
+    }
+
+    @Test
+    void poisonEventIsBackedOffWhileOtherEventsKeepDraining() {
+        StripeEvent poison = completedEvent("evt_poison", "cs_unknown");
+        StripeEvent good = completedEvent("evt_good", "cs_2");
+        StripeEvent next = completedEvent("evt_next", "cs_3");
+        Payment payment = pendingPayment(21L, "cs_2");
+        Payment nextPayment = pendingPayment(22L, "cs_3");
+        when(stripeEventRepository.lockNextDue(any())).thenReturn(Optional.of(poison),
+                Optional.of(good), Optional.of(next), Optional.empty());
+        when(stripeEventRepository.lockReceivedById("evt_poison")).thenReturn(Optional.of(poison));
+        when(paymentRepository.findBookingIdBySessionId("cs_unknown"))
+                .thenReturn(Optional.of(11L));
+        when(paymentRepository.findBookingIdBySessionId("cs_2")).thenReturn(Optional.of(12L));
+        when(paymentRepository.findBookingIdBySessionId("cs_3")).thenReturn(Optional.of(13L));
+        when(bookingService.lockBookingById(12L)).thenReturn(pendingBooking(12L));
+        when(bookingService.lockBookingById(13L)).thenReturn(pendingBooking(13L));
+        when(paymentRepository.findBySessionId("cs_2")).thenReturn(Optional.of(payment));
+        when(paymentRepository.findBySessionId("cs_3")).thenReturn(Optional.of(nextPayment));
+        final LocalDateTime before = LocalDateTime.now();
+
+        service.processPendingEvents();
+
+        assertEquals(StripeEventStatus.RECEIVED, poison.getStatus());
+        assertEquals(1, poison.getAttempts());
+        assertTrue(poison.getLastError().contains("cs_unknown"));
+        assertFalse(poison.getNextAttemptAt().isBefore(before.plusSeconds(5)));
+        assertEquals(StripeEventStatus.PROCESSED, good.getStatus());
+        assertEquals(StripeEventStatus.PROCESSED, next.getStatus());
+        assertEquals(PaymentStatus.PAID, nextPayment.getStatus());
+    }
+
+    @Test
+    void retryDelayDoublesUpToTheCapThenGivesUp() {
+        ReflectionTestUtils.setField(service, "maxAttempts", 5);
+        ReflectionTestUtils.setField(service, "maxRetryBackoffMs", 15_000L);
+        StripeEvent poison = completedEvent("evt_poison", "cs_unknown");
+        when(stripeEventRepository.lockReceivedById("evt_poison")).thenReturn(Optional.of(poison));
+        when(paymentRepository.findBookingIdBySessionId("cs_unknown"))
+                .thenReturn(Optional.of(11L));
+
+        assertEquals(5, retryDelaySeconds(poison));
+        assertEquals(10, retryDelaySeconds(poison));
+        assertEquals(15, retryDelaySeconds(poison));
+        assertEquals(15, retryDelaySeconds(poison));
+
+        processOnce(poison);
+        assertEquals(StripeEventStatus.FAILED, poison.getStatus());
+        assertEquals(5, poison.getAttempts());
+    }
+
+    private long retryDelaySeconds(StripeEvent event) {
+        LocalDateTime before = LocalDateTime.now();
+        processOnce(event);
+        return Duration.between(before, event.getNextAttemptAt()).toSeconds();
+    }
+
+    private void processOnce(StripeEvent event) {
+        when(stripeEventRepository.lockNextDue(any()))
+                .thenReturn(Optional.of(event), Optional.empty());
+        service.processPendingEvents();
+    }
+
+    private StripeEvent completedEvent(String id, String sessionId) {
+        return StripeEvent.builder()
+                .id(id)
+                .type("checkout.session.completed")
+                .sessionId(sessionId)
+                .paymentIntentId("pi_" + id)
+                .sessionPaymentStatus("paid")
+                .receivedAt(LocalDateTime.now())
+                .build();
+    }
+
+    private Booking pendingBooking(Long id) {
+        return Booking.builder()
+                .id(id)
+                .status(BookingStatus.PENDING)
+                .accommodation(Accommodation.builder().id(5L).build())
+                .build();
+    }
+
+    private Payment pendingPayment(Long id, String sessionId) {
+        return Payment.builder()
+                .id(id)
+                .status(PaymentStatus.PENDING)
+                .sessionId(sessionId)
+                .build();
+    }
+}
@@ -0,0 +1,74 @@
+package com.daniil.bookingapp.stripe;
+
+import com.stripe.Stripe;
+import com.stripe.net.Webhook;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.UUID;
+
+public class StripeWebhookStub {
+    private final String secret;
+
+    public StripeWebhookStub(String secret) {
+        this.secret = secret;
+    }
+
+    public SignedEvent sessionCompleted(String sessionId, String paymentIntentId) {
+        return sessionEvent("checkout.session.completed", sessionId, "complete", "paid",
+                paymentIntentId);
+    }
+
+    public SignedEvent sessionExpired(String sessionId) {
+        return sessionEvent("checkout.session.expired", sessionId, "expired", "unpaid", null);
+    }
+
+    public SignedEvent sessionEvent(
+            String type,
+            String sessionId,
+            String sessionStatus,
+            String paymentStatus,
+            String paymentIntentId
+    ) {
+        String payload = """
+                {
+                  "id": "evt_%s",
+                  "object": "event",
+                  "api_version": "%s",
+                  "created": %d,
+                  "type": "%s",
+                  "data": {
+                    "object": {
+                      "id": "%s",
+                      "object": "checkout.session",
+                      "status": "%s",
+                      "payment_status": "%s",
+                      "payment_intent": %s
+                    }
+                  }
+                }
+                """.formatted(
+                UUID.randomUUID().toString().replace("-", ""),
+                Stripe.API_VERSION,
+                Instant.now().getEpochSecond(),
+                type,
+                sessionId,
+                sessionStatus,
+                paymentStatus,
+                paymentIntentId == null ? "null" : "\"" + paymentIntentId + "\""
+        );
+        return new SignedEvent(payload, sign(payload, Instant.now().getEpochSecond()));
+    }
+
+    public String sign(String payload, long timestamp) {
+        try {
+            String signature = Webhook.Util.computeHmacSha256(secret, timestamp + "." + payload);
+            return "t=" + timestamp + ",v1=" + signature;
+        } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+            throw new IllegalStateException("Unable to sign stub Stripe event", e);
+        }
+    }
+
+    public record SignedEvent(String payload, String signatureHeader) {
+    }
+}
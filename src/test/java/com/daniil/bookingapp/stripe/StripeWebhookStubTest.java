@@ -0,0 +1,38 @@
+package com.daniil.bookingapp.stripe;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.stripe.exception.SignatureVerificationException;
+import com.stripe.model.Event;
+import com.stripe.model.checkout.Session;
+import com.stripe.net.Webhook;
+import org.junit.jupiter.api.Test;
+
+class StripeWebhookStubTest {
+    private static final String SECRET = "whsec_test_secret";
+
+    private final StripeWebhookStub stub = new StripeWebhookStub(SECRET);
+
+    @Test
+    void signedEventIsAcceptedByStripeVerification() throws Exception {
+        StripeWebhookStub.SignedEvent signed = stub.sessionCompleted("cs_test_1", "pi_test_1");
+
+        Event event = Webhook.constructEvent(signed.payload(), signed.signatureHeader(), SECRET);
+        Session session = (Session) event.getDataObjectDeserializer().getObject().orElseThrow();
+
+        assertEquals("checkout.session.completed", event.getType());
+        assertEquals("cs_test_1", session.getId());
+        assertEquals("paid", session.getPaymentStatus());
+        assertEquals("pi_test_1", session.getPaymentIntent());
+    }
+
+    @Test
+    void eventSignedWithAnotherSecretIsRejected() {
+        StripeWebhookStub.SignedEvent signed = new StripeWebhookStub("whsec_other")
+                .sessionExpired("cs_test_2");
+
+        assertThrows(SignatureVerificationException.class, () ->
+                Webhook.constructEvent(signed.payload(), signed.signatureHeader(), SECRET));
+    }
+}